@@ -0,0 +1,259 @@
+package de.hhn.gameoflife.census;
+
+import de.hhn.gameoflife.logic.SoupGenerator;
+import de.hhn.gameoflife.logic.WordRule;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Runs many small random soups without a ui and counts the objects they settle into.
+ *
+ * <p>Every soup is a torus 64 cells wide, so a row is one word and a generation is one {@link
+ * WordRule} call per row. A soup is stable when its state repeats, or its population does for a
+ * long time while gliders are flying around. The final state is split into connected objects
+ * which are identified by the {@link ObjectClassifier}. Soups run in parallel on all cores.
+ */
+public class Census {
+  /** Run a census: soups [height] [seed] [density] */
+  public static void main(final String[] args) {
+    if (args.length < 1) {
+      System.err.println("usage: Census <soups> [height] [seed] [density]");
+      System.exit(2);
+    }
+    final var soups = Integer.parseInt(args[0]);
+    final var height = args.length > 1 ? Integer.parseInt(args[1]) : Census.WIDTH;
+    final var seed =
+        args.length > 2 ? Long.parseLong(args[2]) : ThreadLocalRandom.current().nextLong();
+    final var density = args.length > 3 ? Double.parseDouble(args[3]) : 0.5d;
+    final var census = new Census(height, ForkJoinPool.commonPool());
+    System.out.printf("Seed %d%n", seed);
+    System.out.print(census.run(seed, soups, density));
+  }
+
+  /** width of every soup, one word per row */
+  private static final int WIDTH = 64;
+
+  /** soups that are not stable after this many generations are counted as unstable */
+  private static final int MAX_GENERATIONS = 1 << 15;
+
+  /** generations the population has to be periodic while the state is not */
+  private static final int POPULATION_WINDOW = 8 * ObjectClassifier.MAX_PERIOD;
+
+  /** states kept to detect periods up to {@link ObjectClassifier#MAX_PERIOD} */
+  private static final int HISTORY = ObjectClassifier.MAX_PERIOD + 1;
+
+  private final int height;
+  private final ForkJoinPool pool;
+  private final ObjectClassifier classifier = new ObjectClassifier();
+
+  public Census(final int height, final ForkJoinPool pool) {
+    if (height < 3) {
+      throw new IllegalArgumentException("height must be at least 3");
+    }
+    this.height = height;
+    this.pool = pool;
+  }
+
+  /**
+   * Run soups with the seeds firstSeed, firstSeed + 1, ... and count their objects.
+   *
+   * @param firstSeed seed of the first soup
+   * @param soups number of soups
+   * @param density probability of a cell to be alive at the start
+   */
+  public CensusReport run(final long firstSeed, final int soups, final double density) {
+    final var fixedDensity = SoupGenerator.fixedDensity(density);
+    final var objects = new ConcurrentHashMap<String, LongAdder>();
+    final var unstable = new LongAdder();
+    final var start = System.nanoTime();
+    this.pool
+        .submit(
+            () ->
+                IntStream.range(0, soups)
+                    .parallel()
+                    .forEach(
+                        i -> {
+                          if (!this.runSoup(firstSeed + i, fixedDensity, objects)) {
+                            unstable.increment();
+                          }
+                        }))
+        .join();
+    final var elapsed = System.nanoTime() - start;
+
+    final var sorted = new LinkedHashMap<String, Long>();
+    final var names = new HashMap<String, String>();
+    objects.entrySet().stream()
+        .sorted(
+            Map.Entry.<String, LongAdder>comparingByValue(
+                    (a, b) -> Long.compare(b.sum(), a.sum()))
+                .thenComparing(Map.Entry.comparingByKey()))
+        .forEach(
+            entry -> {
+              sorted.put(entry.getKey(), entry.getValue().sum());
+              final var name = this.classifier.getName(entry.getKey());
+              if (name != null) {
+                names.put(entry.getKey(), name);
+              }
+            });
+    return new CensusReport(soups, unstable.sum(), elapsed, sorted, names);
+  }
+
+  /**
+   * Run one soup until it is stable and count its objects.
+   *
+   * @return false if the soup did not stabilize
+   */
+  private boolean runSoup(
+      final long seed, final long fixedDensity, final Map<String, LongAdder> objects) {
+    final var states = new long[Census.HISTORY][this.height];
+    final var hashes = new long[Census.HISTORY];
+    final var populations = new int[Census.POPULATION_WINDOW + ObjectClassifier.MAX_PERIOD];
+    for (var y = 0; y < this.height; ++y) {
+      states[0][y] = SoupGenerator.randomWord(y, seed, fixedDensity);
+    }
+    hashes[0] = Census.hash(states[0]);
+
+    for (var g = 1; g <= Census.MAX_GENERATIONS; ++g) {
+      final var current = states[(g - 1) % Census.HISTORY];
+      final var next = states[g % Census.HISTORY];
+      var population = 0;
+      for (var y = 0; y < this.height; ++y) {
+        final var up = current[y == 0 ? this.height - 1 : y - 1];
+        final var alive = current[y];
+        final var down = current[y == this.height - 1 ? 0 : y + 1];
+        // the row wraps around, so it is its own left and right neighbor
+        next[y] = WordRule.step(up, up, up, alive, alive, alive, down, down, down);
+        population += Long.bitCount(next[y]);
+      }
+      final var hash = Census.hash(next);
+      hashes[g % Census.HISTORY] = hash;
+      populations[g % populations.length] = population;
+
+      var period = 0;
+      for (var p = 1; p <= Math.min(g, ObjectClassifier.MAX_PERIOD); ++p) {
+        final var earlier = (g - p) % Census.HISTORY;
+        if (hashes[earlier] == hash && Arrays.equals(states[earlier], next)) {
+          period = p;
+          break;
+        }
+      }
+      if (period == 0
+          && g % ObjectClassifier.MAX_PERIOD == 0
+          && g >= populations.length) {
+        period = Census.populationPeriod(populations, g);
+      }
+      if (period != 0) {
+        this.countObjects(states, g, period, objects);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** period of the population over the last generations, 0 if there is none */
+  private static int populationPeriod(final int[] populations, final int g) {
+    final var length = populations.length;
+    for (var p = 1; p <= ObjectClassifier.MAX_PERIOD; ++p) {
+      var periodic = true;
+      for (var i = 0; i < Census.POPULATION_WINDOW && periodic; ++i) {
+        periodic = populations[(g - i) % length] == populations[(g - i - p) % length];
+      }
+      if (periodic) {
+        return p;
+      }
+    }
+    return 0;
+  }
+
+  /** split the state of generation g into objects and count them */
+  private void countObjects(
+      final long[][] states,
+      final int g,
+      final int period,
+      final Map<String, LongAdder> objects) {
+    final var current = states[g % Census.HISTORY];
+    // cells alive in any phase belong together, like the two blocks of a beacon
+    final var phases = Math.min(g + 1, Math.max(2, period));
+    final var union = new long[this.height];
+    for (var i = 0; i < phases; ++i) {
+      final var state = states[(g - i) % Census.HISTORY];
+      for (var y = 0; y < this.height; ++y) {
+        union[y] |= state[y];
+      }
+    }
+
+    final var visited = new long[this.height];
+    final var size = Census.WIDTH * this.height;
+    final var stack = new int[size * 3];
+    final var xs = new int[size];
+    final var ys = new int[size];
+    for (var y = 0; y < this.height; ++y) {
+      for (var x = 0; x < Census.WIDTH; ++x) {
+        if ((union[y] & ~visited[y] & (1L << x)) == 0L) {
+          continue;
+        }
+        // flood fill with unwrapped coordinates, so objects on the border stay in one piece
+        var count = 0;
+        var top = 0;
+        visited[y] |= 1L << x;
+        stack[top++] = x;
+        stack[top++] = y;
+        var minX = x;
+        var minY = y;
+        var maxX = x;
+        var maxY = y;
+        while (top > 0) {
+          final var cy = stack[--top];
+          final var cx = stack[--top];
+          final var wx = Math.floorMod(cx, Census.WIDTH);
+          final var wy = Math.floorMod(cy, this.height);
+          if ((current[wy] & (1L << wx)) != 0L) {
+            xs[count] = cx;
+            ys[count] = cy;
+            ++count;
+            minX = Math.min(minX, cx);
+            minY = Math.min(minY, cy);
+            maxX = Math.max(maxX, cx);
+            maxY = Math.max(maxY, cy);
+          }
+          for (var dy = -1; dy <= 1; ++dy) {
+            for (var dx = -1; dx <= 1; ++dx) {
+              final var nx = Math.floorMod(cx + dx, Census.WIDTH);
+              final var ny = Math.floorMod(cy + dy, this.height);
+              if ((union[ny] & ~visited[ny] & (1L << nx)) != 0L) {
+                visited[ny] |= 1L << nx;
+                stack[top++] = cx + dx;
+                stack[top++] = cy + dy;
+              }
+            }
+          }
+        }
+        if (count == 0) {
+          continue;
+        }
+        final var cells = new boolean[maxY - minY + 1][maxX - minX + 1];
+        for (var i = 0; i < count; ++i) {
+          cells[ys[i] - minY][xs[i] - minX] = true;
+        }
+        objects
+            .computeIfAbsent(this.classifier.classify(cells), key -> new LongAdder())
+            .increment();
+      }
+    }
+  }
+
+  private static long hash(final long[] state) {
+    var hash = 0L;
+    for (final var row : state) {
+      hash = (hash ^ row) * 0x9e3779b97f4a7c15L;
+    }
+    return hash;
+  }
+}
@@ -0,0 +1,42 @@
+package de.hhn.gameoflife.census;
+
+import java.util.Map;
+
+/**
+ * Result of a {@link Census} run.
+ *
+ * @param soups number of soups that were run
+ * @param unstable number of soups that did not stabilize in time
+ * @param elapsedNanos wall clock time of the run
+ * @param objects number of objects per code, most common first
+ * @param names names of the known codes
+ */
+public record CensusReport(
+    long soups,
+    long unstable,
+    long elapsedNanos,
+    Map<String, Long> objects,
+    Map<String, String> names) {
+
+  /** number of soups per second of wall clock time */
+  public double soupsPerSecond() {
+    return this.elapsedNanos <= 0L ? 0d : this.soups * 1e9d / this.elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    final var sb = new StringBuilder();
+    sb.append(
+        String.format(
+            "%d soups in %.1f s, %.1f soups/s, %d unstable%n",
+            this.soups, this.elapsedNanos / 1e9d, this.soupsPerSecond(), this.unstable));
+    for (final var entry : this.objects.entrySet()) {
+      final var name = this.names.get(entry.getKey());
+      sb.append(
+          String.format(
+              "%10d  %s%s%n",
+              entry.getValue(), entry.getKey(), name == null ? "" : " (" + name + ")"));
+    }
+    return sb.toString();
+  }
+}
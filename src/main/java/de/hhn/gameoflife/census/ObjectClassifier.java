@@ -0,0 +1,235 @@
+package de.hhn.gameoflife.census;
+
+import de.hhn.gameoflife.logic.PatternLibrary;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Identifies objects independent of their position, phase, rotation and reflection.
+ *
+ * <p>An object is evolved on an infinite plane until it repeats. Its code starts with "xs" and the
+ * population for still lifes, "xp" and the period for oscillators and "xq" and the period for
+ * spaceships, followed by the smallest encoding of all phases in all eight orientations. The
+ * periodic objects of the {@link PatternLibrary} are known by name.
+ */
+public class ObjectClassifier {
+  /** longest period that is detected */
+  public static final int MAX_PERIOD = 30;
+
+  /** code of objects that do not repeat within {@link #MAX_PERIOD} generations */
+  public static final String UNKNOWN = "unknown";
+
+  /** generations a catalogue pattern may need to become periodic */
+  private static final int SETTLE = 64;
+
+  /** objects growing beyond this side length are not identified */
+  private static final int MAX_SIDE = 128;
+
+  /** shape of living cells in its bounding box, rows of columns */
+  private record Phase(int x, int y, boolean[][] cells, String encoded) {}
+
+  private final Map<String, String> cache = new ConcurrentHashMap<>();
+  private final Map<String, String> names = new HashMap<>();
+
+  public ObjectClassifier() {
+    final var library = PatternLibrary.getInstance();
+    for (final var entry : library.getEntries()) {
+      if (entry.period() == 0
+          || entry.period() > ObjectClassifier.MAX_PERIOD
+          || entry.width() > ObjectClassifier.MAX_SIDE
+          || entry.height() > ObjectClassifier.MAX_SIDE) {
+        continue;
+      }
+      final var pattern = library.load(entry);
+      final var cells = new boolean[pattern.getHeight()][pattern.getWidth()];
+      for (var y = 0; y < cells.length; ++y) {
+        for (var x = 0; x < cells[y].length; ++x) {
+          cells[y][x] = pattern.get(x, y);
+        }
+      }
+      final var code = ObjectClassifier.identify(cells, ObjectClassifier.SETTLE);
+      if (!code.equals(ObjectClassifier.UNKNOWN)) {
+        this.names.putIfAbsent(code, entry.name());
+      }
+    }
+  }
+
+  /** name of a known object, null if the code is not in the catalogue */
+  public String getName(final String code) {
+    return this.names.get(code);
+  }
+
+  /**
+   * Code of the object made of the given cells, the cells must already be periodic.
+   *
+   * @param cells rows of columns, may contain empty borders
+   */
+  public String classify(final boolean[][] cells) {
+    final var trimmed = ObjectClassifier.trim(cells, 0, 0);
+    if (trimmed == null) {
+      return ObjectClassifier.UNKNOWN;
+    }
+    // the same phase of an object shows up in many soups
+    return this.cache.computeIfAbsent(
+        trimmed.encoded(), key -> ObjectClassifier.identify(trimmed.cells(), 0));
+  }
+
+  /** evolve the cells until they repeat and build the code */
+  private static String identify(final boolean[][] cells, final int settle) {
+    final var phases = new ArrayList<Phase>();
+    var phase = ObjectClassifier.trim(cells, 0, 0);
+    for (var g = 0; g <= settle + ObjectClassifier.MAX_PERIOD; ++g) {
+      if (phase == null
+          || phase.cells().length > ObjectClassifier.MAX_SIDE
+          || phase.cells()[0].length > ObjectClassifier.MAX_SIDE) {
+        return ObjectClassifier.UNKNOWN;
+      }
+      phases.add(phase);
+      phase = ObjectClassifier.step(phase);
+    }
+    for (var start = 0; start <= settle; ++start) {
+      final var first = phases.get(start);
+      for (var period = 1; period <= ObjectClassifier.MAX_PERIOD; ++period) {
+        final var later = phases.get(start + period);
+        if (first.encoded().equals(later.encoded())) {
+          final var moving = later.x() != first.x() || later.y() != first.y();
+          return ObjectClassifier.code(phases.subList(start, start + period), moving);
+        }
+      }
+    }
+    return ObjectClassifier.UNKNOWN;
+  }
+
+  /** build the code of one period of an object */
+  private static String code(final List<Phase> period, final boolean moving) {
+    var best = (String) null;
+    for (final var phase : period) {
+      var cells = phase.cells();
+      for (var rotation = 0; rotation < 4; ++rotation) {
+        cells = ObjectClassifier.rotate(cells);
+        for (final var oriented : new boolean[][][] {cells, ObjectClassifier.mirror(cells)}) {
+          final var encoded = ObjectClassifier.encode(oriented);
+          if (best == null || encoded.compareTo(best) < 0) {
+            best = encoded;
+          }
+        }
+      }
+    }
+    if (moving) {
+      return "xq" + period.size() + "_" + best;
+    }
+    if (period.size() > 1) {
+      return "xp" + period.size() + "_" + best;
+    }
+    var population = 0;
+    for (final var row : period.get(0).cells()) {
+      for (final var cell : row) {
+        population += cell ? 1 : 0;
+      }
+    }
+    return "xs" + population + "_" + best;
+  }
+
+  /** next generation, the result is one cell larger on every side before trimming */
+  private static Phase step(final Phase phase) {
+    final var cells = phase.cells();
+    final var height = cells.length;
+    final var width = cells[0].length;
+    final var next = new boolean[height + 2][width + 2];
+    for (var y = -1; y <= height; ++y) {
+      for (var x = -1; x <= width; ++x) {
+        var neighbors = 0;
+        for (var dy = -1; dy <= 1; ++dy) {
+          for (var dx = -1; dx <= 1; ++dx) {
+            if ((dx != 0 || dy != 0) && ObjectClassifier.get(cells, x + dx, y + dy)) {
+              ++neighbors;
+            }
+          }
+        }
+        next[y + 1][x + 1] =
+            neighbors == 3 || (neighbors == 2 && ObjectClassifier.get(cells, x, y));
+      }
+    }
+    return ObjectClassifier.trim(next, phase.x() - 1, phase.y() - 1);
+  }
+
+  private static boolean get(final boolean[][] cells, final int x, final int y) {
+    return y >= 0 && y < cells.length && x >= 0 && x < cells[y].length && cells[y][x];
+  }
+
+  /** cut the cells to their bounding box, null if there are no living cells */
+  private static Phase trim(final boolean[][] cells, final int x, final int y) {
+    var top = Integer.MAX_VALUE;
+    var bottom = -1;
+    var left = Integer.MAX_VALUE;
+    var right = -1;
+    for (var r = 0; r < cells.length; ++r) {
+      for (var c = 0; c < cells[r].length; ++c) {
+        if (cells[r][c]) {
+          top = Math.min(top, r);
+          bottom = r;
+          left = Math.min(left, c);
+          right = Math.max(right, c);
+        }
+      }
+    }
+    if (bottom < 0) {
+      return null;
+    }
+    final var trimmed = new boolean[bottom - top + 1][right - left + 1];
+    for (var r = top; r <= bottom; ++r) {
+      for (var c = left; c <= right; ++c) {
+        trimmed[r - top][c - left] = c < cells[r].length && cells[r][c];
+      }
+    }
+    return new Phase(x + left, y + top, trimmed, ObjectClassifier.encode(trimmed));
+  }
+
+  /** rotate by 90 degrees clockwise */
+  private static boolean[][] rotate(final boolean[][] cells) {
+    final var height = cells.length;
+    final var width = cells[0].length;
+    final var rotated = new boolean[width][height];
+    for (var y = 0; y < height; ++y) {
+      for (var x = 0; x < width; ++x) {
+        rotated[x][height - 1 - y] = cells[y][x];
+      }
+    }
+    return rotated;
+  }
+
+  /** mirror at the vertical axis */
+  private static boolean[][] mirror(final boolean[][] cells) {
+    final var width = cells[0].length;
+    final var mirrored = new boolean[cells.length][width];
+    for (var y = 0; y < cells.length; ++y) {
+      for (var x = 0; x < width; ++x) {
+        mirrored[y][width - 1 - x] = cells[y][x];
+      }
+    }
+    return mirrored;
+  }
+
+  /** size followed by the rows as hex digits, 4 cells per digit */
+  private static String encode(final boolean[][] cells) {
+    final var width = cells[0].length;
+    final var sb = new StringBuilder();
+    sb.append(width).append('x').append(cells.length);
+    for (final var row : cells) {
+      sb.append('.');
+      for (var x = 0; x < width; x += 4) {
+        var digit = 0;
+        for (var b = 0; b < 4 && x + b < width; ++b) {
+          if (row[x + b]) {
+            digit |= 1 << b;
+          }
+        }
+        sb.append(Character.forDigit(digit, 16));
+      }
+    }
+    return sb.toString();
+  }
+}
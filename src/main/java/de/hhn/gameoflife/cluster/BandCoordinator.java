@@ -0,0 +1,229 @@
+package de.hhn.gameoflife.cluster;
+
+import de.hhn.gameoflife.control_iface.Disposable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits a world into horizontal bands that are calculated by {@link BandWorker} processes.
+ *
+ * <p>The coordinator starts the workers on this machine, tells each one its band and the halo port
+ * of the band below, and then acts as the barrier: a step returns after every worker has finished
+ * all requested generations. The full world is only assembled on request for the view.
+ */
+public class BandCoordinator implements Disposable {
+  /** time a worker process gets to connect and set up its halo connections */
+  private static final int CONNECT_TIMEOUT = 30_000;
+
+  private static final class Connection {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private int firstRow;
+    private int rows;
+    private int haloPort;
+
+    private Connection(final Socket socket) throws IOException {
+      this.socket = socket;
+      this.socket.setTcpNoDelay(true);
+      this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+  }
+
+  private final int wordsPerRow;
+  private final List<Process> processes = new ArrayList<>();
+  private final List<Connection> workers = new ArrayList<>();
+  private boolean disposed = false;
+
+  /**
+   * Start the worker processes and distribute the bands.
+   *
+   * @param worldWidth width of the world, a multiple of 64
+   * @param worldHeight height of the world, at least one row per worker
+   * @param workerCount number of worker processes
+   */
+  public BandCoordinator(final int worldWidth, final int worldHeight, final int workerCount)
+      throws IOException {
+    if (worldWidth < 64 || (worldWidth & 63) != 0) {
+      throw new IllegalArgumentException("worldWidth must be a multiple of 64");
+    }
+    if (workerCount < 1 || workerCount > worldHeight) {
+      throw new IllegalArgumentException("workerCount must be between 1 and worldHeight");
+    }
+    this.wordsPerRow = worldWidth >> 6;
+    try {
+      this.connect(worldWidth, worldHeight, workerCount);
+    } catch (final IOException | RuntimeException e) {
+      // do not leave started processes or accepted connections behind
+      this.dispose();
+      throw e;
+    }
+  }
+
+  /** start the workers, accept their connections and send them their bands */
+  private void connect(final int worldWidth, final int worldHeight, final int workerCount)
+      throws IOException {
+    try (final var server = new ServerSocket(0, workerCount, InetAddress.getLoopbackAddress())) {
+      server.setSoTimeout(BandCoordinator.CONNECT_TIMEOUT);
+      for (var i = 0; i < workerCount; ++i) {
+        this.processes.add(BandCoordinator.launch(server.getLocalPort()));
+      }
+      // the order of the connections decides which band a worker gets
+      for (var i = 0; i < workerCount; ++i) {
+        final Socket socket;
+        try {
+          socket = server.accept();
+        } catch (final SocketTimeoutException e) {
+          throw new IOException("worker processes did not connect in time", e);
+        }
+        final Connection connection;
+        try {
+          connection = new Connection(socket);
+        } catch (final IOException e) {
+          socket.close();
+          throw e;
+        }
+        // from here on dispose closes the connection
+        this.workers.add(connection);
+        BandProtocol.expect(connection.in, BandProtocol.HELLO);
+        connection.haloPort = connection.in.readInt();
+      }
+    }
+    var firstRow = 0;
+    for (var i = 0; i < workerCount; ++i) {
+      final var connection = this.workers.get(i);
+      connection.firstRow = firstRow;
+      connection.rows = (worldHeight - firstRow) / (workerCount - i);
+      firstRow += connection.rows;
+      connection.out.writeInt(BandProtocol.SETUP);
+      connection.out.writeInt(worldWidth);
+      connection.out.writeInt(worldHeight);
+      connection.out.writeInt(connection.firstRow);
+      connection.out.writeInt(connection.rows);
+      connection.out.writeInt(this.workers.get((i + 1) % workerCount).haloPort);
+      connection.out.flush();
+    }
+    for (final var connection : this.workers) {
+      BandProtocol.expect(connection.in, BandProtocol.READY);
+    }
+  }
+
+  /** start a worker JVM with the class path of this one */
+  private static Process launch(final int port) throws IOException {
+    final var java =
+        System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    return new ProcessBuilder(
+            java,
+            "-cp",
+            System.getProperty("java.class.path"),
+            BandWorker.class.getName(),
+            InetAddress.getLoopbackAddress().getHostAddress(),
+            Integer.toString(port))
+        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .redirectError(ProcessBuilder.Redirect.INHERIT)
+        .start();
+  }
+
+  /** number of worker processes */
+  public int getWorkerCount() {
+    return this.workers.size();
+  }
+
+  /** send the packed words of the whole world to the workers */
+  public void load(final long[] words) throws IOException {
+    for (final var connection : this.workers) {
+      connection.out.writeInt(BandProtocol.LOAD);
+      BandProtocol.writeWords(
+          connection.out,
+          words,
+          connection.firstRow * this.wordsPerRow,
+          connection.rows * this.wordsPerRow);
+      connection.out.flush();
+    }
+    for (final var connection : this.workers) {
+      BandProtocol.expect(connection.in, BandProtocol.ACK);
+    }
+  }
+
+  /**
+   * Calculate generations on all workers and wait until all of them are done.
+   *
+   * @return the population after the last generation
+   */
+  public long step(final int generations) throws IOException {
+    for (final var connection : this.workers) {
+      connection.out.writeInt(BandProtocol.STEP);
+      connection.out.writeInt(generations);
+      connection.out.flush();
+    }
+    var population = 0L;
+    for (final var connection : this.workers) {
+      BandProtocol.expect(connection.in, BandProtocol.DONE);
+      population += connection.in.readLong();
+    }
+    return population;
+  }
+
+  /** assemble the packed words of the whole world from all bands */
+  public void snapshot(final long[] words) throws IOException {
+    for (final var connection : this.workers) {
+      connection.out.writeInt(BandProtocol.SNAPSHOT);
+      connection.out.flush();
+    }
+    for (final var connection : this.workers) {
+      BandProtocol.expect(connection.in, BandProtocol.SNAPSHOT);
+      BandProtocol.readWords(
+          connection.in,
+          words,
+          connection.firstRow * this.wordsPerRow,
+          connection.rows * this.wordsPerRow);
+    }
+  }
+
+  /** stop all worker processes */
+  @Override
+  public void dispose() {
+    if (this.disposed) {
+      return;
+    }
+    this.disposed = true;
+    for (final var connection : this.workers) {
+      try {
+        connection.out.writeInt(BandProtocol.EXIT);
+        connection.out.flush();
+      } catch (final IOException e) {
+        // the worker is already gone
+      } finally {
+        try {
+          connection.socket.close();
+        } catch (final IOException e) {
+          // nothing left to release
+        }
+      }
+    }
+    for (final var process : this.processes) {
+      try {
+        if (!process.waitFor(1, TimeUnit.SECONDS)) {
+          process.destroyForcibly();
+        }
+      } catch (final InterruptedException e) {
+        process.destroyForcibly();
+        Thread.currentThread().interrupt();
+      }
+    }
+    this.workers.clear();
+    this.processes.clear();
+  }
+}
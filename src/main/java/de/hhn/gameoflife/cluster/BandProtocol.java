@@ -0,0 +1,70 @@
+package de.hhn.gameoflife.cluster;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Messages between the {@link BandCoordinator} and its {@link BandWorker}s.
+ *
+ * <p>Every message starts with one of the int commands below. Rows of cells are sent as their
+ * packed 64 bit words, bit b of word k is the cell x = k * 64 + b.
+ */
+final class BandProtocol {
+  /** worker to coordinator: int port of the halo server socket */
+  static final int HELLO = 1;
+
+  /** coordinator to worker: int width, int height, int first row, int rows, int down port */
+  static final int SETUP = 2;
+
+  /** worker to coordinator: halo connections are established */
+  static final int READY = 3;
+
+  /** coordinator to worker: followed by the words of the band, answered with ACK */
+  static final int LOAD = 4;
+
+  /** coordinator to worker: int generations, answered with DONE */
+  static final int STEP = 5;
+
+  /** worker to coordinator: long population of the band */
+  static final int DONE = 6;
+
+  /** coordinator to worker: answered with the words of the band */
+  static final int SNAPSHOT = 7;
+
+  /** worker to coordinator: the last command was executed */
+  static final int ACK = 8;
+
+  /** coordinator to worker: close all connections and exit */
+  static final int EXIT = 9;
+
+  private BandProtocol() {}
+
+  /** write words from the array */
+  static void writeWords(
+      final DataOutputStream out, final long[] words, final int offset, final int count)
+      throws IOException {
+    final var buffer = ByteBuffer.allocate(count * Long.BYTES);
+    buffer.asLongBuffer().put(words, offset, count);
+    out.write(buffer.array());
+  }
+
+  /** read words into the array */
+  static void readWords(
+      final DataInputStream in, final long[] words, final int offset, final int count)
+      throws IOException {
+    final var bytes = new byte[count * Long.BYTES];
+    in.readFully(bytes);
+    ByteBuffer.wrap(bytes).asLongBuffer().get(words, offset, count);
+  }
+
+  /** read a command and fail if it is not the expected one */
+  static void expect(final DataInputStream in, final int command) throws IOException {
+    final var actual = in.readInt();
+    if (actual != command) {
+      throw new IOException(
+          String.format("protocol error: expected command %d, got %d", command, actual));
+    }
+  }
+}
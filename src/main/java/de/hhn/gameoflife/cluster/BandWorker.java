@@ -0,0 +1,181 @@
+package de.hhn.gameoflife.cluster;
+
+import de.hhn.gameoflife.logic.WordRule;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * Process that owns a horizontal band of a world.
+ *
+ * <p>Started by the {@link BandCoordinator} as {@code BandWorker <host> <port>}. Before every
+ * generation the top row of the band is sent to the worker above and the bottom row to the worker
+ * below, their rows come back as the halo rows around the band.
+ */
+public class BandWorker implements AutoCloseable {
+  public static void main(final String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("usage: BandWorker <coordinator host> <coordinator port>");
+      System.exit(2);
+    }
+    try (final var worker = new BandWorker(args[0], Integer.parseInt(args[1]))) {
+      worker.run();
+    }
+  }
+
+  private final Socket coordinator;
+  private final DataInputStream in;
+  private final DataOutputStream out;
+  private final ServerSocket haloServer;
+  private Socket upSocket;
+  private Socket downSocket;
+  private DataInputStream upIn;
+  private DataOutputStream upOut;
+  private DataInputStream downIn;
+  private DataOutputStream downOut;
+  private int wordsPerRow;
+  private int rows;
+  /** rows of the band with one halo row above and below */
+  private long[] band;
+  private long[] next;
+
+  private BandWorker(final String host, final int port) throws IOException {
+    this.coordinator = new Socket(host, port);
+    this.coordinator.setTcpNoDelay(true);
+    this.in = new DataInputStream(new BufferedInputStream(this.coordinator.getInputStream()));
+    this.out = new DataOutputStream(new BufferedOutputStream(this.coordinator.getOutputStream()));
+    this.haloServer = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+  }
+
+  private void run() throws IOException {
+    this.out.writeInt(BandProtocol.HELLO);
+    this.out.writeInt(this.haloServer.getLocalPort());
+    this.out.flush();
+
+    BandProtocol.expect(this.in, BandProtocol.SETUP);
+    final var width = this.in.readInt();
+    this.in.readInt(); // height, the band does not need it
+    this.in.readInt(); // first row, only the coordinator places the band
+    this.rows = this.in.readInt();
+    final var downPort = this.in.readInt();
+    this.wordsPerRow = width >> 6;
+    this.band = new long[(this.rows + 2) * this.wordsPerRow];
+    this.next = new long[this.band.length];
+    if (downPort != this.haloServer.getLocalPort()) {
+      // connect to the worker below first, its server socket is already listening
+      this.downSocket = new Socket(InetAddress.getLoopbackAddress(), downPort);
+      this.upSocket = this.haloServer.accept();
+      this.downSocket.setTcpNoDelay(true);
+      this.upSocket.setTcpNoDelay(true);
+      this.downIn = new DataInputStream(new BufferedInputStream(this.downSocket.getInputStream()));
+      this.downOut =
+          new DataOutputStream(new BufferedOutputStream(this.downSocket.getOutputStream()));
+      this.upIn = new DataInputStream(new BufferedInputStream(this.upSocket.getInputStream()));
+      this.upOut = new DataOutputStream(new BufferedOutputStream(this.upSocket.getOutputStream()));
+    }
+    this.out.writeInt(BandProtocol.READY);
+    this.out.flush();
+
+    while (true) {
+      final var command = this.in.readInt();
+      switch (command) {
+        case BandProtocol.LOAD -> {
+          BandProtocol.readWords(
+              this.in, this.band, this.wordsPerRow, this.rows * this.wordsPerRow);
+          this.out.writeInt(BandProtocol.ACK);
+        }
+        case BandProtocol.STEP -> {
+          final var generations = this.in.readInt();
+          for (var i = 0; i < generations; ++i) {
+            this.exchangeHalos();
+            this.step();
+          }
+          this.out.writeInt(BandProtocol.DONE);
+          this.out.writeLong(this.population());
+        }
+        case BandProtocol.SNAPSHOT -> {
+          this.out.writeInt(BandProtocol.SNAPSHOT);
+          BandProtocol.writeWords(
+              this.out, this.band, this.wordsPerRow, this.rows * this.wordsPerRow);
+        }
+        case BandProtocol.EXIT -> {
+          return;
+        }
+        default -> throw new IOException("unknown command " + command);
+      }
+      this.out.flush();
+    }
+  }
+
+  /** fill the halo rows with the border rows of the neighbor bands */
+  private void exchangeHalos() throws IOException {
+    final var top = this.wordsPerRow;
+    final var bottom = this.rows * this.wordsPerRow;
+    final var bottomHalo = (this.rows + 1) * this.wordsPerRow;
+    if (this.downSocket == null) {
+      // the only band wraps around onto itself
+      System.arraycopy(this.band, bottom, this.band, 0, this.wordsPerRow);
+      System.arraycopy(this.band, top, this.band, bottomHalo, this.wordsPerRow);
+      return;
+    }
+    // send both rows before reading, a row always fits into the socket buffers
+    BandProtocol.writeWords(this.upOut, this.band, top, this.wordsPerRow);
+    this.upOut.flush();
+    BandProtocol.writeWords(this.downOut, this.band, bottom, this.wordsPerRow);
+    this.downOut.flush();
+    BandProtocol.readWords(this.upIn, this.band, 0, this.wordsPerRow);
+    BandProtocol.readWords(this.downIn, this.band, bottomHalo, this.wordsPerRow);
+  }
+
+  /** calculate the next generation of the owned rows */
+  private void step() {
+    final var wpr = this.wordsPerRow;
+    for (var r = 1; r <= this.rows; ++r) {
+      final var above = (r - 1) * wpr;
+      final var row = r * wpr;
+      final var below = (r + 1) * wpr;
+      for (var k = 0; k < wpr; ++k) {
+        // the world wraps around horizontally
+        final var l = k == 0 ? wpr - 1 : k - 1;
+        final var rt = k == wpr - 1 ? 0 : k + 1;
+        this.next[row + k] =
+            WordRule.step(
+                this.band[above + l],
+                this.band[above + k],
+                this.band[above + rt],
+                this.band[row + l],
+                this.band[row + k],
+                this.band[row + rt],
+                this.band[below + l],
+                this.band[below + k],
+                this.band[below + rt]);
+      }
+    }
+    final var swap = this.band;
+    this.band = this.next;
+    this.next = swap;
+  }
+
+  private long population() {
+    var count = 0L;
+    for (var i = this.wordsPerRow; i < (this.rows + 1) * this.wordsPerRow; ++i) {
+      count += Long.bitCount(this.band[i]);
+    }
+    return count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (final var socket : new Socket[] {this.upSocket, this.downSocket, this.coordinator}) {
+      if (socket != null) {
+        socket.close();
+      }
+    }
+    this.haloServer.close();
+  }
+}
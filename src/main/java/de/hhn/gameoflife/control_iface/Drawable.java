@@ -6,7 +6,45 @@ public interface Drawable<T> {
 
   void set(final int index, final boolean alife);
 
+  /**
+   * Update the cells of a rectangle from the data, the rectangle wraps around the edges of the
+   * world. Does not draw.
+   */
+  default void set(final T data, final int x, final int y, final int width, final int height) {
+    this.set(data);
+  }
+
+  /**
+   * Update the given cells of word w, bit b of a word is cell w * 64 + b. A cell is alive if its
+   * bit of alive is set. Does not draw.
+   */
+  default void setWord(final int w, final long alive, final long cells) {
+    var bits = cells;
+    while (bits != 0L) {
+      final var b = Long.numberOfTrailingZeros(bits);
+      this.set((w << 6) + b, (alive & (1L << b)) != 0L);
+      bits &= bits - 1L;
+    }
+  }
+
+  /** set a cell to the color of its age, 0 is dead. Does not draw. */
+  default void setAge(final int index, final int age) {
+    this.set(index, age != 0);
+  }
+
+  /** show the activity of a cell on top of it, 0 shows nothing. Does not draw. */
+  default void setHeat(final int index, final int heat) {}
+
+  /** use colors for the given number of ages, 0 colors the living cells alike */
+  default void setAgeLevels(final int levels) {}
+
+  /** use colors for the given number of activity levels, 0 hides the activity */
+  default void setHeatLevels(final int levels) {}
+
   void draw();
 
   void compose();
+
+  /** draw the last composed frame without composing it again */
+  void present();
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package de.hhn.gameoflife.control_iface;
+
+import de.hhn.gameoflife.data_structures.IntSet;
+
+/** Interface for objects that want to observe every calculated generation */
+public interface GenerationListener {
+  /**
+   * Called on the simulation thread after a generation was calculated, while the world data is
+   * still locked. Implementations must not block.
+   *
+   * <p>With worker processes one call covers a batch of generations, so the generation can skip
+   * numbers and only the data of the last generation of the batch is known.
+   */
+  void onGeneration(final long generation, final IntSet data);
+}
@@ -0,0 +1,12 @@
+package de.hhn.gameoflife.control_iface;
+
+import de.hhn.gameoflife.logic.HiddenPolicy;
+
+/** Interface for game panels that do not render while their window can not be seen */
+public interface Hideable {
+  /** tell the panel whether its window can be seen */
+  void setHidden(boolean hidden);
+
+  /** set what the world does while the panel can not be seen */
+  void setHiddenPolicy(HiddenPolicy hiddenPolicy);
+}
@@ -0,0 +1,190 @@
+package de.hhn.gameoflife.data_structures;
+
+/**
+ * Pattern of living cells compiled into rows of 64 bit words.
+ *
+ * <p>Bit x % 64 of word x / 64 of a row is the cell in column x, bits beyond the width are always
+ * 0. Patterns are immutable, rotating or mirroring one creates a new pattern.
+ */
+public final class BitPattern {
+  private final int width;
+  private final int height;
+  private final int wordsPerRow;
+  private final long[] words;
+  private final int population;
+
+  /** create a pattern from its packed rows, every row takes (width + 63) / 64 words */
+  public BitPattern(final int width, final int height, final long[] words) {
+    this(width, height, words, true);
+  }
+
+  /** words that are not copied must not be used by anyone else */
+  private BitPattern(final int width, final int height, final long[] words, final boolean copy) {
+    if (width < 0 || height < 0) {
+      throw new IllegalArgumentException("the size of a pattern must not be negative");
+    }
+    this.width = width;
+    this.height = height;
+    this.wordsPerRow = (width + 63) >> 6;
+    if (words.length != this.wordsPerRow * height) {
+      throw new IllegalArgumentException("expected " + this.wordsPerRow * height + " words");
+    }
+    this.words = copy ? words.clone() : words;
+    // drop bits beyond the width, stamping relies on them being 0
+    final var tail = width & 63;
+    var population = 0;
+    for (var w = 0; w < this.words.length; ++w) {
+      if (tail != 0 && w % this.wordsPerRow == this.wordsPerRow - 1) {
+        this.words[w] &= (1L << tail) - 1L;
+      }
+      population += Long.bitCount(this.words[w]);
+    }
+    this.population = population;
+  }
+
+  /** compile a structure of rows, null counts as dead and shorter rows are padded */
+  public static BitPattern compile(final Boolean[][] structure) {
+    final var height = structure.length;
+    var width = 0;
+    for (final var row : structure) {
+      width = Math.max(width, row.length);
+    }
+    final var wordsPerRow = (width + 63) >> 6;
+    final var words = new long[wordsPerRow * height];
+    for (var y = 0; y < height; ++y) {
+      final var row = structure[y];
+      for (var x = 0; x < row.length; ++x) {
+        if (Boolean.TRUE.equals(row[x])) {
+          words[y * wordsPerRow + (x >> 6)] |= 1L << x;
+        }
+      }
+    }
+    return new BitPattern(width, height, words, false);
+  }
+
+  /** compile a structure of rows, shorter rows are padded */
+  public static BitPattern compile(final boolean[][] structure) {
+    final var height = structure.length;
+    var width = 0;
+    for (final var row : structure) {
+      width = Math.max(width, row.length);
+    }
+    final var wordsPerRow = (width + 63) >> 6;
+    final var words = new long[wordsPerRow * height];
+    for (var y = 0; y < height; ++y) {
+      final var row = structure[y];
+      for (var x = 0; x < row.length; ++x) {
+        if (row[x]) {
+          words[y * wordsPerRow + (x >> 6)] |= 1L << x;
+        }
+      }
+    }
+    return new BitPattern(width, height, words, false);
+  }
+
+  public int getWidth() {
+    return this.width;
+  }
+
+  public int getHeight() {
+    return this.height;
+  }
+
+  public int getWordsPerRow() {
+    return this.wordsPerRow;
+  }
+
+  /** get the word k of row y, it holds the columns [k * 64, k * 64 + 64) */
+  public long getWord(final int y, final int k) {
+    return this.words[y * this.wordsPerRow + k];
+  }
+
+  /** whether the cell at the given position is alive */
+  public boolean get(final int x, final int y) {
+    return (this.words[y * this.wordsPerRow + (x >> 6)] & (1L << x)) != 0L;
+  }
+
+  /** number of living cells */
+  public int getPopulation() {
+    return this.population;
+  }
+
+  /** rotate the pattern a quarter turn clockwise */
+  public BitPattern rotate() {
+    return this.transpose().mirror();
+  }
+
+  /** swap rows and columns, done in blocks of 64x64 cells */
+  public BitPattern transpose() {
+    final var width = this.height;
+    final var height = this.width;
+    final var wordsPerRow = (width + 63) >> 6;
+    final var words = new long[wordsPerRow * height];
+    final var block = new long[64];
+    for (var bi = 0; bi < wordsPerRow; ++bi) {
+      for (var bj = 0; bj < this.wordsPerRow; ++bj) {
+        for (var r = 0; r < 64; ++r) {
+          final var y = (bi << 6) + r;
+          block[r] = y < this.height ? this.words[y * this.wordsPerRow + bj] : 0L;
+        }
+        BitPattern.transpose64(block);
+        for (var c = 0; c < 64; ++c) {
+          final var y = (bj << 6) + c;
+          if (y < height) {
+            words[y * wordsPerRow + bi] = block[c];
+          }
+        }
+      }
+    }
+    return new BitPattern(width, height, words, false);
+  }
+
+  /** mirror the pattern from left to right */
+  public BitPattern mirror() {
+    final var words = new long[this.words.length];
+    // reversing the words of a row mirrors it within all its words, the unused bits end up in front
+    final var shift = (this.wordsPerRow << 6) - this.width;
+    for (var y = 0; y < this.height; ++y) {
+      final var row = y * this.wordsPerRow;
+      for (var k = 0; k < this.wordsPerRow; ++k) {
+        final var low = Long.reverse(this.words[row + this.wordsPerRow - 1 - k]);
+        final var high =
+            k + 1 < this.wordsPerRow
+                ? Long.reverse(this.words[row + this.wordsPerRow - 2 - k])
+                : 0L;
+        words[row + k] = shift == 0 ? low : (low >>> shift) | (high << (64 - shift));
+      }
+    }
+    return new BitPattern(this.width, this.height, words, false);
+  }
+
+  /** mirror the pattern from top to bottom */
+  public BitPattern flip() {
+    final var words = new long[this.words.length];
+    for (var y = 0; y < this.height; ++y) {
+      System.arraycopy(
+          this.words,
+          y * this.wordsPerRow,
+          words,
+          (this.height - 1 - y) * this.wordsPerRow,
+          this.wordsPerRow);
+    }
+    return new BitPattern(this.width, this.height, words, false);
+  }
+
+  /**
+   * Transpose a 64x64 bit matrix in place, bit c of word r is swapped with bit r of word c.
+   *
+   * <p>Swaps the off-diagonal blocks of halving size, so it takes 6 rounds of 32 word operations.
+   */
+  static void transpose64(final long[] m) {
+    var mask = 0x00000000ffffffffL;
+    for (var j = 32; j != 0; j >>>= 1, mask ^= mask << j) {
+      for (var k = 0; k < 64; k = ((k | j) + 1) & ~j) {
+        final var t = ((m[k] >>> j) ^ m[k | j]) & mask;
+        m[k] ^= t << j;
+        m[k | j] ^= t;
+      }
+    }
+  }
+}
@@ -0,0 +1,211 @@
+package de.hhn.gameoflife.data_structures;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Torus of bits made of square chunks that only exist while they contain set bits.
+ *
+ * <p>Chunk (cx, cy) covers the cells [cx * 256, cx * 256 + 256) x [cy * 256, cy * 256 + 256) and
+ * stores them as 256 rows of 4 words, bit b of word k in row r is the cell (k * 64 + b, r). Cell
+ * indices are long, index = y * width + x, so worlds beyond 46341² can be addressed. Released
+ * chunks are kept for reuse so that stepping does not allocate.
+ */
+public class ChunkedBitGrid {
+  public static final int CHUNK_BITS = 8;
+  public static final int CHUNK_SIZE = 1 << ChunkedBitGrid.CHUNK_BITS;
+  public static final int WORDS_PER_ROW = ChunkedBitGrid.CHUNK_SIZE >> 6;
+  public static final int WORDS_PER_CHUNK =
+      ChunkedBitGrid.CHUNK_SIZE * ChunkedBitGrid.WORDS_PER_ROW;
+
+  /** maximum number of released chunks kept for reuse */
+  private static final int MAX_FREE_CHUNKS = 1024;
+
+  private final long width;
+  private final long height;
+  private final int chunksX;
+  private final int chunksY;
+  private final long[][] chunks;
+  private final ArrayDeque<long[]> freeChunks = new ArrayDeque<>();
+  private int allocatedChunks = 0;
+
+  public ChunkedBitGrid(final long width, final long height) {
+    if (width < ChunkedBitGrid.CHUNK_SIZE || (width & (width - 1)) != 0) {
+      throw new IllegalArgumentException("width must be a power of 2 and at least 256");
+    }
+    if (height < ChunkedBitGrid.CHUNK_SIZE || (height & (height - 1)) != 0) {
+      throw new IllegalArgumentException("height must be a power of 2 and at least 256");
+    }
+    final var chunkCount =
+        (width >> ChunkedBitGrid.CHUNK_BITS) * (height >> ChunkedBitGrid.CHUNK_BITS);
+    if (chunkCount > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("too many chunks: " + chunkCount);
+    }
+    this.width = width;
+    this.height = height;
+    this.chunksX = (int) (width >> ChunkedBitGrid.CHUNK_BITS);
+    this.chunksY = (int) (height >> ChunkedBitGrid.CHUNK_BITS);
+    this.chunks = new long[(int) chunkCount][];
+  }
+
+  public long getWidth() {
+    return this.width;
+  }
+
+  public long getHeight() {
+    return this.height;
+  }
+
+  /** number of chunks in a row of the directory */
+  public int getChunksX() {
+    return this.chunksX;
+  }
+
+  /** number of chunk rows in the directory */
+  public int getChunksY() {
+    return this.chunksY;
+  }
+
+  /** number of chunks in the directory */
+  public int getChunkCount() {
+    return this.chunks.length;
+  }
+
+  /** number of chunks that currently hold memory */
+  public synchronized int getAllocatedChunks() {
+    return this.allocatedChunks;
+  }
+
+  /** index of the chunk at the given chunk coordinates, they wrap around */
+  public int chunkIndex(final int cx, final int cy) {
+    return Math.floorMod(cy, this.chunksY) * this.chunksX + Math.floorMod(cx, this.chunksX);
+  }
+
+  /** words of the chunk with the given index, null if it contains no set bits */
+  public long[] getChunk(final int index) {
+    return this.chunks[index];
+  }
+
+  /**
+   * Replace the chunk with the given index, null releases it.
+   *
+   * <p>Safe to call for different indices from different threads.
+   */
+  public void setChunk(final int index, final long[] chunk) {
+    final var old = this.chunks[index];
+    if (old == chunk) {
+      return;
+    }
+    this.chunks[index] = chunk;
+    synchronized (this) {
+      if (old != null) {
+        --this.allocatedChunks;
+        this.recycle(old);
+      }
+      if (chunk != null) {
+        ++this.allocatedChunks;
+      }
+    }
+  }
+
+  /** get a zeroed chunk that is not part of the grid yet */
+  public synchronized long[] obtainChunk() {
+    final var chunk = this.freeChunks.poll();
+    if (chunk == null) {
+      return new long[ChunkedBitGrid.WORDS_PER_CHUNK];
+    }
+    return chunk;
+  }
+
+  /** give back a chunk from {@link #obtainChunk()} that was not used */
+  public synchronized void recycle(final long[] chunk) {
+    if (this.freeChunks.size() < ChunkedBitGrid.MAX_FREE_CHUNKS) {
+      Arrays.fill(chunk, 0L);
+      this.freeChunks.push(chunk);
+    }
+  }
+
+  public boolean get(final long x, final long y) {
+    final var wx = x & (this.width - 1);
+    final var wy = y & (this.height - 1);
+    final var chunk = this.chunks[this.chunkIndexOf(wx, wy)];
+    if (chunk == null) {
+      return false;
+    }
+    return (chunk[ChunkedBitGrid.wordIndex(wx, wy)] & (1L << wx)) != 0L;
+  }
+
+  public boolean get(final long index) {
+    return this.get(index & (this.width - 1), index / this.width);
+  }
+
+  public void set(final long x, final long y, final boolean value) {
+    final var wx = x & (this.width - 1);
+    final var wy = y & (this.height - 1);
+    final var index = this.chunkIndexOf(wx, wy);
+    var chunk = this.chunks[index];
+    if (chunk == null) {
+      if (!value) {
+        return;
+      }
+      chunk = this.obtainChunk();
+      this.setChunk(index, chunk);
+    }
+    final var w = ChunkedBitGrid.wordIndex(wx, wy);
+    if (value) {
+      chunk[w] |= 1L << wx;
+    } else {
+      chunk[w] &= ~(1L << wx);
+      if (chunk[w] == 0L && ChunkedBitGrid.isEmpty(chunk)) {
+        this.setChunk(index, null);
+      }
+    }
+  }
+
+  public void set(final long index, final boolean value) {
+    this.set(index & (this.width - 1), index / this.width, value);
+  }
+
+  /** release all chunks */
+  public void clear() {
+    for (var i = 0; i < this.chunks.length; ++i) {
+      if (this.chunks[i] != null) {
+        this.setChunk(i, null);
+      }
+    }
+  }
+
+  /** number of set bits */
+  public long population() {
+    var count = 0L;
+    for (final var chunk : this.chunks) {
+      if (chunk == null) {
+        continue;
+      }
+      for (final var word : chunk) {
+        count += Long.bitCount(word);
+      }
+    }
+    return count;
+  }
+
+  /** check if a chunk contains no set bits */
+  public static boolean isEmpty(final long[] chunk) {
+    for (final var word : chunk) {
+      if (word != 0L) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int chunkIndexOf(final long x, final long y) {
+    return (int) (y >> ChunkedBitGrid.CHUNK_BITS) * this.chunksX
+        + (int) (x >> ChunkedBitGrid.CHUNK_BITS);
+  }
+
+  private static int wordIndex(final long x, final long y) {
+    return (int) (y & (ChunkedBitGrid.CHUNK_SIZE - 1)) * ChunkedBitGrid.WORDS_PER_ROW
+        + (int) ((x & (ChunkedBitGrid.CHUNK_SIZE - 1)) >> 6);
+  }
+}
@@ -0,0 +1,171 @@
+package de.hhn.gameoflife.data_structures;
+
+import java.util.Arrays;
+
+/**
+ * Saturating counters of 4 or 8 bits per cell, stored as bit planes.
+ *
+ * <p>Cells are packed like {@link IntSet}: bit (i % 64) of word (i / 64) is cell i. The planes of a
+ * word are stored next to each other, so the counters of 64 cells are updated with a few word
+ * operations on one cache line. Every update remembers the cells whose counter changed until they
+ * are taken, so only those have to be drawn again.
+ */
+public class CounterGrid {
+  private final int wordCount;
+  private final int bits;
+  private final int max;
+  /** plane p of word w is at w * bits + p */
+  private final long[] planes;
+  private final long[] dirty;
+
+  public CounterGrid(final int capacity, final int bits) {
+    if (bits != 4 && bits != 8) {
+      throw new IllegalArgumentException("bits must be 4 or 8");
+    }
+    this.wordCount = (capacity + 63) >> 6;
+    this.bits = bits;
+    this.max = (1 << bits) - 1;
+    this.planes = new long[this.wordCount * bits];
+    this.dirty = new long[this.wordCount];
+  }
+
+  public int getBits() {
+    return this.bits;
+  }
+
+  /** value every counter stops at */
+  public int getMax() {
+    return this.max;
+  }
+
+  public int wordCount() {
+    return this.wordCount;
+  }
+
+  /** counter of cell i */
+  public int get(final int index) {
+    final var offset = (index >> 6) * this.bits;
+    var value = 0;
+    for (var p = 0; p < this.bits; ++p) {
+      value |= (int) ((this.planes[offset + p] >>> index) & 1L) << p;
+    }
+    return value;
+  }
+
+  /** whether all counters of word w are 0 */
+  public boolean isZero(final int w) {
+    final var offset = w * this.bits;
+    var any = 0L;
+    for (var p = 0; p < this.bits; ++p) {
+      any |= this.planes[offset + p];
+    }
+    return any == 0L;
+  }
+
+  /** add the amount to the counters of the given cells of word w, they stop at the maximum */
+  public void add(final int w, final long cells, final int amount) {
+    if (cells == 0L || amount <= 0) {
+      return;
+    }
+    final var offset = w * this.bits;
+    // ripple carry adder of the amount to every cell at once
+    var carry = 0L;
+    var saturated = ~0L;
+    for (var p = 0; p < this.bits; ++p) {
+      final var plane = this.planes[offset + p];
+      final var k = ((amount >>> p) & 1) != 0 ? cells : 0L;
+      saturated &= plane;
+      this.planes[offset + p] = plane ^ k ^ carry;
+      carry = (plane & k) | (carry & (plane ^ k));
+    }
+    // an overflow stops at the maximum, an amount wider than the counters always overflows
+    final var overflow = amount > this.max ? cells : carry;
+    if (overflow != 0L) {
+      for (var p = 0; p < this.bits; ++p) {
+        this.planes[offset + p] |= overflow;
+      }
+    }
+    // every counter below the maximum changed
+    this.dirty[w] |= cells & ~saturated;
+  }
+
+  /** subtract the amount from the counters of the given cells of word w, they stop at 0 */
+  public void subtract(final int w, final long cells, final int amount) {
+    if (cells == 0L || amount <= 0) {
+      return;
+    }
+    final var offset = w * this.bits;
+    // ripple borrow subtractor of the amount from every cell at once
+    var borrow = 0L;
+    var any = 0L;
+    for (var p = 0; p < this.bits; ++p) {
+      final var plane = this.planes[offset + p];
+      final var k = ((amount >>> p) & 1) != 0 ? cells : 0L;
+      any |= plane;
+      this.planes[offset + p] = plane ^ k ^ borrow;
+      borrow = (~plane & (k | borrow)) | (k & borrow);
+    }
+    // an underflow stops at 0, an amount wider than the counters always underflows
+    final var underflow = amount > this.max ? cells : borrow;
+    if (underflow != 0L) {
+      for (var p = 0; p < this.bits; ++p) {
+        this.planes[offset + p] &= ~underflow;
+      }
+    }
+    // every counter above 0 changed
+    this.dirty[w] |= cells & any;
+  }
+
+  /** set the counters of the given cells of word w to the maximum */
+  public void fill(final int w, final long cells) {
+    if (cells == 0L) {
+      return;
+    }
+    final var offset = w * this.bits;
+    var changed = 0L;
+    for (var p = 0; p < this.bits; ++p) {
+      changed |= cells & ~this.planes[offset + p];
+      this.planes[offset + p] |= cells;
+    }
+    this.dirty[w] |= changed;
+  }
+
+  /** set the counters of all cells of word w except the given ones to 0 */
+  public void retain(final int w, final long cells) {
+    final var offset = w * this.bits;
+    var changed = 0L;
+    for (var p = 0; p < this.bits; ++p) {
+      changed |= this.planes[offset + p] & ~cells;
+      this.planes[offset + p] &= cells;
+    }
+    this.dirty[w] |= changed;
+  }
+
+  /** set all counters to 0, the cells whose counter changed are remembered */
+  public void clear() {
+    this.touchAll();
+    Arrays.fill(this.planes, 0L);
+  }
+
+  /** remember every cell whose counter is not 0 as changed, e.g. after the colors changed */
+  public void touchAll() {
+    for (var w = 0; w < this.wordCount; ++w) {
+      final var offset = w * this.bits;
+      for (var p = 0; p < this.bits; ++p) {
+        this.dirty[w] |= this.planes[offset + p];
+      }
+    }
+  }
+
+  /** remember the given cells of word w as changed */
+  public void touch(final int w, final long cells) {
+    this.dirty[w] |= cells;
+  }
+
+  /** cells of word w whose counter changed since the last call */
+  public long takeChanged(final int w) {
+    final var changed = this.dirty[w];
+    this.dirty[w] = 0L;
+    return changed;
+  }
+}
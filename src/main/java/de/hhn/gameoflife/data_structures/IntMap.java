@@ -1,15 +1,26 @@
 package de.hhn.gameoflife.data_structures;
 
-import java.util.Arrays;
+import java.nio.IntBuffer;
 
 public class IntMap {
 
-  private int[] map;
+  private IntBuffer map;
 
   private int capacity = 0;
 
+  /** arena the values live in, null for the heap */
+  private final OffHeapArena arena;
+
   public IntMap(final int capacity) {
-    this.map = new int[capacity];
+    this.arena = null;
+    this.map = IntBuffer.wrap(new int[capacity]);
+    this.capacity = capacity;
+  }
+
+  /** create a map whose values live outside of the heap, it is released with the arena */
+  public IntMap(final int capacity, final OffHeapArena arena) {
+    this.arena = arena;
+    this.map = arena.allocateInts(capacity);
     this.capacity = capacity;
   }
 
@@ -17,39 +28,51 @@ public class IntMap {
     if (key >= capacity) {
       this.resize(key);
     }
-    this.map[key] = value;
+    this.map.put(key, value);
   }
 
   public void remove(final int key) {
-    this.map[key] = 0;
+    this.map.put(key, 0);
   }
 
   public int get(final int key) {
-    return this.map[key];
+    return this.map.get(key);
   }
 
   public void clear() {
-    Arrays.fill(map, 0);
+    final var length = this.map.capacity();
+    for (var i = 0; i < length; ++i) {
+      this.map.put(i, 0);
+    }
   }
 
   public boolean containsKey(final int key) {
     if (key < 0 || key >= this.capacity) {
       return false;
     }
-    return this.map[key] != 0;
+    return this.map.get(key) != 0;
   }
 
   public void increment(final int index) {
     if (index >= this.capacity) {
       this.resize(index);
     }
-    ++this.map[index];
+    this.map.put(index, this.map.get(index) + 1);
   }
 
   private void resize(final int newCapacity) {
-    final int[] newMap = new int[(int) Math.pow(2, Math.ceil(Math.log(newCapacity) / Math.log(2)))];
-    System.arraycopy(map, 0, newMap, 0, map.length);
-    this.map = newMap;
+    final var newLength = (int) Math.pow(2, Math.ceil(Math.log(newCapacity) / Math.log(2)));
+    if (this.arena == null) {
+      final var newMap = IntBuffer.wrap(new int[newLength]);
+      newMap.put(0, this.map, 0, this.map.capacity());
+      this.map = newMap;
+    } else {
+      // the old values are released right away instead of staying allocated until dispose
+      final var newMap = this.arena.allocateInts(newLength);
+      newMap.put(0, this.map, 0, this.map.capacity());
+      this.arena.release(this.map);
+      this.map = newMap;
+    }
     this.capacity = newCapacity;
   }
-}
\ No newline at end of file
+}
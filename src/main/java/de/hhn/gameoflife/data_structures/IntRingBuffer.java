@@ -0,0 +1,115 @@
+package de.hhn.gameoflife.data_structures;
+
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Ring buffer of primitive ints, when it is full the oldest element is overwritten.
+ *
+ * <p>Elements are indexed from the oldest to the newest. Not thread safe, it never allocates
+ * except to grow.
+ */
+public class IntRingBuffer {
+  private int[] buffer;
+  /** position of the oldest element */
+  private int tail = 0;
+  private int size = 0;
+
+  public IntRingBuffer(final int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.buffer = new int[capacity];
+  }
+
+  public int capacity() {
+    return this.buffer.length;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /** make room for more elements, keeps their order */
+  public void grow(final int add) {
+    final var grown = new int[this.buffer.length + add];
+    for (var i = 0; i < this.size; ++i) {
+      grown[i] = this.get(i);
+    }
+    this.buffer = grown;
+    this.tail = 0;
+  }
+
+  /** append an element, overwrites the oldest one if the buffer is full */
+  public void add(final int element) {
+    if (this.size == this.buffer.length) {
+      this.buffer[this.tail] = element;
+      this.tail = this.next(this.tail);
+    } else {
+      this.buffer[this.index(this.size)] = element;
+      ++this.size;
+    }
+  }
+
+  /** the i-th oldest element */
+  public int get(final int i) {
+    if (i < 0 || i >= this.size) {
+      throw new IndexOutOfBoundsException(i);
+    }
+    return this.buffer[this.index(i)];
+  }
+
+  /** the newest element */
+  public int getHead() {
+    if (this.size == 0) {
+      throw new NoSuchElementException();
+    }
+    return this.buffer[this.index(this.size - 1)];
+  }
+
+  public boolean contains(final int element) {
+    for (var i = 0; i < this.size; ++i) {
+      if (this.buffer[this.index(i)] == element) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** call the action with every element from the oldest to the newest */
+  public void forEach(final IntConsumer action) {
+    for (var i = 0; i < this.size; ++i) {
+      action.accept(this.buffer[this.index(i)]);
+    }
+  }
+
+  /** replace the elements with the ones of the other buffer, grows if needed */
+  public void copyFrom(final IntRingBuffer other) {
+    if (other.size > this.buffer.length) {
+      this.buffer = new int[other.buffer.length];
+    }
+    for (var i = 0; i < other.size; ++i) {
+      this.buffer[i] = other.get(i);
+    }
+    this.tail = 0;
+    this.size = other.size;
+  }
+
+  public void clear() {
+    this.tail = 0;
+    this.size = 0;
+  }
+
+  private int index(final int i) {
+    final var index = this.tail + i;
+    return index < this.buffer.length ? index : index - this.buffer.length;
+  }
+
+  private int next(final int index) {
+    return index + 1 == this.buffer.length ? 0 : index + 1;
+  }
+}
@@ -1,69 +1,286 @@
 package de.hhn.gameoflife.data_structures;
 
-import java.util.BitSet;
-import java.util.Iterator;
+import java.nio.LongBuffer;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
 
-public class IntSet implements Iterable<Integer> {
-  private class Iter implements Iterator<Integer> {
-    private int next = 0;
+/**
+ * Set of non negative integers below a fixed capacity, stored as packed bits.
+ *
+ * <p>Element i is bit (i % 64) of word (i / 64). The words are accessible directly so that callers
+ * can work on 64 elements at once. They are kept on the heap or in an {@link OffHeapArena}.
+ *
+ * <p>Elements are always passed as primitives, iterating never boxes. Ranges are [from, to).
+ */
+public class IntSet {
+  private class Iter implements PrimitiveIterator.OfInt {
+    private final int to;
+    private int next;
+    private int last = -1;
+
+    private Iter(final int from, final int to) {
+      this.to = to;
+      this.next = IntSet.this.nextSetBit(from, to);
+    }
 
     @Override
     public boolean hasNext() {
-      return set.nextSetBit(next) != -1;
+      return this.next != -1;
     }
 
     @Override
-    public Integer next() {
-      next = set.nextSetBit(next);
-      return next++;
+    public int nextInt() {
+      if (this.next == -1) {
+        throw new NoSuchElementException();
+      }
+      this.last = this.next;
+      this.next = IntSet.this.nextSetBit(this.next + 1, this.to);
+      return this.last;
     }
 
     @Override
     public void remove() {
-      set.clear(next);
+      if (this.last == -1) {
+        throw new IllegalStateException();
+      }
+      IntSet.this.remove(this.last);
+      this.last = -1;
     }
   }
 
-  private BitSet set;
+  private final LongBuffer words;
+  private final int wordCount;
 
   public IntSet(final int capacity) {
-    this.set = new BitSet(capacity);
+    this.wordCount = (capacity + 63) >> 6;
+    this.words = LongBuffer.wrap(new long[this.wordCount]);
+  }
+
+  /** create a set whose words live outside of the heap, it is released with the arena */
+  public IntSet(final int capacity, final OffHeapArena arena) {
+    this.wordCount = (capacity + 63) >> 6;
+    this.words = arena.allocateLongs(this.wordCount);
   }
 
   public void add(final int value) {
-    this.set.set(value);
+    final var w = value >> 6;
+    this.words.put(w, this.words.get(w) | (1L << value));
   }
 
   public void remove(final int value) {
-    this.set.clear(value);
+    final var w = value >> 6;
+    this.words.put(w, this.words.get(w) & ~(1L << value));
   }
 
   public void clear() {
-    this.set.clear();
+    for (var w = 0; w < this.wordCount; ++w) {
+      this.words.put(w, 0L);
+    }
   }
 
   public boolean contains(final int value) {
-    return this.set.get(value);
+    final var w = value >> 6;
+    return w < this.wordCount && (this.words.get(w) & (1L << value)) != 0L;
   }
 
-  @Override
-  public Iterator<Integer> iterator() {
-    return new Iter();
+  /** number of elements in the set */
+  public int size() {
+    var count = 0;
+    for (var w = 0; w < this.wordCount; ++w) {
+      count += Long.bitCount(this.words.get(w));
+    }
+    return count;
+  }
+
+  /** smallest element that is greater than or equal to the given value, -1 if there is none */
+  public int nextSetBit(final int from) {
+    var w = from >> 6;
+    if (w >= this.wordCount) {
+      return -1;
+    }
+    var word = this.words.get(w) & (-1L << from);
+    while (word == 0L) {
+      if (++w == this.wordCount) {
+        return -1;
+      }
+      word = this.words.get(w);
+    }
+    return (w << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+  /** smallest element in [from, to), -1 if there is none */
+  public int nextSetBit(final int from, final int to) {
+    if (from >= to) {
+      return -1;
+    }
+    this.checkRange(from, to);
+    var w = from >> 6;
+    final var last = (to - 1) >> 6;
+    var word = this.words.get(w) & (-1L << from);
+    while (word == 0L) {
+      if (++w > last) {
+        return -1;
+      }
+      word = this.words.get(w);
+    }
+    final var next = (w << 6) + Long.numberOfTrailingZeros(word);
+    return next < to ? next : -1;
+  }
+
+  /** number of elements in [from, to) */
+  public int count(final int from, final int to) {
+    if (from >= to) {
+      return 0;
+    }
+    this.checkRange(from, to);
+    var count = 0;
+    for (var w = from >> 6; w <= (to - 1) >> 6; ++w) {
+      count += Long.bitCount(this.words.get(w) & IntSet.mask(w, from, to));
+    }
+    return count;
+  }
+
+  /** add all elements of [from, to) */
+  public void addRange(final int from, final int to) {
+    if (from >= to) {
+      return;
+    }
+    this.checkRange(from, to);
+    for (var w = from >> 6; w <= (to - 1) >> 6; ++w) {
+      this.words.put(w, this.words.get(w) | IntSet.mask(w, from, to));
+    }
+  }
+
+  /** remove all elements of [from, to) */
+  public void removeRange(final int from, final int to) {
+    if (from >= to) {
+      return;
+    }
+    this.checkRange(from, to);
+    for (var w = from >> 6; w <= (to - 1) >> 6; ++w) {
+      this.words.put(w, this.words.get(w) & ~IntSet.mask(w, from, to));
+    }
+  }
+
+  /** add all elements of the other set */
+  public void or(final IntSet other) {
+    this.or(other, 0, this.wordCount << 6);
+  }
+
+  /** add the elements of the other set in [from, to) */
+  public void or(final IntSet other, final int from, final int to) {
+    if (from >= to) {
+      return;
+    }
+    this.checkRange(from, to);
+    for (var w = from >> 6; w <= (to - 1) >> 6; ++w) {
+      this.words.put(w, this.words.get(w) | (other.wordOrZero(w) & IntSet.mask(w, from, to)));
+    }
   }
 
-  public void overwrite(IntSet in) {
-    this.set = in.set;
+  /** remove all elements that are not in the other set */
+  public void and(final IntSet other) {
+    this.and(other, 0, this.wordCount << 6);
+  }
+
+  /** remove the elements in [from, to) that are not in the other set */
+  public void and(final IntSet other, final int from, final int to) {
+    if (from >= to) {
+      return;
+    }
+    this.checkRange(from, to);
+    for (var w = from >> 6; w <= (to - 1) >> 6; ++w) {
+      this.words.put(w, this.words.get(w) & (other.wordOrZero(w) | ~IntSet.mask(w, from, to)));
+    }
+  }
+
+  /** remove all elements of the other set */
+  public void andNot(final IntSet other) {
+    this.andNot(other, 0, this.wordCount << 6);
+  }
+
+  /** remove the elements of the other set in [from, to) */
+  public void andNot(final IntSet other, final int from, final int to) {
+    if (from >= to) {
+      return;
+    }
+    this.checkRange(from, to);
+    for (var w = from >> 6; w <= (to - 1) >> 6; ++w) {
+      this.words.put(w, this.words.get(w) & ~(other.wordOrZero(w) & IntSet.mask(w, from, to)));
+    }
+  }
+
+  /** call the action with every element in ascending order */
+  public void forEach(final IntConsumer action) {
+    this.forEach(0, this.wordCount << 6, action);
+  }
+
+  /** call the action with every element in [from, to) in ascending order */
+  public void forEach(final int from, final int to, final IntConsumer action) {
+    if (from >= to) {
+      return;
+    }
+    this.checkRange(from, to);
+    for (var w = from >> 6; w <= (to - 1) >> 6; ++w) {
+      var word = this.words.get(w) & IntSet.mask(w, from, to);
+      while (word != 0L) {
+        action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+        word &= word - 1L;
+      }
+    }
+  }
+
+  /** number of 64 bit words */
+  public int wordCount() {
+    return this.wordCount;
+  }
+
+  /** get the word containing the elements [index * 64, index * 64 + 64) */
+  public long getWord(final int index) {
+    return this.words.get(index);
+  }
+
+  /** overwrite the word containing the elements [index * 64, index * 64 + 64) */
+  public void setWord(final int index, final long word) {
+    this.words.put(index, word);
+  }
+
+  /** iterate the elements in ascending order */
+  public PrimitiveIterator.OfInt iterator() {
+    return new Iter(0, this.wordCount << 6);
+  }
+
+  /** iterate the elements in [from, to) in ascending order */
+  public PrimitiveIterator.OfInt iterator(final int from, final int to) {
+    if (from < to) {
+      this.checkRange(from, to);
+    }
+    return new Iter(from, to);
+  }
+
+  /** copy of the packed bits, bit i of the set is bit (i % 64) of word (i / 64) */
+  public long[] toLongArray() {
+    final var copy = new long[this.wordCount];
+    this.words.get(0, copy);
+    return copy;
+  }
+
+  /** copy the elements of the given set into this one, elements beyond the capacity are dropped */
+  public void overwrite(final IntSet in) {
+    final var common = Math.min(this.wordCount, in.wordCount);
+    this.words.put(0, in.words, 0, common);
+    for (var w = common; w < this.wordCount; ++w) {
+      this.words.put(w, 0L);
+    }
   }
 
   @Override
   public String toString() {
     final var sb = new StringBuilder();
     sb.append('[');
-    var first = true;
-    for (final var i : this) {
-      if (first) {
-        first = false;
-      } else {
+    for (var i = this.nextSetBit(0); i != -1; i = this.nextSetBit(i + 1)) {
+      if (sb.length() > 1) {
         sb.append(", ");
       }
       sb.append(i);
@@ -71,4 +288,28 @@ public class IntSet implements Iterable<Integer> {
     sb.append(']');
     return sb.toString();
   }
-}
\ No newline at end of file
+
+  private void checkRange(final int from, final int to) {
+    if (from < 0 || to > this.wordCount << 6) {
+      throw new IndexOutOfBoundsException(
+          String.format("range [%d, %d) exceeds the capacity %d", from, to, this.wordCount << 6));
+    }
+  }
+
+  /** word w, elements beyond the capacity are not in the set */
+  private long wordOrZero(final int w) {
+    return w < this.wordCount ? this.words.get(w) : 0L;
+  }
+
+  /** bits of word w that are in [from, to) */
+  private static long mask(final int w, final int from, final int to) {
+    var mask = -1L;
+    if (w == from >> 6) {
+      mask &= -1L << from;
+    }
+    if (w == (to - 1) >> 6) {
+      mask &= -1L >>> -to;
+    }
+    return mask;
+  }
+}
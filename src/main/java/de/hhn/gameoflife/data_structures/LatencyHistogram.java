@@ -0,0 +1,110 @@
+package de.hhn.gameoflife.data_structures;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram for latencies in nanoseconds.
+ *
+ * <p>Like a HdrHistogram, values below 2^SUB_BUCKET_BITS get an exact bucket, bigger values are
+ * grouped into 2^(SUB_BUCKET_BITS - 1) buckets per power of two. That keeps the relative error
+ * below 2^-(SUB_BUCKET_BITS - 1) with a fixed, small amount of memory.
+ *
+ * <p>Recording is lock free and does not allocate. It is meant to have one writer and any number of
+ * readers.
+ */
+public class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+
+  /** highest trackable value is 2^MAX_MAGNITUDE ns, about 18 minutes */
+  private static final int MAX_MAGNITUDE = 40;
+
+  private static final int BUCKET_COUNT =
+      (MAX_MAGNITUDE - SUB_BUCKET_BITS + 3) * SUB_BUCKET_HALF;
+
+  /** bucket index of a value */
+  private static int indexOf(final long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) Math.max(0L, value);
+    }
+    final var magnitude = 63 - Long.numberOfLeadingZeros(value);
+    final var shift = Math.min(magnitude, MAX_MAGNITUDE) - (SUB_BUCKET_BITS - 1);
+    final var sub = (int) Math.min(value >> shift, SUB_BUCKET_COUNT - 1);
+    return shift * SUB_BUCKET_HALF + sub;
+  }
+
+  /** highest value that falls into the given bucket */
+  private static long highestValueOf(final int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    final var shift = index / SUB_BUCKET_HALF - 1;
+    final var sub = index - shift * SUB_BUCKET_HALF;
+    return ((sub + 1L) << shift) - 1L;
+  }
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong totalCount = new AtomicLong();
+  private final AtomicLong totalSum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /** record a value in nanoseconds */
+  public void record(final long value) {
+    this.counts.incrementAndGet(LatencyHistogram.indexOf(value));
+    this.totalCount.incrementAndGet();
+    this.totalSum.addAndGet(value);
+    if (value > this.max.get()) {
+      this.max.accumulateAndGet(value, Math::max);
+    }
+  }
+
+  /** number of recorded values */
+  public long getCount() {
+    return this.totalCount.get();
+  }
+
+  /** highest recorded value */
+  public long getMax() {
+    return this.max.get();
+  }
+
+  /** arithmetic mean of the recorded values */
+  public double getMean() {
+    final var count = this.totalCount.get();
+    return count == 0 ? 0d : (double) this.totalSum.get() / count;
+  }
+
+  /**
+   * Get the value at the given percentile.
+   *
+   * @param percentile percentile between 0 and 100
+   * @return the highest value of the bucket that contains the percentile
+   */
+  public long getValueAtPercentile(final double percentile) {
+    final var count = this.totalCount.get();
+    if (count == 0) {
+      return 0L;
+    }
+    final var target = Math.max(1L, (long) Math.ceil(count * (percentile / 100d)));
+    var seen = 0L;
+    for (var i = 0; i < BUCKET_COUNT; ++i) {
+      seen += this.counts.get(i);
+      if (seen >= target) {
+        return Math.min(LatencyHistogram.highestValueOf(i), this.max.get());
+      }
+    }
+    return this.max.get();
+  }
+
+  /** forget all recorded values */
+  public void reset() {
+    for (var i = 0; i < BUCKET_COUNT; ++i) {
+      this.counts.set(i, 0L);
+    }
+    this.totalCount.set(0L);
+    this.totalSum.set(0L);
+    this.max.set(0L);
+  }
+}
@@ -0,0 +1,58 @@
+package de.hhn.gameoflife.data_structures;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unbounded lock free queue for many producers and a single consumer.
+ *
+ * <p>Producers swap themselves in as the new tail with one atomic operation and link the previous
+ * tail afterwards, so {@link #offer} never blocks or retries. Only one thread may call {@link
+ * #poll}.
+ */
+public class MpscQueue<T> {
+  private static final class Node<T> {
+    private T value;
+    private volatile Node<T> next;
+
+    private Node(final T value) {
+      this.value = value;
+    }
+  }
+
+  private final AtomicReference<Node<T>> tail;
+  private Node<T> head;
+
+  public MpscQueue() {
+    final var stub = new Node<T>(null);
+    this.head = stub;
+    this.tail = new AtomicReference<>(stub);
+  }
+
+  /** add an element, may be called from any thread */
+  public void offer(final T value) {
+    final var node = new Node<>(value);
+    final var prev = this.tail.getAndSet(node);
+    prev.next = node;
+  }
+
+  /**
+   * Remove the oldest element, consumer thread only.
+   *
+   * @return the element or null if the queue is empty or the next producer is not linked yet
+   */
+  public T poll() {
+    final var next = this.head.next;
+    if (next == null) {
+      return null;
+    }
+    this.head = next;
+    final var value = next.value;
+    next.value = null;
+    return value;
+  }
+
+  /** check if there are no linked elements */
+  public boolean isEmpty() {
+    return this.head.next == null;
+  }
+}
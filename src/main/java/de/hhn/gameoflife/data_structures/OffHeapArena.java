@@ -0,0 +1,125 @@
+package de.hhn.gameoflife.data_structures;
+
+import de.hhn.gameoflife.control_iface.Disposable;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Owner of direct buffers that live outside of the Java heap.
+ *
+ * <p>Large buffers in here are not scanned or copied by the garbage collector. All buffers are
+ * released together when the arena is disposed, they must not be used afterwards.
+ */
+public class OffHeapArena implements Disposable {
+  /** sun.misc.Unsafe#invokeCleaner, null if the runtime does not provide it */
+  private static final Object UNSAFE;
+
+  private static final Method INVOKE_CLEANER;
+
+  static {
+    Object unsafe = null;
+    Method invokeCleaner = null;
+    try {
+      final var unsafeClass = Class.forName("sun.misc.Unsafe");
+      final var theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      unsafe = theUnsafe.get(null);
+      invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+    } catch (final ReflectiveOperationException | RuntimeException e) {
+      // buffers are released by the garbage collector instead
+      unsafe = null;
+      invokeCleaner = null;
+    }
+    UNSAFE = unsafe;
+    INVOKE_CLEANER = invokeCleaner;
+  }
+
+  /** the buffers handed out and the original buffer the cleaner needs for each */
+  private final Map<Buffer, ByteBuffer> buffers = new IdentityHashMap<>();
+  private long allocatedBytes = 0L;
+  private boolean disposed = false;
+
+  /** allocate a zeroed buffer of longs, aligned to 8 bytes */
+  public synchronized LongBuffer allocateLongs(final int count) {
+    final var original = this.allocate((long) count * Long.BYTES);
+    final var buffer = OffHeapArena.align(original, (long) count * Long.BYTES).asLongBuffer();
+    this.buffers.put(buffer, original);
+    return buffer;
+  }
+
+  /** allocate a zeroed buffer of ints, aligned to 8 bytes */
+  public synchronized IntBuffer allocateInts(final int count) {
+    final var original = this.allocate((long) count * Integer.BYTES);
+    final var buffer = OffHeapArena.align(original, (long) count * Integer.BYTES).asIntBuffer();
+    this.buffers.put(buffer, original);
+    return buffer;
+  }
+
+  /** number of bytes currently held by this arena */
+  public synchronized long getAllocatedBytes() {
+    return this.allocatedBytes;
+  }
+
+  /** release one buffer of this arena before the others, it must not be used afterwards */
+  public synchronized void release(final Buffer buffer) {
+    final var original = this.buffers.remove(buffer);
+    if (original == null) {
+      throw new IllegalArgumentException("buffer does not belong to this arena");
+    }
+    this.allocatedBytes -= original.capacity();
+    OffHeapArena.clean(original);
+  }
+
+  /** release all buffers of this arena */
+  @Override
+  public synchronized void dispose() {
+    if (this.disposed) {
+      return;
+    }
+    this.disposed = true;
+    for (final var original : this.buffers.values()) {
+      OffHeapArena.clean(original);
+    }
+    this.buffers.clear();
+    this.allocatedBytes = 0L;
+  }
+
+  private ByteBuffer allocate(final long bytes) {
+    if (this.disposed) {
+      throw new IllegalStateException("arena is disposed");
+    }
+    if (bytes + Long.BYTES > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("buffer too large: " + bytes + " bytes");
+    }
+    // the cleaner only accepts the original buffer, so that one is kept instead of the slice
+    final var buffer = ByteBuffer.allocateDirect((int) bytes + Long.BYTES - 1);
+    this.allocatedBytes += buffer.capacity();
+    return buffer;
+  }
+
+  private static ByteBuffer align(final ByteBuffer original, final long bytes) {
+    return original
+        .alignedSlice(Long.BYTES)
+        .limit((int) bytes)
+        .slice()
+        .order(ByteOrder.nativeOrder());
+  }
+
+  /** free the memory of an original buffer right away if the runtime allows it */
+  private static void clean(final ByteBuffer original) {
+    if (OffHeapArena.INVOKE_CLEANER == null) {
+      return;
+    }
+    try {
+      OffHeapArena.INVOKE_CLEANER.invoke(OffHeapArena.UNSAFE, original);
+    } catch (final ReflectiveOperationException e) {
+      e.printStackTrace();
+    }
+  }
+}
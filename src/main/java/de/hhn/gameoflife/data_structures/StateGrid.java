@@ -0,0 +1,124 @@
+package de.hhn.gameoflife.data_structures;
+
+import java.util.Arrays;
+
+/**
+ * Cells with up to 16 states, stored as bit planes.
+ *
+ * <p>Plane p holds bit p of the state of every cell, packed like {@link IntSet}: bit (i % 64) of
+ * word (i / 64) is cell i. Up to 4 states take 2 bits per cell, up to 16 states 4 bits, so bit
+ * p of 64 cells can be read and written with one word operation.
+ */
+public class StateGrid {
+  /** largest number of states */
+  public static final int MAX_STATES = 16;
+
+  private final int worldWidth;
+  private final int worldHeight;
+  private final int wordsPerRow;
+  private final int states;
+  private final long[][] planes;
+
+  public StateGrid(final int worldWidth, final int worldHeight, final int states) {
+    if ((worldWidth & 63) != 0) {
+      throw new IllegalArgumentException("worldWidth must be a multiple of 64");
+    }
+    if (states < 2 || states > StateGrid.MAX_STATES) {
+      throw new IllegalArgumentException("states must be between 2 and " + StateGrid.MAX_STATES);
+    }
+    this.worldWidth = worldWidth;
+    this.worldHeight = worldHeight;
+    this.wordsPerRow = worldWidth >> 6;
+    this.states = states;
+    final var bitsPerCell = states <= 4 ? 2 : 4;
+    this.planes = new long[bitsPerCell][this.wordsPerRow * worldHeight];
+  }
+
+  /** state of cell i */
+  public int get(final int index) {
+    var state = 0;
+    for (var p = 0; p < this.planes.length; ++p) {
+      state |= (int) ((this.planes[p][index >> 6] >>> index) & 1L) << p;
+    }
+    return state;
+  }
+
+  /** set the state of cell i */
+  public void set(final int index, final int state) {
+    if (state < 0 || state >= this.states) {
+      throw new IllegalArgumentException("state must be between 0 and " + (this.states - 1));
+    }
+    final var bit = 1L << index;
+    for (var p = 0; p < this.planes.length; ++p) {
+      final var plane = this.planes[p];
+      if (((state >> p) & 1) != 0) {
+        plane[index >> 6] |= bit;
+      } else {
+        plane[index >> 6] &= ~bit;
+      }
+    }
+  }
+
+  /** the words of bit p of every state, changes write through */
+  public long[] getPlane(final int p) {
+    return this.planes[p];
+  }
+
+  /** cells in state 1 of the word */
+  public long getAliveWord(final int w) {
+    var alive = this.planes[0][w];
+    for (var p = 1; p < this.planes.length; ++p) {
+      alive &= ~this.planes[p][w];
+    }
+    return alive;
+  }
+
+  /** cells in any state but 0 of the word */
+  public long getActiveWord(final int w) {
+    var active = 0L;
+    for (final var plane : this.planes) {
+      active |= plane[w];
+    }
+    return active;
+  }
+
+  /** set every cell to state 0 */
+  public void clear() {
+    for (final var plane : this.planes) {
+      Arrays.fill(plane, 0L);
+    }
+  }
+
+  /** copy all states of a grid of the same size */
+  public void copyFrom(final StateGrid other) {
+    for (var p = 0; p < this.planes.length; ++p) {
+      System.arraycopy(other.planes[p], 0, this.planes[p], 0, this.planes[p].length);
+    }
+  }
+
+  public int getWorldWidth() {
+    return this.worldWidth;
+  }
+
+  public int getWorldHeight() {
+    return this.worldHeight;
+  }
+
+  public int getWordsPerRow() {
+    return this.wordsPerRow;
+  }
+
+  /** number of words per plane */
+  public int getWordCount() {
+    return this.planes[0].length;
+  }
+
+  public int getStates() {
+    return this.states;
+  }
+
+  /** number of bit planes, 2 or 4 */
+  public int getBitsPerCell() {
+    return this.planes.length;
+  }
+}
@@ -0,0 +1,28 @@
+package de.hhn.gameoflife.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event for importing world data from an image file. */
+@Name("de.hhn.gameoflife.ImageLoad")
+@Label("Image Load")
+@Category({"Game of Life", "I/O"})
+@Description("Reading, dithering and importing an image into a world")
+@StackTrace(false)
+public class ImageLoadEvent extends Event {
+  @Label("Path")
+  public String path;
+
+  @Label("World Width")
+  public int worldWidth;
+
+  @Label("World Height")
+  public int worldHeight;
+
+  @Label("Success")
+  public boolean success;
+}
@@ -0,0 +1,25 @@
+package de.hhn.gameoflife.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event for exporting the world image into a file. */
+@Name("de.hhn.gameoflife.ImageSave")
+@Label("Image Save")
+@Category({"Game of Life", "I/O"})
+@Description("Writing the current world image into a file")
+@StackTrace(false)
+public class ImageSaveEvent extends Event {
+  @Label("Path")
+  public String path;
+
+  @Label("Format")
+  public String format;
+
+  @Label("Success")
+  public boolean success;
+}
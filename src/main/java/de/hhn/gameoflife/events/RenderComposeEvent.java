@@ -0,0 +1,24 @@
+package de.hhn.gameoflife.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** JFR event for composing the world and overlay buffers of a world ui. */
+@Name("de.hhn.gameoflife.RenderCompose")
+@Label("Render Compose")
+@Category({"Game of Life", "Rendering"})
+@Description("Composing the world and overlay buffers into the displayed image")
+@Threshold("5 ms")
+@StackTrace(false)
+public class RenderComposeEvent extends Event {
+  @Label("World Width")
+  public int worldWidth;
+
+  @Label("World Height")
+  public int worldHeight;
+}
@@ -0,0 +1,21 @@
+package de.hhn.gameoflife.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** JFR event for time the simulation thread spent waiting for the world data semaphore. */
+@Name("de.hhn.gameoflife.SemaphoreContention")
+@Label("World Data Semaphore Contention")
+@Category({"Game of Life", "Simulation"})
+@Description("Waiting for the world data semaphore")
+@Threshold("1 ms")
+@StackTrace(false)
+public class SemaphoreContentionEvent extends Event {
+  @Label("Source")
+  public String source;
+}
@@ -0,0 +1,24 @@
+package de.hhn.gameoflife.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** JFR event for one step of the snake game. */
+@Name("de.hhn.gameoflife.SnakeTick")
+@Label("Snake Tick")
+@Category({"Game of Life", "Snake"})
+@Description("Moving the snake one cell and checking for collisions")
+@Threshold("1 ms")
+@StackTrace(false)
+public class SnakeTickEvent extends Event {
+  @Label("Head Position")
+  public int head;
+
+  @Label("Game Over")
+  public boolean gameOver;
+}
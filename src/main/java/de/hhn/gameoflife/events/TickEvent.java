@@ -0,0 +1,44 @@
+package de.hhn.gameoflife.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event spanning one generation of a world, from waiting for the world data to drawing.
+ *
+ * <p>Only ticks slower than the threshold are recorded by default, so the event can stay enabled
+ * in production.
+ */
+@Name("de.hhn.gameoflife.Tick")
+@Label("Tick")
+@Category({"Game of Life", "Simulation"})
+@Description("Calculation and rendering of one generation")
+@Threshold("20 ms")
+@StackTrace(false)
+public class TickEvent extends Event {
+  @Label("World Id")
+  public int worldId;
+
+  @Label("World Width")
+  public int worldWidth;
+
+  @Label("World Height")
+  public int worldHeight;
+
+  @Label("Generation")
+  public long generation;
+
+  @Label("Engine")
+  public String engine;
+
+  @Label("Thread Count")
+  public int threads;
+
+  @Label("Population")
+  public long population;
+}
@@ -0,0 +1,19 @@
+package de.hhn.gameoflife.logic;
+
+/** What the {@link TickPacer} does when ticks take longer than the target period. */
+public enum CatchUpPolicy {
+  /** forget missed deadlines and continue at the target rate from now */
+  SKIP("Skip"),
+  /** run missed ticks back to back, up to a limited number of periods */
+  BURST("Burst");
+
+  private final String name;
+
+  CatchUpPolicy(final String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+}
@@ -0,0 +1,307 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.control_iface.Disposable;
+import de.hhn.gameoflife.control_iface.GenerationListener;
+import de.hhn.gameoflife.data_structures.IntSet;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes checkpoints of a {@link World} so a long run can be resumed after the process died.
+ *
+ * <p>The simulation thread only copies the packed world data when a checkpoint is due and the
+ * previous one is written. Writing happens on a background thread into a temporary file that is
+ * synced and atomically renamed, so a crash leaves either the old or the new checkpoint. Every
+ * file ends with a checksum, damaged files are skipped by {@link #loadLatest(File, Settings)}.
+ */
+public class Checkpointer implements GenerationListener, Disposable {
+  /** state of a world at the end of a generation */
+  public record Checkpoint(long generation, long[] words) {}
+
+  /** "GOLC" */
+  private static final int MAGIC = 0x474f4c43;
+
+  private static final int VERSION = 1;
+  private static final String PREFIX = "checkpoint-";
+  private static final String SUFFIX = ".ckpt";
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  /** magic, version, width, height, generation and word count */
+  private static final int HEADER_BYTES = 4 + 4 + 4 + 4 + 8 + 4;
+
+  private static final int BUFFER_BYTES = 1 << 16;
+
+  private final Path directory;
+  private final int worldWidth;
+  private final int worldHeight;
+  private final long everyGenerations;
+  private final long everyNanos;
+  private final int keep;
+  private final ArrayBlockingQueue<Checkpoint> queue = new ArrayBlockingQueue<>(1);
+  private final Thread writer;
+  private long lastGeneration;
+  private long lastNanos = System.nanoTime();
+  /** a checkpoint is queued or being written */
+  private volatile boolean busy = false;
+  private volatile boolean running = true;
+  private volatile long written = 0;
+  private volatile long lastWrittenGeneration = -1L;
+  private volatile IOException error;
+  private boolean disposed = false;
+
+  /**
+   * Create a checkpointer and start its writer thread.
+   *
+   * @param settings the settings of the world
+   * @param directory directory for the checkpoint files, created if missing
+   * @param generation generation of the world right now
+   * @param everyGenerations write a checkpoint after this many generations, 0 to disable
+   * @param everySeconds write a checkpoint after this many seconds, 0 to disable
+   * @param keep number of checkpoints to keep
+   */
+  public Checkpointer(
+      final Settings settings,
+      final File directory,
+      final long generation,
+      final long everyGenerations,
+      final long everySeconds,
+      final int keep)
+      throws IOException {
+    if (everyGenerations < 0 || everySeconds < 0 || everyGenerations + everySeconds == 0) {
+      throw new IllegalArgumentException("checkpoints need a positive interval");
+    }
+    if (keep <= 0) {
+      throw new IllegalArgumentException("keep must be greater than 0");
+    }
+    this.directory = directory.toPath();
+    this.worldWidth = settings.worldWidth();
+    this.worldHeight = settings.worldHeight();
+    this.everyGenerations = everyGenerations;
+    this.everyNanos = TimeUnit.SECONDS.toNanos(everySeconds);
+    this.keep = keep;
+    this.lastGeneration = generation;
+    Files.createDirectories(this.directory);
+    // temporary files are left over from a crash while writing
+    for (final var file : Checkpointer.list(this.directory, Checkpointer.TEMP_SUFFIX)) {
+      Files.deleteIfExists(file);
+    }
+    this.writer = new Thread(this::write, "checkpointer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  @Override
+  public void onGeneration(final long generation, final IntSet data) {
+    if (!this.running || this.busy) {
+      return;
+    }
+    final var now = System.nanoTime();
+    final var due =
+        (this.everyGenerations > 0 && generation - this.lastGeneration >= this.everyGenerations)
+            || (this.everyNanos > 0 && now - this.lastNanos >= this.everyNanos);
+    if (!due) {
+      return;
+    }
+    this.lastGeneration = generation;
+    this.lastNanos = now;
+    this.busy = true;
+    this.queue.offer(new Checkpoint(generation, data.toLongArray()));
+  }
+
+  /** writer thread main loop */
+  private void write() {
+    try {
+      while (this.running || !this.queue.isEmpty()) {
+        final var checkpoint = this.queue.poll(100, TimeUnit.MILLISECONDS);
+        if (checkpoint == null) {
+          continue;
+        }
+        try {
+          this.save(checkpoint);
+          this.prune();
+          this.lastWrittenGeneration = checkpoint.generation();
+          ++this.written;
+        } catch (final IOException e) {
+          // keep trying with the next checkpoint, the disk might have space again
+          this.error = e;
+        } finally {
+          this.busy = false;
+        }
+      }
+    } catch (final InterruptedException e) {
+      // stop writing
+    } finally {
+      this.running = false;
+    }
+  }
+
+  /** write the checkpoint into a temporary file and rename it when it is complete */
+  private void save(final Checkpoint checkpoint) throws IOException {
+    final var name = String.format("%s%019d", Checkpointer.PREFIX, checkpoint.generation());
+    final var temp = this.directory.resolve(name + Checkpointer.TEMP_SUFFIX);
+    final var target = this.directory.resolve(name + Checkpointer.SUFFIX);
+    final var words = checkpoint.words();
+    final var crc = new CRC32C();
+    try (final var channel =
+        FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      final var buffer = ByteBuffer.allocate(Checkpointer.BUFFER_BYTES);
+      buffer.putInt(Checkpointer.MAGIC);
+      buffer.putInt(Checkpointer.VERSION);
+      buffer.putInt(this.worldWidth);
+      buffer.putInt(this.worldHeight);
+      buffer.putLong(checkpoint.generation());
+      buffer.putInt(words.length);
+      for (final var word : words) {
+        if (buffer.remaining() < Long.BYTES) {
+          Checkpointer.flush(channel, buffer, crc);
+        }
+        buffer.putLong(word);
+      }
+      Checkpointer.flush(channel, buffer, crc);
+      buffer.putLong(crc.getValue());
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    } catch (final IOException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+    Files.move(
+        temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    try (final var dir = FileChannel.open(this.directory, StandardOpenOption.READ)) {
+      // persist the rename, not every platform can sync a directory
+      dir.force(true);
+    } catch (final IOException e) {
+      // the file itself is complete, only the rename may be lost
+    }
+  }
+
+  /** delete all but the newest checkpoints */
+  private void prune() throws IOException {
+    final var files = Checkpointer.list(this.directory, Checkpointer.SUFFIX);
+    for (var i = this.keep; i < files.size(); ++i) {
+      Files.deleteIfExists(files.get(i));
+    }
+  }
+
+  private static void flush(final FileChannel channel, final ByteBuffer buffer, final CRC32C crc)
+      throws IOException {
+    buffer.flip();
+    crc.update(buffer.duplicate());
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Read the newest valid checkpoint of a world with the given size.
+   *
+   * @return the checkpoint or null if there is none
+   */
+  public static Checkpoint loadLatest(final File directory, final Settings settings)
+      throws IOException {
+    final var path = directory.toPath();
+    if (!Files.isDirectory(path)) {
+      return null;
+    }
+    for (final var file : Checkpointer.list(path, Checkpointer.SUFFIX)) {
+      final var checkpoint = Checkpointer.load(file, settings);
+      if (checkpoint != null) {
+        return checkpoint;
+      }
+    }
+    return null;
+  }
+
+  /** read a checkpoint, null if it is damaged or belongs to a world with a different size */
+  private static Checkpoint load(final Path file, final Settings settings) throws IOException {
+    final var bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+    if (bytes.remaining() < Checkpointer.HEADER_BYTES + Long.BYTES
+        || bytes.getInt() != Checkpointer.MAGIC
+        || bytes.getInt() != Checkpointer.VERSION
+        || bytes.getInt() != settings.worldWidth()
+        || bytes.getInt() != settings.worldHeight()) {
+      return null;
+    }
+    final var generation = bytes.getLong();
+    final var wordCount = bytes.getInt();
+    final var end = Checkpointer.HEADER_BYTES + (long) wordCount * Long.BYTES;
+    if (wordCount < 0 || end + Long.BYTES != bytes.limit()) {
+      return null;
+    }
+    final var crc = new CRC32C();
+    crc.update(bytes.duplicate().position(0).limit((int) end));
+    if (crc.getValue() != bytes.getLong((int) end)) {
+      return null;
+    }
+    final var words = new long[wordCount];
+    bytes.asLongBuffer().get(words);
+    return new Checkpoint(generation, words);
+  }
+
+  /** files with the given suffix, newest generation first */
+  private static List<Path> list(final Path directory, final String suffix) throws IOException {
+    final var files = new ArrayList<Path>();
+    final var glob = Checkpointer.PREFIX + "*" + suffix;
+    try (final var stream = Files.newDirectoryStream(directory, glob)) {
+      stream.forEach(files::add);
+    }
+    // the generation is zero padded, so the names sort like the generations
+    files.sort(Comparator.comparing((Path p) -> p.getFileName().toString()).reversed());
+    return files;
+  }
+
+  /** Is the checkpointer still accepting checkpoints */
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /** Number of checkpoints written */
+  public long getWritten() {
+    return this.written;
+  }
+
+  /** Generation of the last written checkpoint, -1 if there is none */
+  public long getLastWrittenGeneration() {
+    return this.lastWrittenGeneration;
+  }
+
+  /** Get the last error while writing, null if there was none */
+  public IOException getError() {
+    return this.error;
+  }
+
+  /** stop taking checkpoints and wait until the queued one is written */
+  @Override
+  public void dispose() {
+    if (this.disposed) {
+      return;
+    }
+    this.disposed = true;
+    this.running = false;
+    try {
+      this.writer.join();
+    } catch (final InterruptedException e) {
+      this.writer.interrupt();
+    }
+  }
+}
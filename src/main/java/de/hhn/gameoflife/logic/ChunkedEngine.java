@@ -0,0 +1,159 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.data_structures.ChunkedBitGrid;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Calculates generations of a {@link ChunkedBitGrid} chunk by chunk.
+ *
+ * <p>Only chunks that are allocated or touch an allocated chunk are stepped, everything else stays
+ * empty. Every chunk is calculated 64 cells at once with {@link WordRule}.
+ */
+public class ChunkedEngine {
+  private static final int SIZE = ChunkedBitGrid.CHUNK_SIZE;
+  private static final int WORDS = ChunkedBitGrid.WORDS_PER_ROW;
+
+  /** fewer candidate chunks are stepped on the calling thread */
+  private static final int PARALLEL_THRESHOLD = 16;
+
+  private final ForkJoinPool pool;
+  private boolean[] marked = new boolean[0];
+  private int[] candidates = new int[0];
+  private final LongAdder population = new LongAdder();
+  private final LongAdder births = new LongAdder();
+  private final LongAdder deaths = new LongAdder();
+
+  public ChunkedEngine(final ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /** number of living cells after the last step */
+  public long getPopulation() {
+    return this.population.sum();
+  }
+
+  /** number of cells born in the last step */
+  public long getBirths() {
+    return this.births.sum();
+  }
+
+  /** number of cells that died in the last step */
+  public long getDeaths() {
+    return this.deaths.sum();
+  }
+
+  /**
+   * Write the generation after current into next.
+   *
+   * @return the number of stepped chunks
+   */
+  public int step(final ChunkedBitGrid current, final ChunkedBitGrid next) {
+    next.clear();
+    this.population.reset();
+    this.births.reset();
+    this.deaths.reset();
+
+    // collect all allocated chunks and their neighbors
+    final var chunkCount = current.getChunkCount();
+    if (this.marked.length != chunkCount) {
+      this.marked = new boolean[chunkCount];
+      this.candidates = new int[chunkCount];
+    } else {
+      Arrays.fill(this.marked, false);
+    }
+    var candidateCount = 0;
+    for (var i = 0; i < chunkCount; ++i) {
+      if (current.getChunk(i) == null) {
+        continue;
+      }
+      final var cx = i % current.getChunksX();
+      final var cy = i / current.getChunksX();
+      for (var dy = -1; dy <= 1; ++dy) {
+        for (var dx = -1; dx <= 1; ++dx) {
+          final var n = current.chunkIndex(cx + dx, cy + dy);
+          if (!this.marked[n]) {
+            this.marked[n] = true;
+            this.candidates[candidateCount++] = n;
+          }
+        }
+      }
+    }
+
+    final var stream = IntStream.range(0, candidateCount).map(i -> this.candidates[i]);
+    if (candidateCount < ChunkedEngine.PARALLEL_THRESHOLD) {
+      stream.forEach(index -> this.stepChunk(current, next, index));
+    } else {
+      this.pool
+          .submit(() -> stream.parallel().forEach(index -> this.stepChunk(current, next, index)))
+          .join();
+    }
+    return candidateCount;
+  }
+
+  /** calculate the next state of one chunk */
+  private void stepChunk(final ChunkedBitGrid current, final ChunkedBitGrid next, final int index) {
+    final var cx = index % current.getChunksX();
+    final var cy = index / current.getChunksX();
+    // the chunk and its eight neighbors, row major from the top left
+    final var around = new long[9][];
+    for (var dy = -1; dy <= 1; ++dy) {
+      for (var dx = -1; dx <= 1; ++dx) {
+        around[(dy + 1) * 3 + dx + 1] = current.getChunk(current.chunkIndex(cx + dx, cy + dy));
+      }
+    }
+    final var self = around[4];
+    final var out = next.obtainChunk();
+    var population = 0L;
+    var born = 0L;
+    var died = 0L;
+    for (var r = 0; r < ChunkedEngine.SIZE; ++r) {
+      for (var k = 0; k < ChunkedEngine.WORDS; ++k) {
+        final var alive = self == null ? 0L : self[r * ChunkedEngine.WORDS + k];
+        final var up = ChunkedEngine.word(around, r - 1, k);
+        final var upLeft = ChunkedEngine.word(around, r - 1, k - 1);
+        final var upRight = ChunkedEngine.word(around, r - 1, k + 1);
+        final var left = ChunkedEngine.word(around, r, k - 1);
+        final var right = ChunkedEngine.word(around, r, k + 1);
+        final var down = ChunkedEngine.word(around, r + 1, k);
+        final var downLeft = ChunkedEngine.word(around, r + 1, k - 1);
+        final var downRight = ChunkedEngine.word(around, r + 1, k + 1);
+        if ((alive | up | down | (upLeft >>> 63) | (left >>> 63) | (downLeft >>> 63)
+                | (upRight << 63) | (right << 63) | (downRight << 63))
+            == 0L) {
+          continue;
+        }
+        final var word =
+            WordRule.step(upLeft, up, upRight, left, alive, right, downLeft, down, downRight);
+        if (word != 0L) {
+          out[r * ChunkedEngine.WORDS + k] = word;
+          population += Long.bitCount(word);
+        }
+        born += Long.bitCount(word & ~alive);
+        died += Long.bitCount(alive & ~word);
+      }
+    }
+    if (population == 0L) {
+      next.recycle(out);
+    } else {
+      next.setChunk(index, out);
+    }
+    this.population.add(population);
+    this.births.add(born);
+    this.deaths.add(died);
+  }
+
+  /** word k of row r relative to the center chunk, rows and words outside are in the neighbors */
+  private static long word(final long[][] around, final int r, final int k) {
+    final var row = r < 0 ? 0 : r >= ChunkedEngine.SIZE ? 2 : 1;
+    final var column = k < 0 ? 0 : k >= ChunkedEngine.WORDS ? 2 : 1;
+    final var chunk = around[row * 3 + column];
+    if (chunk == null) {
+      return 0L;
+    }
+    return chunk[(r & (ChunkedEngine.SIZE - 1)) * ChunkedEngine.WORDS
+        + (k & (ChunkedEngine.WORDS - 1))];
+  }
+}
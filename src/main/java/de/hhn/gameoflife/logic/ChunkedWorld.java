@@ -0,0 +1,262 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.control_iface.Disposable;
+import de.hhn.gameoflife.data_structures.ChunkedBitGrid;
+import de.hhn.gameoflife.data_structures.MpscQueue;
+import de.hhn.gameoflife.ui.ChunkedWorldUI;
+import java.util.function.Consumer;
+
+/**
+ * World for sizes that do not fit into {@link World}, like 65536x65536.
+ *
+ * <p>The cells live in a {@link ChunkedBitGrid}, so memory and step time grow with the number of
+ * chunks that contain living cells instead of the size of the world. Cell coordinates are long.
+ */
+public class ChunkedWorld implements SimulationTask, Disposable {
+  private final ChunkedWorldUI ui;
+  private final long worldWidth;
+  private final long worldHeight;
+  private ChunkedBitGrid worldData;
+  private ChunkedBitGrid nextWorldData;
+  private final ChunkedEngine engine;
+  private final TickPacer pacer = new TickPacer(20d);
+  private final SimulationScheduler scheduler = SimulationScheduler.getInstance();
+  private final MpscQueue<Consumer<ChunkedBitGrid>> edits = new MpscQueue<>();
+  private volatile boolean paused = true;
+  private volatile boolean disposed = false;
+  private volatile boolean hidden = false;
+  private volatile HiddenPolicy hiddenPolicy = HiddenPolicy.KEEP_RUNNING;
+  private volatile long generation = 0L;
+  private volatile long population = 0L;
+  private volatile long births = 0L;
+  private volatile long deaths = 0L;
+  private volatile int steppedChunks = 0;
+
+  public ChunkedWorld(final Settings settings, final ChunkedWorldUI ui) {
+    this.ui = ui;
+    this.worldWidth = settings.worldWidth();
+    this.worldHeight = settings.worldHeight();
+    this.worldData = new ChunkedBitGrid(this.worldWidth, this.worldHeight);
+    this.nextWorldData = new ChunkedBitGrid(this.worldWidth, this.worldHeight);
+    this.engine = new ChunkedEngine(this.scheduler.getComputePool());
+    this.scheduler.register(this);
+  }
+
+  /** Queue a change of the world data, it is applied before the next generation */
+  public void edit(final Consumer<ChunkedBitGrid> edit) {
+    this.edits.offer(edit);
+    this.scheduler.wake();
+  }
+
+  /** Fill a centered square with the given side length with random cells, the rest is cleared */
+  public void randomize(final long seed, final double density, final long side) {
+    this.edit(
+        grid -> {
+          grid.clear();
+          final var fixedDensity = SoupGenerator.fixedDensity(density);
+          final var clamped = Math.min(side, Math.min(this.worldWidth, this.worldHeight));
+          final var left = (this.worldWidth - clamped) >> 1;
+          final var top = (this.worldHeight - clamped) >> 1;
+          for (var y = top; y < top + clamped; ++y) {
+            for (var x = left; x < left + clamped; x += 64) {
+              final var index = y * this.worldWidth + x;
+              var word = SoupGenerator.randomWord(index >> 6, seed, fixedDensity);
+              // cut the word at the right border of the square
+              final var bits = left + clamped - x;
+              if (bits < 64) {
+                word &= (1L << bits) - 1L;
+              }
+              for (var b = 0; word != 0L; ++b, word >>>= 1) {
+                if ((word & 1L) != 0L) {
+                  grid.set(x + b, y, true);
+                }
+              }
+            }
+          }
+        });
+  }
+
+  /** kill all cells */
+  public void clear() {
+    this.edit(ChunkedBitGrid::clear);
+  }
+
+  /** Set the state of a single cell */
+  public void setCell(final long x, final long y, final boolean alive) {
+    this.edit(grid -> grid.set(x, y, alive));
+  }
+
+  public boolean getPaused() {
+    return this.paused;
+  }
+
+  public void setPaused(final boolean paused) {
+    this.paused = paused;
+    this.scheduler.wake();
+  }
+
+  /** toggle the paused state and return the new state */
+  public boolean togglePaused() {
+    final var paused = this.paused = !this.paused;
+    this.scheduler.wake();
+    return paused;
+  }
+
+  /** Set the number of generations per second, 0 or less is unthrottled */
+  public void setTargetTps(final double tps) {
+    this.pacer.setTargetTps(tps);
+    this.scheduler.wake();
+  }
+
+  public double getTargetTps() {
+    return this.pacer.getTargetTps();
+  }
+
+  /** Get the achieved generations per second */
+  public double getAchievedTps() {
+    return this.isHalted() ? 0d : this.pacer.getAchievedTps();
+  }
+
+  public long getWorldWidth() {
+    return this.worldWidth;
+  }
+
+  public long getWorldHeight() {
+    return this.worldHeight;
+  }
+
+  /** Get the number of generations calculated so far */
+  public long getGeneration() {
+    return this.generation;
+  }
+
+  /** Get the number of living cells */
+  public long getPopulation() {
+    return this.population;
+  }
+
+  /** Get the number of cells that were born in the last generation */
+  public long getBirths() {
+    return this.births;
+  }
+
+  /** Get the number of cells that died in the last generation */
+  public long getDeaths() {
+    return this.deaths;
+  }
+
+  /** Get the number of chunks that hold living cells */
+  public int getAllocatedChunks() {
+    return this.worldData.getAllocatedChunks();
+  }
+
+  /** Get the number of chunks that were calculated for the last generation */
+  public int getSteppedChunks() {
+    return this.steppedChunks;
+  }
+
+  @Override
+  public SimulationPriority getPriority() {
+    if (this.hidden && this.hiddenPolicy == HiddenPolicy.LOW_PRIORITY) {
+      return SimulationPriority.LOW;
+    }
+    return SimulationPriority.NORMAL;
+  }
+
+  /**
+   * Tell the world whether its window can be seen.
+   *
+   * <p>Hidden worlds do not render, the current state is shown when the world becomes visible
+   * again.
+   */
+  public void setHidden(final boolean hidden) {
+    if (this.hidden == hidden) {
+      return;
+    }
+    this.hidden = hidden;
+    if (!hidden) {
+      // an empty edit renders the current state once, even if the world is paused
+      this.edit(grid -> {});
+    }
+    this.scheduler.wake();
+  }
+
+  public boolean getHidden() {
+    return this.hidden;
+  }
+
+  /** Set what the world does while it is hidden */
+  public void setHiddenPolicy(final HiddenPolicy hiddenPolicy) {
+    this.hiddenPolicy = hiddenPolicy;
+    this.scheduler.wake();
+  }
+
+  public HiddenPolicy getHiddenPolicy() {
+    return this.hiddenPolicy;
+  }
+
+  /** Check if no generations should be calculated right now */
+  private boolean isHalted() {
+    return this.paused || (this.hidden && this.hiddenPolicy == HiddenPolicy.PAUSE);
+  }
+
+  @Override
+  public long nanosUntilDue(final long now) {
+    if (this.disposed) {
+      return Long.MAX_VALUE;
+    }
+    if (!this.edits.isEmpty()) {
+      return 0L;
+    }
+    if (this.isHalted()) {
+      this.pacer.reset();
+      return Long.MAX_VALUE;
+    }
+    return this.pacer.nanosUntilDue(now);
+  }
+
+  @Override
+  public void runSlice() {
+    if (!this.edits.isEmpty()) {
+      Consumer<ChunkedBitGrid> edit;
+      while ((edit = this.edits.poll()) != null) {
+        edit.accept(this.worldData);
+      }
+      this.population = this.worldData.population();
+      this.render();
+    }
+    if (this.isHalted() || this.pacer.nanosUntilDue(System.nanoTime()) > 0L) {
+      return;
+    }
+    this.steppedChunks = this.engine.step(this.worldData, this.nextWorldData);
+    final var swap = this.worldData;
+    this.worldData = this.nextWorldData;
+    this.nextWorldData = swap;
+    this.population = this.engine.getPopulation();
+    this.births = this.engine.getBirths();
+    this.deaths = this.engine.getDeaths();
+    ++this.generation;
+    this.render();
+    this.pacer.onTick(System.nanoTime(), 1);
+  }
+
+  /** show the world data in the ui, hidden worlds are drawn again once they can be seen */
+  private void render() {
+    if (this.hidden) {
+      return;
+    }
+    this.ui.set(this.worldData);
+    this.ui.draw();
+  }
+
+  @Override
+  public void dispose() {
+    if (this.disposed) {
+      return;
+    }
+    this.disposed = true;
+    this.scheduler.unregister(this);
+    this.worldData.clear();
+    this.nextWorldData.clear();
+  }
+}
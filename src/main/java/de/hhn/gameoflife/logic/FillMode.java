@@ -0,0 +1,21 @@
+package de.hhn.gameoflife.logic;
+
+/** Which part of the world is filled with random cells. */
+public enum FillMode {
+  /** the whole world */
+  RANDOM("Random"),
+  /** the left half is random and mirrored to the right half */
+  SYMMETRIC("Symmetric"),
+  /** a square in the center with half the side length of the world */
+  CENTER_SQUARE("Center Square");
+
+  private final String name;
+
+  FillMode(final String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+}
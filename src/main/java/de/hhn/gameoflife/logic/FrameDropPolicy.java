@@ -0,0 +1,21 @@
+package de.hhn.gameoflife.logic;
+
+/** What the {@link Recorder} does with a new frame when the encoding queue is full. */
+public enum FrameDropPolicy {
+  /** discard the new frame */
+  DROP_NEWEST("Drop Newest"),
+  /** discard the oldest queued frame to make room for the new one */
+  DROP_OLDEST("Drop Oldest"),
+  /** replace the most recently queued frame with the new one */
+  COALESCE("Coalesce");
+
+  private final String name;
+
+  FrameDropPolicy(final String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+}
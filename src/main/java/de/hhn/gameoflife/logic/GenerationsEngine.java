@@ -0,0 +1,163 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.data_structures.StateGrid;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Calculates generations of a {@link GenerationsRule} on a torus.
+ *
+ * <p>Works on 64 cells at once: the living neighbors are summed with bit-sliced adders into a 4 bit
+ * count per cell, the birth and survival sets become masks of the count bits and the decay of
+ * dying cells is a bit-sliced increment of the state planes.
+ */
+public class GenerationsEngine implements MultiStateEngine {
+  /** fewer words are calculated on the calling thread */
+  private static final int PARALLEL_THRESHOLD = 1 << 12;
+
+  private final ForkJoinPool pool;
+  private final GenerationsRule rule;
+  private long[] alive = new long[0];
+
+  public GenerationsEngine(final GenerationsRule rule, final ForkJoinPool pool) {
+    this.rule = rule;
+    this.pool = pool;
+  }
+
+  public GenerationsRule getRule() {
+    return this.rule;
+  }
+
+  @Override
+  public int getStates() {
+    return this.rule.states();
+  }
+
+  @Override
+  public String getNotation() {
+    return this.rule.toString();
+  }
+
+  @Override
+  public long step(final StateGrid current, final StateGrid next) {
+    final var wordCount = current.getWordCount();
+    if (this.alive.length != wordCount) {
+      this.alive = new long[wordCount];
+    }
+    for (var w = 0; w < wordCount; ++w) {
+      this.alive[w] = current.getAliveWord(w);
+    }
+    final var rows = IntStream.range(0, current.getWorldHeight());
+    if (wordCount < GenerationsEngine.PARALLEL_THRESHOLD) {
+      return rows.mapToLong(y -> this.stepRow(current, next, y)).sum();
+    }
+    return this.pool
+        .submit(() -> rows.parallel().mapToLong(y -> this.stepRow(current, next, y)).sum())
+        .join();
+  }
+
+  /** calculate one row and return its living cells */
+  private long stepRow(final StateGrid current, final StateGrid next, final int y) {
+    final var wordsPerRow = current.getWordsPerRow();
+    final var height = current.getWorldHeight();
+    final var row = y * wordsPerRow;
+    final var up = ((y + height - 1) % height) * wordsPerRow;
+    final var down = ((y + 1) % height) * wordsPerRow;
+    var population = 0L;
+    for (var k = 0; k < wordsPerRow; ++k) {
+      final var l = (k + wordsPerRow - 1) % wordsPerRow;
+      final var r = (k + 1) % wordsPerRow;
+      final var a = this.alive;
+
+      // count the living neighbors into c0..c3
+      var c0 = 0L;
+      var c1 = 0L;
+      var c2 = 0L;
+      var c3 = 0L;
+      for (var i = 0; i < 8; ++i) {
+        final var n =
+            switch (i) {
+              case 0 -> (a[up + k] << 1) | (a[up + l] >>> 63);
+              case 1 -> a[up + k];
+              case 2 -> (a[up + k] >>> 1) | (a[up + r] << 63);
+              case 3 -> (a[row + k] << 1) | (a[row + l] >>> 63);
+              case 4 -> (a[row + k] >>> 1) | (a[row + r] << 63);
+              case 5 -> (a[down + k] << 1) | (a[down + l] >>> 63);
+              case 6 -> a[down + k];
+              default -> (a[down + k] >>> 1) | (a[down + r] << 63);
+            };
+        final var carry0 = c0 & n;
+        c0 ^= n;
+        final var carry1 = c1 & carry0;
+        c1 ^= carry0;
+        final var carry2 = c2 & carry1;
+        c2 ^= carry1;
+        c3 |= carry2;
+      }
+      var born = 0L;
+      var survive = 0L;
+      for (var count = 0; count <= 8; ++count) {
+        final var inBirth = (this.rule.birth() & (1 << count)) != 0;
+        final var inSurvival = (this.rule.survival() & (1 << count)) != 0;
+        if (!inBirth && !inSurvival) {
+          continue;
+        }
+        final var match =
+            ((count & 1) != 0 ? c0 : ~c0)
+                & ((count & 2) != 0 ? c1 : ~c1)
+                & ((count & 4) != 0 ? c2 : ~c2)
+                & ((count & 8) != 0 ? c3 : ~c3);
+        if (inBirth) {
+          born |= match;
+        }
+        if (inSurvival) {
+          survive |= match;
+        }
+      }
+
+      population += GenerationsEngine.update(current, next, row + k, born, survive);
+    }
+    return population;
+  }
+
+  /**
+   * Write the next state of the 64 cells of word w.
+   *
+   * <p>Dead cells in born become alive, living cells in survive stay alive. All other cells that
+   * are not dead move to the next state, the last state is followed by 0.
+   *
+   * @return the number of living cells of the word in next
+   */
+  static int update(
+      final StateGrid current,
+      final StateGrid next,
+      final int w,
+      final long born,
+      final long survive) {
+    final var bits = current.getBitsPerCell();
+    final var states = current.getStates();
+    final var living = current.getAliveWord(w);
+    final var active = current.getActiveWord(w);
+    // living cells that do not survive and all dying cells move to the next state
+    final var decay = (living & ~survive) | (active & ~living);
+    var carry = decay;
+    var wrap = -1L;
+    for (var p = 0; p < bits; ++p) {
+      final var plane = current.getPlane(p)[w];
+      final var incremented = plane ^ carry;
+      carry &= plane;
+      next.getPlane(p)[w] = incremented;
+      wrap &= ((states >> p) & 1) != 0 ? incremented : ~incremented;
+    }
+    // after the last state comes 0, an overflow of all planes already is 0
+    if ((states >> bits) == 0) {
+      wrap &= decay;
+      for (var p = 0; p < bits; ++p) {
+        next.getPlane(p)[w] &= ~wrap;
+      }
+    }
+    final var birth = born & ~active;
+    next.getPlane(0)[w] |= birth;
+    return Long.bitCount((living & survive) | birth);
+  }
+}
@@ -0,0 +1,27 @@
+package de.hhn.gameoflife.logic;
+
+/** Well known rules of the Generations family. */
+public enum GenerationsPreset {
+  BRIANS_BRAIN("Brian's Brain", "B2/S/3"),
+  STAR_WARS("Star Wars", "B2/S345/4"),
+  STICKS("Sticks", "B2/S3456/6"),
+  SWIRL("Swirl", "B34/S23/8"),
+  FROGS("Frogs", "B34/S12/3"),
+  LIFE("Conway's Life", "B3/S23/2");
+
+  private final String name;
+  private final GenerationsRule rule;
+
+  GenerationsPreset(final String name, final String rule) {
+    this.name = name;
+    this.rule = GenerationsRule.parse(rule);
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  public GenerationsRule getRule() {
+    return this.rule;
+  }
+}
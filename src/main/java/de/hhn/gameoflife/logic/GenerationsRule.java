@@ -0,0 +1,65 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.data_structures.StateGrid;
+
+/**
+ * Rule of the Generations family in B/S/C notation.
+ *
+ * <p>State 0 is dead and state 1 is alive, only living cells count as neighbors. A dead cell with a
+ * neighbor count in birth becomes alive. A living cell with a count in survival stays alive, any
+ * other cell that is not dead moves to the next state, the last state is followed by 0.
+ *
+ * @param birth bit n is set if n neighbors give birth
+ * @param survival bit n is set if a living cell with n neighbors survives
+ * @param states number of states, 2 is a plain life-like rule
+ */
+public record GenerationsRule(int birth, int survival, int states) {
+  public GenerationsRule {
+    if ((birth & ~0x1ff) != 0 || (survival & ~0x1ff) != 0) {
+      throw new IllegalArgumentException("neighbor counts must be between 0 and 8");
+    }
+    if (states < 2 || states > StateGrid.MAX_STATES) {
+      throw new IllegalArgumentException("states must be between 2 and " + StateGrid.MAX_STATES);
+    }
+  }
+
+  /** parse a rule like "B2/S/3" or "B3/S23/2" */
+  public static GenerationsRule parse(final String notation) {
+    final var parts = notation.trim().toUpperCase().split("/");
+    if (parts.length != 3 || !parts[0].startsWith("B") || !parts[1].startsWith("S")) {
+      throw new IllegalArgumentException("expected a rule like B2/S/3, got " + notation);
+    }
+    return new GenerationsRule(
+        GenerationsRule.counts(parts[0].substring(1)),
+        GenerationsRule.counts(parts[1].substring(1)),
+        Integer.parseInt(parts[2]));
+  }
+
+  private static int counts(final String digits) {
+    var mask = 0;
+    for (final var c : digits.toCharArray()) {
+      if (c < '0' || c > '8') {
+        throw new IllegalArgumentException("invalid neighbor count " + c);
+      }
+      mask |= 1 << (c - '0');
+    }
+    return mask;
+  }
+
+  @Override
+  public String toString() {
+    final var sb = new StringBuilder("B");
+    for (var n = 0; n <= 8; ++n) {
+      if ((this.birth & (1 << n)) != 0) {
+        sb.append(n);
+      }
+    }
+    sb.append("/S");
+    for (var n = 0; n <= 8; ++n) {
+      if ((this.survival & (1 << n)) != 0) {
+        sb.append(n);
+      }
+    }
+    return sb.append('/').append(this.states).toString();
+  }
+}
@@ -0,0 +1,262 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.control_iface.Disposable;
+import de.hhn.gameoflife.data_structures.MpscQueue;
+import de.hhn.gameoflife.data_structures.StateGrid;
+import de.hhn.gameoflife.ui.WorldUI;
+import java.util.function.Consumer;
+
+/**
+ * World with more than two cell states, calculated by a {@link MultiStateEngine} like a {@link
+ * GenerationsEngine} or an {@link LtlEngine}.
+ *
+ * <p>The states are kept in a {@link StateGrid} with 2 or 4 bits per cell. Only cells whose state
+ * changed are written into the {@link WorldUI}, in the color of their state.
+ */
+public class GenerationsWorld implements SimulationTask, Disposable {
+  private final WorldUI ui;
+  private final int worldWidth;
+  private final int worldHeight;
+  private StateGrid worldData;
+  private StateGrid nextWorldData;
+  private final MultiStateEngine engine;
+  private final TickPacer pacer = new TickPacer(20d);
+  private final SimulationScheduler scheduler = SimulationScheduler.getInstance();
+  private final MpscQueue<Consumer<StateGrid>> edits = new MpscQueue<>();
+  private volatile boolean paused = true;
+  private volatile boolean disposed = false;
+  private volatile boolean hidden = false;
+  private volatile HiddenPolicy hiddenPolicy = HiddenPolicy.KEEP_RUNNING;
+  private volatile long generation = 0L;
+  private volatile long population = 0L;
+  // true if changes were skipped while hidden, only used on the simulation thread
+  private boolean stale = false;
+
+  public GenerationsWorld(
+      final Settings settings, final MultiStateEngine engine, final WorldUI ui) {
+    this.ui = ui;
+    this.worldWidth = settings.worldWidth();
+    this.worldHeight = settings.worldHeight();
+    this.worldData = new StateGrid(this.worldWidth, this.worldHeight, engine.getStates());
+    this.nextWorldData = new StateGrid(this.worldWidth, this.worldHeight, engine.getStates());
+    this.engine = engine;
+    this.scheduler.register(this);
+  }
+
+  /** Queue a change of the world data, it is applied before the next generation */
+  public void edit(final Consumer<StateGrid> edit) {
+    this.edits.offer(edit);
+    this.scheduler.wake();
+  }
+
+  /** fill the world with living cells of the given density, all other cells are dead */
+  public void randomize(final long seed, final double density) {
+    this.edit(
+        grid -> {
+          grid.clear();
+          final var fixedDensity = SoupGenerator.fixedDensity(density);
+          final var plane = grid.getPlane(0);
+          for (var w = 0; w < plane.length; ++w) {
+            plane[w] = SoupGenerator.randomWord(w, seed, fixedDensity);
+          }
+        });
+  }
+
+  /** set all cells to state 0 */
+  public void clear() {
+    this.edit(StateGrid::clear);
+  }
+
+  /** Set the state of a single cell */
+  public void setCell(final int x, final int y, final int state) {
+    this.edit(grid -> grid.set(y * this.worldWidth + x, state));
+  }
+
+  public MultiStateEngine getEngine() {
+    return this.engine;
+  }
+
+  public boolean getPaused() {
+    return this.paused;
+  }
+
+  public void setPaused(final boolean paused) {
+    this.paused = paused;
+    this.scheduler.wake();
+  }
+
+  /** toggle the paused state and return the new state */
+  public boolean togglePaused() {
+    final var paused = this.paused = !this.paused;
+    this.scheduler.wake();
+    return paused;
+  }
+
+  /** Set the number of generations per second, 0 or less is unthrottled */
+  public void setTargetTps(final double tps) {
+    this.pacer.setTargetTps(tps);
+    this.scheduler.wake();
+  }
+
+  public double getTargetTps() {
+    return this.pacer.getTargetTps();
+  }
+
+  /** Get the achieved generations per second */
+  public double getAchievedTps() {
+    return this.isHalted() ? 0d : this.pacer.getAchievedTps();
+  }
+
+  public int getWorldWidth() {
+    return this.worldWidth;
+  }
+
+  public int getWorldHeight() {
+    return this.worldHeight;
+  }
+
+  /** Get the number of generations calculated so far */
+  public long getGeneration() {
+    return this.generation;
+  }
+
+  /** Get the number of cells in state 1 */
+  public long getPopulation() {
+    return this.population;
+  }
+
+  /** Get the state grid, must only be read from an edit */
+  public StateGrid getWorldData() {
+    return this.worldData;
+  }
+
+  @Override
+  public SimulationPriority getPriority() {
+    if (this.hidden && this.hiddenPolicy == HiddenPolicy.LOW_PRIORITY) {
+      return SimulationPriority.LOW;
+    }
+    return SimulationPriority.NORMAL;
+  }
+
+  /**
+   * Tell the world whether its window can be seen.
+   *
+   * <p>Hidden worlds do not render, the current state is shown when the world becomes visible
+   * again.
+   */
+  public void setHidden(final boolean hidden) {
+    if (this.hidden == hidden) {
+      return;
+    }
+    this.hidden = hidden;
+    if (!hidden) {
+      // an empty edit renders the current state once, even if the world is paused
+      this.edit(grid -> {});
+    }
+    this.scheduler.wake();
+  }
+
+  public boolean getHidden() {
+    return this.hidden;
+  }
+
+  /** Set what the world does while it is hidden */
+  public void setHiddenPolicy(final HiddenPolicy hiddenPolicy) {
+    this.hiddenPolicy = hiddenPolicy;
+    this.scheduler.wake();
+  }
+
+  public HiddenPolicy getHiddenPolicy() {
+    return this.hiddenPolicy;
+  }
+
+  /** Check if no generations should be calculated right now */
+  private boolean isHalted() {
+    return this.paused || (this.hidden && this.hiddenPolicy == HiddenPolicy.PAUSE);
+  }
+
+  @Override
+  public long nanosUntilDue(final long now) {
+    if (this.disposed) {
+      return Long.MAX_VALUE;
+    }
+    if (!this.edits.isEmpty()) {
+      return 0L;
+    }
+    if (this.isHalted()) {
+      this.pacer.reset();
+      return Long.MAX_VALUE;
+    }
+    return this.pacer.nanosUntilDue(now);
+  }
+
+  @Override
+  public void runSlice() {
+    if (!this.edits.isEmpty()) {
+      // keep the old states to find the changed cells
+      this.nextWorldData.copyFrom(this.worldData);
+      Consumer<StateGrid> edit;
+      while ((edit = this.edits.poll()) != null) {
+        edit.accept(this.worldData);
+      }
+      var population = 0L;
+      for (var w = 0; w < this.worldData.getWordCount(); ++w) {
+        population += Long.bitCount(this.worldData.getAliveWord(w));
+      }
+      this.population = population;
+      this.render(this.nextWorldData, this.worldData);
+    }
+    if (this.isHalted() || this.pacer.nanosUntilDue(System.nanoTime()) > 0L) {
+      return;
+    }
+    this.population = this.engine.step(this.worldData, this.nextWorldData);
+    final var swap = this.worldData;
+    this.worldData = this.nextWorldData;
+    this.nextWorldData = swap;
+    ++this.generation;
+    this.render(this.nextWorldData, this.worldData);
+    this.pacer.onTick(System.nanoTime(), 1);
+  }
+
+  /**
+   * write the cells that differ between before and after into the ui and draw it, hidden worlds
+   * write every cell once they can be seen again
+   */
+  private void render(final StateGrid before, final StateGrid after) {
+    if (this.hidden) {
+      this.stale = true;
+      return;
+    }
+    if (this.stale) {
+      // the skipped changes are unknown, so write every cell once
+      this.stale = false;
+      for (var i = 0; i < this.worldWidth * this.worldHeight; ++i) {
+        this.ui.set(i, after.get(i));
+      }
+      this.ui.draw();
+      return;
+    }
+    for (var w = 0; w < after.getWordCount(); ++w) {
+      var diff = 0L;
+      for (var p = 0; p < after.getBitsPerCell(); ++p) {
+        diff |= before.getPlane(p)[w] ^ after.getPlane(p)[w];
+      }
+      final var base = w << 6;
+      while (diff != 0L) {
+        final var b = Long.numberOfTrailingZeros(diff);
+        this.ui.set(base + b, after.get(base + b));
+        diff &= diff - 1L;
+      }
+    }
+    this.ui.draw();
+  }
+
+  @Override
+  public void dispose() {
+    if (this.disposed) {
+      return;
+    }
+    this.disposed = true;
+    this.scheduler.unregister(this);
+  }
+}
@@ -0,0 +1,21 @@
+package de.hhn.gameoflife.logic;
+
+/** What a world does while its window can not be seen, rendering is always suspended. */
+public enum HiddenPolicy {
+  /** keep calculating generations at the normal priority */
+  KEEP_RUNNING("Keep Running"),
+  /** keep calculating generations at a low priority */
+  LOW_PRIORITY("Run at Low Priority"),
+  /** stop calculating generations until the window is visible again */
+  PAUSE("Pause");
+
+  private final String name;
+
+  HiddenPolicy(final String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+}
@@ -0,0 +1,46 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.data_structures.LatencyHistogram;
+
+/** Point in time summary of a {@link LatencyHistogram} in microseconds, used by JMX. */
+public class LatencySnapshot {
+  private final long count;
+  private final double mean;
+  private final double p50;
+  private final double p99;
+  private final double p999;
+  private final double max;
+
+  public LatencySnapshot(final LatencyHistogram histogram) {
+    this.count = histogram.getCount();
+    this.mean = histogram.getMean() / 1_000d;
+    this.p50 = histogram.getValueAtPercentile(50d) / 1_000d;
+    this.p99 = histogram.getValueAtPercentile(99d) / 1_000d;
+    this.p999 = histogram.getValueAtPercentile(99.9d) / 1_000d;
+    this.max = histogram.getMax() / 1_000d;
+  }
+
+  public long getCount() {
+    return this.count;
+  }
+
+  public double getMeanMicros() {
+    return this.mean;
+  }
+
+  public double getP50Micros() {
+    return this.p50;
+  }
+
+  public double getP99Micros() {
+    return this.p99;
+  }
+
+  public double getP999Micros() {
+    return this.p999;
+  }
+
+  public double getMaxMicros() {
+    return this.max;
+  }
+}
@@ -0,0 +1,250 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.data_structures.StateGrid;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Calculates generations of a {@link LtlRule} on a torus.
+ *
+ * <p>The world is split into bands of rows that are calculated in parallel. Every band copies its
+ * rows and a border of the radius into a padded frame, so no index has to wrap around. Neighbor
+ * counts cost the same for every radius:
+ *
+ * <ul>
+ *   <li>box: a sliding sum over each row, then a sliding sum of those down each column
+ *   <li>diamond: prefix sums along both diagonals, moving the diamond one row down adds its lower
+ *       edge and removes the upper edge of the previous one, each edge is two diagonal segments
+ * </ul>
+ */
+public class LtlEngine implements MultiStateEngine {
+  /** number of rows calculated as one task */
+  private static final int BAND_ROWS = 32;
+
+  /** fewer words are calculated on the calling thread */
+  private static final int PARALLEL_THRESHOLD = 1 << 10;
+
+  /** buffers of one band, reused by every thread */
+  private static final class Scratch {
+    private int[] frame = new int[0];
+    private int[] first = new int[0];
+    private int[] second = new int[0];
+    private int[] counts = new int[0];
+
+    private void ensure(final int frameSize, final int width) {
+      if (this.frame.length < frameSize) {
+        this.frame = new int[frameSize];
+        this.first = new int[frameSize];
+        this.second = new int[frameSize];
+      }
+      if (this.counts.length < width) {
+        this.counts = new int[width];
+      }
+    }
+  }
+
+  private final LtlRule rule;
+  private final ForkJoinPool pool;
+  private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+  private long[] alive = new long[0];
+
+  public LtlEngine(final LtlRule rule, final ForkJoinPool pool) {
+    this.rule = rule;
+    this.pool = pool;
+  }
+
+  public LtlRule getRule() {
+    return this.rule;
+  }
+
+  @Override
+  public int getStates() {
+    return this.rule.states();
+  }
+
+  @Override
+  public String getNotation() {
+    return this.rule.toString();
+  }
+
+  @Override
+  public long step(final StateGrid current, final StateGrid next) {
+    final var diameter = 2 * this.rule.radius() + 1;
+    if (current.getWorldWidth() < diameter || current.getWorldHeight() < diameter) {
+      throw new IllegalArgumentException("the world is smaller than the neighborhood");
+    }
+    final var wordCount = current.getWordCount();
+    if (this.alive.length != wordCount) {
+      this.alive = new long[wordCount];
+    }
+    for (var w = 0; w < wordCount; ++w) {
+      this.alive[w] = current.getAliveWord(w);
+    }
+    final var height = current.getWorldHeight();
+    final var bands =
+        IntStream.range(0, (height + LtlEngine.BAND_ROWS - 1) / LtlEngine.BAND_ROWS);
+    if (wordCount < LtlEngine.PARALLEL_THRESHOLD) {
+      return bands.mapToLong(b -> this.stepBand(current, next, b * LtlEngine.BAND_ROWS)).sum();
+    }
+    return this.pool
+        .submit(
+            () ->
+                bands
+                    .parallel()
+                    .mapToLong(b -> this.stepBand(current, next, b * LtlEngine.BAND_ROWS))
+                    .sum())
+        .join();
+  }
+
+  /** calculate the rows of one band and return its living cells */
+  private long stepBand(final StateGrid current, final StateGrid next, final int y0) {
+    final var width = current.getWorldWidth();
+    final var height = current.getWorldHeight();
+    final var wordsPerRow = current.getWordsPerRow();
+    final var radius = this.rule.radius();
+    final var y1 = Math.min(height, y0 + LtlEngine.BAND_ROWS);
+    // the diagonal sums reach one row and column further than the radius
+    final var margin = radius + 2;
+    final var frameWidth = width + 2 * margin;
+    final var rows = (y1 - y0) + 2 * radius + 3;
+    final var top = y0 - margin;
+    final var s = this.scratch.get();
+    s.ensure(rows * frameWidth, width);
+    final var frame = s.frame;
+    final var counts = s.counts;
+
+    // copy the living cells of the band and its border
+    for (var ly = 0; ly < rows; ++ly) {
+      final var row = Math.floorMod(top + ly, height) * wordsPerRow;
+      final var base = ly * frameWidth + margin;
+      for (var k = 0; k < wordsPerRow; ++k) {
+        final var word = this.alive[row + k];
+        for (var b = 0; b < 64; ++b) {
+          frame[base + (k << 6) + b] = (int) ((word >>> b) & 1L);
+        }
+      }
+      System.arraycopy(frame, base + width - margin, frame, base - margin, margin);
+      System.arraycopy(frame, base, frame, base + width, margin);
+    }
+
+    var population = 0L;
+    final var center = margin;
+    if (this.rule.neighborhood() == Neighborhood.BOX) {
+      final var rowSums = s.first;
+      for (var ly = 0; ly < rows; ++ly) {
+        final var base = ly * frameWidth + margin;
+        var sum = 0;
+        for (var dx = -radius; dx <= radius; ++dx) {
+          sum += frame[base + dx];
+        }
+        rowSums[ly * width] = sum;
+        for (var x = 1; x < width; ++x) {
+          sum += frame[base + x + radius] - frame[base + x - radius - 1];
+          rowSums[ly * width + x] = sum;
+        }
+      }
+      for (var x = 0; x < width; ++x) {
+        var sum = 0;
+        for (var ly = center - radius; ly <= center + radius; ++ly) {
+          sum += rowSums[ly * width + x];
+        }
+        counts[x] = sum;
+      }
+      for (var y = y0; y < y1; ++y) {
+        final var ly = center + y - y0;
+        if (y > y0) {
+          final var added = (ly + radius) * width;
+          final var removed = (ly - radius - 1) * width;
+          for (var x = 0; x < width; ++x) {
+            counts[x] += rowSums[added + x] - rowSums[removed + x];
+          }
+        }
+        population += this.applyRow(current, next, y, frame, ly * frameWidth + margin, counts);
+      }
+      return population;
+    }
+
+    // diamond: p1 sums down to the right, p2 sums down to the left
+    final var p1 = s.first;
+    final var p2 = s.second;
+    for (var ly = 0; ly < rows; ++ly) {
+      final var base = ly * frameWidth;
+      for (var lx = 0; lx < frameWidth; ++lx) {
+        final var cell = frame[base + lx];
+        p1[base + lx] = ly > 0 && lx > 0 ? cell + p1[base - frameWidth + lx - 1] : cell;
+        p2[base + lx] =
+            ly > 0 && lx < frameWidth - 1 ? cell + p2[base - frameWidth + lx + 1] : cell;
+      }
+    }
+    // the first row is counted row by row of the diamond
+    for (var x = 0; x < width; ++x) {
+      counts[x] = 0;
+    }
+    for (var dy = -radius; dy <= radius; ++dy) {
+      final var half = radius - Math.abs(dy);
+      final var base = (center + dy) * frameWidth + margin;
+      var sum = 0;
+      for (var dx = -half; dx <= half; ++dx) {
+        sum += frame[base + dx];
+      }
+      counts[0] += sum;
+      for (var x = 1; x < width; ++x) {
+        sum += frame[base + x + half] - frame[base + x - half - 1];
+        counts[x] += sum;
+      }
+    }
+    for (var y = y0; y < y1; ++y) {
+      final var cy = center + y - y0;
+      if (y > y0) {
+        final var py = cy - 1;
+        for (var x = 0; x < width; ++x) {
+          final var cx = x + margin;
+          final var lower =
+              p1[(cy + radius) * frameWidth + cx]
+                  - p1[(cy - 1) * frameWidth + cx - radius - 1]
+                  + p2[(cy + radius) * frameWidth + cx]
+                  - p2[(cy - 1) * frameWidth + cx + radius + 1]
+                  - frame[(cy + radius) * frameWidth + cx];
+          final var upper =
+              p2[py * frameWidth + cx - radius]
+                  - p2[(py - radius - 1) * frameWidth + cx + 1]
+                  + p1[py * frameWidth + cx + radius]
+                  - p1[(py - radius - 1) * frameWidth + cx - 1]
+                  - frame[(py - radius) * frameWidth + cx];
+          counts[x] += lower - upper;
+        }
+      }
+      population += this.applyRow(current, next, y, frame, cy * frameWidth + margin, counts);
+    }
+    return population;
+  }
+
+  /** turn the neighbor counts of a row into birth and survival masks and update its words */
+  private long applyRow(
+      final StateGrid current,
+      final StateGrid next,
+      final int y,
+      final int[] frame,
+      final int frameRow,
+      final int[] counts) {
+    final var wordsPerRow = current.getWordsPerRow();
+    final var offset = this.rule.countCenter() ? 0 : 1;
+    var population = 0L;
+    for (var k = 0; k < wordsPerRow; ++k) {
+      var born = 0L;
+      var survive = 0L;
+      for (var b = 0; b < 64; ++b) {
+        final var x = (k << 6) + b;
+        final var count = counts[x] - offset * frame[frameRow + x];
+        if (count >= this.rule.birthMin() && count <= this.rule.birthMax()) {
+          born |= 1L << b;
+        }
+        if (count >= this.rule.survivalMin() && count <= this.rule.survivalMax()) {
+          survive |= 1L << b;
+        }
+      }
+      population += GenerationsEngine.update(current, next, y * wordsPerRow + k, born, survive);
+    }
+    return population;
+  }
+}
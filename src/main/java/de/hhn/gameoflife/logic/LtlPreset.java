@@ -0,0 +1,26 @@
+package de.hhn.gameoflife.logic;
+
+/** Well known Larger than Life rules. */
+public enum LtlPreset {
+  BOSCO("Bosco's Rule", "R5,C0,M1,S34..58,B34..45,NM"),
+  MAJORITY("Majority", "R4,C0,M1,S41..81,B41..81,NM"),
+  WAFFLE("Waffle", "R7,C0,M1,S100..200,B75..170,NM"),
+  GLOBE("Globe", "R8,C0,M0,S163..223,B74..252,NM"),
+  MAJORITY_DIAMOND("Diamond Majority", "R10,C0,M1,S111..221,B111..221,NN");
+
+  private final String name;
+  private final LtlRule rule;
+
+  LtlPreset(final String name, final String rule) {
+    this.name = name;
+    this.rule = LtlRule.parse(rule);
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  public LtlRule getRule() {
+    return this.rule;
+  }
+}
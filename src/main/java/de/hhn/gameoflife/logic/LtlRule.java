@@ -0,0 +1,92 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.data_structures.StateGrid;
+
+/**
+ * Larger than Life rule in the notation "R5,C0,M1,S34..58,B34..45,NM".
+ *
+ * <p>R is the radius, C the number of states (0 and 2 both mean alive and dead), M whether the
+ * cell counts itself, S and B the ranges of living neighbors for survival and birth and N the
+ * neighborhood, M for box and N for diamond. More states decay like {@link GenerationsRule}.
+ */
+public record LtlRule(
+    int radius,
+    int states,
+    boolean countCenter,
+    int survivalMin,
+    int survivalMax,
+    int birthMin,
+    int birthMax,
+    Neighborhood neighborhood) {
+  /** largest supported radius */
+  public static final int MAX_RADIUS = 100;
+
+  public LtlRule {
+    if (radius < 1 || radius > LtlRule.MAX_RADIUS) {
+      throw new IllegalArgumentException("radius must be between 1 and " + LtlRule.MAX_RADIUS);
+    }
+    if (states < 2 || states > StateGrid.MAX_STATES) {
+      throw new IllegalArgumentException("states must be between 2 and " + StateGrid.MAX_STATES);
+    }
+    if (survivalMin > survivalMax || birthMin > birthMax) {
+      throw new IllegalArgumentException("ranges must not be empty");
+    }
+  }
+
+  /** parse a rule like "R5,C0,M1,S34..58,B34..45,NM" */
+  public static LtlRule parse(final String notation) {
+    final var parts = notation.trim().toUpperCase().split(",");
+    if (parts.length != 6) {
+      throw new IllegalArgumentException(
+          "expected a rule like R5,C0,M1,S34..58,B34..45,NM, got " + notation);
+    }
+    try {
+      final var radius = Integer.parseInt(LtlRule.value(parts[0], "R"));
+      final var states = Math.max(2, Integer.parseInt(LtlRule.value(parts[1], "C")));
+      final var center = Integer.parseInt(LtlRule.value(parts[2], "M")) != 0;
+      final var survival = LtlRule.value(parts[3], "S").split("\\.\\.");
+      final var birth = LtlRule.value(parts[4], "B").split("\\.\\.");
+      final var neighborhood =
+          switch (LtlRule.value(parts[5], "N")) {
+            case "M" -> Neighborhood.BOX;
+            case "N" -> Neighborhood.DIAMOND;
+            default -> throw new IllegalArgumentException("unknown neighborhood " + parts[5]);
+          };
+      if (survival.length != 2 || birth.length != 2) {
+        throw new IllegalArgumentException("ranges must look like 34..58");
+      }
+      return new LtlRule(
+          radius,
+          states,
+          center,
+          Integer.parseInt(survival[0]),
+          Integer.parseInt(survival[1]),
+          Integer.parseInt(birth[0]),
+          Integer.parseInt(birth[1]),
+          neighborhood);
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException("invalid number in " + notation, e);
+    }
+  }
+
+  private static String value(final String part, final String key) {
+    if (!part.startsWith(key)) {
+      throw new IllegalArgumentException("expected " + key + " but got " + part);
+    }
+    return part.substring(key.length());
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "R%d,C%d,M%d,S%d..%d,B%d..%d,N%c",
+        this.radius,
+        this.states == 2 ? 0 : this.states,
+        this.countCenter ? 1 : 0,
+        this.survivalMin,
+        this.survivalMax,
+        this.birthMin,
+        this.birthMax,
+        this.neighborhood.getCode());
+  }
+}
@@ -0,0 +1,19 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.data_structures.StateGrid;
+
+/** Rule implementation that calculates generations of a {@link StateGrid}. */
+public interface MultiStateEngine {
+  /**
+   * Write the generation after current into next.
+   *
+   * @return the number of living cells in next
+   */
+  long step(final StateGrid current, final StateGrid next);
+
+  /** number of states a cell can have */
+  int getStates();
+
+  /** rule in its usual notation */
+  String getNotation();
+}
@@ -0,0 +1,35 @@
+package de.hhn.gameoflife.logic;
+
+/** Shape of the cells around a cell that count as its neighbors. */
+public enum Neighborhood {
+  /** all cells with a chebyshev distance up to the radius */
+  BOX("Box", 'M'),
+  /** all cells with a manhattan distance up to the radius */
+  DIAMOND("Diamond", 'N');
+
+  private final String name;
+  private final char code;
+
+  Neighborhood(final String name, final char code) {
+    this.name = name;
+    this.code = code;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  /** letter of the neighborhood in Larger than Life notation */
+  public char getCode() {
+    return this.code;
+  }
+
+  /** number of cells in the neighborhood including the center */
+  public int size(final int radius) {
+    final var side = 2 * radius + 1;
+    return switch (this) {
+      case BOX -> side * side;
+      case DIAMOND -> 2 * radius * (radius + 1) + 1;
+    };
+  }
+}
@@ -0,0 +1,38 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.data_structures.BitPattern;
+
+/** The eight ways a pattern can be placed by rotating and mirroring it. */
+public enum Orientation {
+  ORIGINAL("Original", false, 0),
+  ROTATE_90("Rotate 90°", false, 1),
+  ROTATE_180("Rotate 180°", false, 2),
+  ROTATE_270("Rotate 270°", false, 3),
+  MIRROR("Mirror", true, 0),
+  MIRROR_ROTATE_90("Mirror and Rotate 90°", true, 1),
+  MIRROR_ROTATE_180("Mirror and Rotate 180°", true, 2),
+  MIRROR_ROTATE_270("Mirror and Rotate 270°", true, 3);
+
+  private final String name;
+  private final boolean mirrored;
+  private final int quarterTurns;
+
+  Orientation(final String name, final boolean mirrored, final int quarterTurns) {
+    this.name = name;
+    this.mirrored = mirrored;
+    this.quarterTurns = quarterTurns;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  /** mirror the pattern if needed, then rotate it clockwise */
+  public BitPattern apply(final BitPattern pattern) {
+    var result = this.mirrored ? pattern.mirror() : pattern;
+    for (var i = 0; i < this.quarterTurns; ++i) {
+      result = result.rotate();
+    }
+    return result;
+  }
+}
@@ -0,0 +1,23 @@
+package de.hhn.gameoflife.logic;
+
+/**
+ * A pattern of the {@link PatternLibrary} as listed in its index, the cells are loaded on demand.
+ *
+ * @param name unique name shown to the user
+ * @param category group of the pattern in the menu
+ * @param width width of the bounding box, including dead borders
+ * @param height height of the bounding box, including dead borders
+ * @param period generations until the pattern repeats, 0 if it never does
+ * @param file resource of the cells in RLE format, relative to the index
+ */
+public record PatternEntry(
+    String name, String category, int width, int height, int period, String file) {
+  public PatternEntry {
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException("name must not be empty");
+    }
+    if (width < 0 || height < 0 || period < 0) {
+      throw new IllegalArgumentException("size and period must not be negative");
+    }
+  }
+}
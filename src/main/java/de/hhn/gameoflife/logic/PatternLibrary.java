@@ -0,0 +1,243 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.data_structures.BitPattern;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named patterns listed in an index resource.
+ *
+ * <p>Every line of the index is "name, category, width, height, period, file" separated by tabs,
+ * lines starting with # are comments. Only the index is read up front, the cells of a pattern are
+ * read from its RLE file when it is first used and kept compiled in a cache of bounded size that
+ * drops the least recently used patterns first. Names are sorted, so exact and prefix searches are
+ * binary searches.
+ */
+public class PatternLibrary {
+  /** index of the patterns shipped with the game */
+  public static final String DEFAULT_INDEX = "/patterns/index.tsv";
+
+  /** cells of all compiled patterns kept in the cache */
+  private static final long MAX_CACHED_CELLS = 1L << 24;
+
+  private static PatternLibrary instance;
+
+  /** the library of the patterns shipped with the game, its index is read on first use */
+  public static synchronized PatternLibrary getInstance() {
+    if (PatternLibrary.instance == null) {
+      PatternLibrary.instance = new PatternLibrary(PatternLibrary.DEFAULT_INDEX);
+    }
+    return PatternLibrary.instance;
+  }
+
+  private final String directory;
+  /** entries sorted by their lower case name */
+  private final PatternEntry[] entries;
+  private final String[] keys;
+  private final Map<String, List<PatternEntry>> categories = new LinkedHashMap<>();
+  private final LinkedHashMap<String, BitPattern> cache = new LinkedHashMap<>(16, 0.75f, true);
+  private long cachedCells = 0L;
+
+  /** read the index at the given resource path */
+  public PatternLibrary(final String index) {
+    this.directory = index.substring(0, index.lastIndexOf('/') + 1);
+    final var entries = new ArrayList<PatternEntry>();
+    try (final var reader = PatternLibrary.open(index)) {
+      String line;
+      var lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        ++lineNumber;
+        if (line.isBlank() || line.startsWith("#")) {
+          continue;
+        }
+        final var fields = line.split("\t");
+        if (fields.length != 6) {
+          throw new IllegalArgumentException(
+              String.format("%s:%d: expected 6 fields, got %d", index, lineNumber, fields.length));
+        }
+        try {
+          entries.add(
+              new PatternEntry(
+                  fields[0],
+                  fields[1],
+                  Integer.parseInt(fields[2]),
+                  Integer.parseInt(fields[3]),
+                  Integer.parseInt(fields[4]),
+                  fields[5]));
+        } catch (final IllegalArgumentException e) {
+          throw new IllegalArgumentException(
+              String.format("%s:%d: %s", index, lineNumber, e.getMessage()), e);
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    for (final var entry : entries) {
+      this.categories.computeIfAbsent(entry.category(), c -> new ArrayList<>()).add(entry);
+    }
+    entries.sort(Comparator.comparing(e -> PatternLibrary.key(e.name())));
+    this.entries = entries.toArray(new PatternEntry[0]);
+    this.keys = new String[this.entries.length];
+    for (var i = 0; i < this.entries.length; ++i) {
+      this.keys[i] = PatternLibrary.key(this.entries[i].name());
+      if (i > 0 && this.keys[i].equals(this.keys[i - 1])) {
+        throw new IllegalArgumentException(index + ": duplicate pattern " + this.entries[i].name());
+      }
+    }
+  }
+
+  /** number of patterns in the library */
+  public int size() {
+    return this.entries.length;
+  }
+
+  /** all patterns sorted by name */
+  public List<PatternEntry> getEntries() {
+    return Collections.unmodifiableList(Arrays.asList(this.entries));
+  }
+
+  /** the categories in the order of the index */
+  public List<String> getCategories() {
+    return List.copyOf(this.categories.keySet());
+  }
+
+  /** the patterns of a category in the order of the index */
+  public List<PatternEntry> getCategory(final String category) {
+    return Collections.unmodifiableList(this.categories.getOrDefault(category, List.of()));
+  }
+
+  /** pattern with the given name ignoring case, null if there is none */
+  public PatternEntry find(final String name) {
+    final var i = Arrays.binarySearch(this.keys, PatternLibrary.key(name));
+    return i < 0 ? null : this.entries[i];
+  }
+
+  /** up to limit patterns whose name starts with the prefix ignoring case, sorted by name */
+  public List<PatternEntry> search(final String prefix, final int limit) {
+    final var key = PatternLibrary.key(prefix);
+    final var found = Arrays.binarySearch(this.keys, key);
+    final var result = new ArrayList<PatternEntry>();
+    for (var i = found < 0 ? -found - 1 : found;
+        i < this.keys.length && result.size() < limit && this.keys[i].startsWith(key);
+        ++i) {
+      result.add(this.entries[i]);
+    }
+    return result;
+  }
+
+  /** the compiled cells of a pattern, read from its file if they are not cached */
+  public synchronized BitPattern load(final PatternEntry entry) {
+    final var cached = this.cache.get(entry.file());
+    if (cached != null) {
+      return cached;
+    }
+    final BitPattern pattern;
+    try (final var reader = PatternLibrary.open(this.directory + entry.file())) {
+      pattern = PatternLibrary.parseRle(reader, entry.width(), entry.height());
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    this.cache.put(entry.file(), pattern);
+    this.cachedCells += PatternLibrary.cells(pattern);
+    // keep at least the pattern just loaded
+    final var it = this.cache.values().iterator();
+    while (this.cachedCells > PatternLibrary.MAX_CACHED_CELLS && this.cache.size() > 1) {
+      this.cachedCells -= PatternLibrary.cells(it.next());
+      it.remove();
+    }
+    return pattern;
+  }
+
+  /**
+   * Parse a pattern in RLE format, "b" and "." are dead, every other letter is alive.
+   *
+   * <p>The bounding box is the larger one of the header and the given size.
+   */
+  public static BitPattern parseRle(final BufferedReader reader, final int width, final int height)
+      throws IOException {
+    var w = width;
+    var h = height;
+    final var body = new StringBuilder();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      if (body.length() == 0 && line.startsWith("x")) {
+        for (final var field : line.split(",")) {
+          final var pair = field.split("=");
+          if (pair.length != 2) {
+            continue;
+          }
+          switch (pair[0].trim()) {
+            case "x" -> w = Math.max(w, Integer.parseInt(pair[1].trim()));
+            case "y" -> h = Math.max(h, Integer.parseInt(pair[1].trim()));
+            default -> {}
+          }
+        }
+        continue;
+      }
+      body.append(line);
+    }
+    final var wordsPerRow = (w + 63) >> 6;
+    final var words = new long[wordsPerRow * h];
+    var x = 0;
+    var y = 0;
+    var run = 0;
+    for (var i = 0; i < body.length(); ++i) {
+      final var c = body.charAt(i);
+      if (c >= '0' && c <= '9') {
+        run = run * 10 + (c - '0');
+        continue;
+      }
+      final var count = Math.max(run, 1);
+      run = 0;
+      if (c == '!') {
+        break;
+      } else if (c == '$') {
+        y += count;
+        x = 0;
+      } else if (c == 'b' || c == '.') {
+        x += count;
+      } else if (Character.isLetter(c)) {
+        if (x + count > w || y >= h) {
+          throw new IllegalArgumentException("the pattern is larger than its bounding box");
+        }
+        for (var n = 0; n < count; ++n, ++x) {
+          words[y * wordsPerRow + (x >> 6)] |= 1L << x;
+        }
+      } else if (!Character.isWhitespace(c)) {
+        throw new IllegalArgumentException("invalid character " + c + " in pattern");
+      }
+    }
+    return new BitPattern(w, h, words);
+  }
+
+  private static BufferedReader open(final String resource) throws IOException {
+    final var in = PatternLibrary.class.getResourceAsStream(resource);
+    if (in == null) {
+      throw new IOException("resource " + resource + " not found");
+    }
+    return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+  }
+
+  private static String key(final String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  private static long cells(final BitPattern pattern) {
+    return (long) pattern.getWidth() * pattern.getHeight();
+  }
+}
@@ -0,0 +1,218 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.control_iface.Disposable;
+import de.hhn.gameoflife.control_iface.GenerationListener;
+import de.hhn.gameoflife.data_structures.IntSet;
+import de.hhn.gameoflife.util.AnimationWriter;
+import de.hhn.gameoflife.util.ApngWriter;
+import de.hhn.gameoflife.util.GifSequenceWriter;
+import de.hhn.gameoflife.util.PngFrameWriter;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records generations of a {@link World} into an animation.
+ *
+ * <p>The simulation thread only copies the packed world data into a bounded queue. Encoding happens
+ * on a background thread. If the encoder falls behind, frames are dropped according to the {@link
+ * FrameDropPolicy} instead of blocking the simulation.
+ */
+public class Recorder implements GenerationListener, Disposable {
+  private record Frame(long generation, long[] words) {}
+
+  private final int worldWidth;
+  private final int worldHeight;
+  private final int stride;
+  private final int every;
+  private final FrameDropPolicy policy;
+  private final LinkedBlockingDeque<Frame> queue;
+  private final AnimationWriter writer;
+  private final byte[] packed;
+  private final Thread encoder;
+  private volatile boolean running = true;
+  private volatile long dropped = 0;
+  private volatile long written = 0;
+  private volatile IOException error;
+  private boolean disposed = false;
+  /** generation of the previous call, a batch of generations may skip the recorded one */
+  private long previous = Long.MIN_VALUE;
+
+  /**
+   * Create a recorder and start its encoder thread.
+   *
+   * @param settings the settings of the recorded world
+   * @param file target file, or target directory for {@link RecordingFormat#PNG_FRAMES}
+   * @param format output format
+   * @param aliveColor rgb color of living cells
+   * @param deadColor rgb color of dead cells
+   * @param every record every n-th generation
+   * @param capacity maximum number of frames waiting for the encoder
+   * @param policy what to do if the queue is full
+   * @param delayMs display time of one frame in the animation
+   */
+  public Recorder(
+      final Settings settings,
+      final File file,
+      final RecordingFormat format,
+      final int aliveColor,
+      final int deadColor,
+      final int every,
+      final int capacity,
+      final FrameDropPolicy policy,
+      final int delayMs)
+      throws IOException {
+    if (every <= 0) {
+      throw new IllegalArgumentException("every must be greater than 0");
+    }
+    this.worldWidth = settings.worldWidth();
+    this.worldHeight = settings.worldHeight();
+    this.stride = (this.worldWidth + 7) >> 3;
+    this.every = every;
+    this.policy = policy;
+    this.queue = new LinkedBlockingDeque<>(capacity);
+    this.packed = new byte[this.stride * this.worldHeight];
+    this.writer =
+        switch (format) {
+          case GIF -> new GifSequenceWriter(
+              file, this.worldWidth, this.worldHeight, aliveColor, deadColor, delayMs);
+          case APNG -> new ApngWriter(
+              file, this.worldWidth, this.worldHeight, aliveColor, deadColor, delayMs);
+          case PNG_FRAMES -> new PngFrameWriter(
+              file, this.worldWidth, this.worldHeight, aliveColor, deadColor);
+        };
+    this.encoder = new Thread(this::encode, "recorder");
+    this.encoder.setDaemon(true);
+    this.encoder.start();
+  }
+
+  @Override
+  public void onGeneration(final long generation, final IntSet data) {
+    final var previous = this.previous == Long.MIN_VALUE ? generation - 1 : this.previous;
+    this.previous = generation;
+    if (!this.running
+        || Math.floorDiv(generation, this.every) == Math.floorDiv(previous, this.every)) {
+      return;
+    }
+    // don't copy the world if the frame would be thrown away anyway
+    if (this.policy == FrameDropPolicy.DROP_NEWEST && this.queue.remainingCapacity() == 0) {
+      ++this.dropped;
+      return;
+    }
+    final var frame = new Frame(generation, data.toLongArray());
+    while (!this.queue.offerLast(frame)) {
+      switch (this.policy) {
+        case DROP_NEWEST -> {
+          ++this.dropped;
+          return;
+        }
+        case DROP_OLDEST -> {
+          if (this.queue.pollFirst() != null) {
+            ++this.dropped;
+          }
+        }
+        case COALESCE -> {
+          if (this.queue.pollLast() != null) {
+            ++this.dropped;
+          }
+        }
+      }
+    }
+  }
+
+  /** encoder thread main loop */
+  private void encode() {
+    try {
+      while (this.running || !this.queue.isEmpty()) {
+        final var frame = this.queue.poll(100, TimeUnit.MILLISECONDS);
+        if (frame == null) {
+          continue;
+        }
+        this.pack(frame.words());
+        this.writer.writeFrame(this.packed);
+        ++this.written;
+      }
+    } catch (final InterruptedException e) {
+      // stop encoding
+    } catch (final IOException e) {
+      this.error = e;
+    } finally {
+      this.running = false;
+      this.queue.clear();
+      try {
+        this.writer.close();
+      } catch (final IOException e) {
+        if (this.error == null) {
+          this.error = e;
+        }
+      }
+    }
+  }
+
+  /** convert the world bits (lsb first) to 1 bit image rows (msb first) */
+  private void pack(final long[] words) {
+    if ((this.worldWidth & 63) == 0) {
+      var p = 0;
+      for (var w = 0; w < this.packed.length >> 3; ++w) {
+        final var word = w < words.length ? words[w] : 0L;
+        for (var b = 0; b < 64; b += 8) {
+          this.packed[p++] = (byte) (Integer.reverse((int) (word >>> b) & 0xff) >>> 24);
+        }
+      }
+      return;
+    }
+    for (var y = 0; y < this.worldHeight; ++y) {
+      for (var x = 0; x < this.stride << 3; x += 8) {
+        var b = 0;
+        for (var bit = 0; bit < 8; ++bit) {
+          final var cx = x + bit;
+          if (cx >= this.worldWidth) {
+            break;
+          }
+          final var i = y * this.worldWidth + cx;
+          final var w = i >> 6;
+          if (w < words.length && ((words[w] >>> i) & 1L) != 0) {
+            b |= 0x80 >> bit;
+          }
+        }
+        this.packed[y * this.stride + (x >> 3)] = (byte) b;
+      }
+    }
+  }
+
+  /** Is the recorder still accepting frames */
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /** Number of frames that were dropped because the encoder was too slow */
+  public long getDropped() {
+    return this.dropped;
+  }
+
+  /** Number of frames written */
+  public long getWritten() {
+    return this.written;
+  }
+
+  /** Get the error that stopped the encoder, null if there was none */
+  public IOException getError() {
+    return this.error;
+  }
+
+  /** stop recording, encode the queued frames and close the output */
+  @Override
+  public void dispose() {
+    if (this.disposed) {
+      return;
+    }
+    this.disposed = true;
+    this.running = false;
+    try {
+      this.encoder.join();
+    } catch (final InterruptedException e) {
+      this.encoder.interrupt();
+    }
+  }
+}
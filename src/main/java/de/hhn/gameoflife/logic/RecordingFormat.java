@@ -0,0 +1,18 @@
+package de.hhn.gameoflife.logic;
+
+/** Output formats of the {@link Recorder}. */
+public enum RecordingFormat {
+  GIF("Animated GIF"),
+  APNG("Animated PNG"),
+  PNG_FRAMES("PNG Frames");
+
+  private final String name;
+
+  RecordingFormat(final String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+}
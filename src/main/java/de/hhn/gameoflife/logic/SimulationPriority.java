@@ -0,0 +1,24 @@
+package de.hhn.gameoflife.logic;
+
+/** Scheduling priority of a world, higher weights get a bigger share of the workers. */
+public enum SimulationPriority {
+  LOW("Low", 256),
+  NORMAL("Normal", 1024),
+  HIGH("High", 4096);
+
+  private final String name;
+  private final int weight;
+
+  SimulationPriority(final String name, final int weight) {
+    this.name = name;
+    this.weight = weight;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  public int getWeight() {
+    return this.weight;
+  }
+}
@@ -0,0 +1,280 @@
+package de.hhn.gameoflife.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Process wide scheduler that runs all worlds on a fixed set of worker threads.
+ *
+ * <p>Due tasks are picked by the smallest virtual runtime, which grows by the time a task ran
+ * divided by its {@link SimulationPriority} weight. That gives every instance a fair share of the
+ * workers. A token bucket limits the total worker time to the configured CPU budget.
+ *
+ * <p>Waking the workers never takes a lock, so it is safe to call from the EDT.
+ */
+public class SimulationScheduler {
+  /** time before a deadline that is spun instead of parked */
+  private static final long SPIN_NANOS = 50_000L;
+
+  /** worker time that may be used at once before the budget applies */
+  private static final long BUDGET_BURST = 100_000_000L;
+
+  /** maximum virtual runtime a task can be behind the others, limits bursts after idling */
+  private static final double MAX_LAG = 50_000_000d;
+
+  /** time over which the load of a task is measured */
+  private static final long LOAD_WINDOW = 1_000_000_000L;
+
+  private static SimulationScheduler instance;
+
+  /** Get the scheduler, it is created on first use */
+  public static synchronized SimulationScheduler getInstance() {
+    if (SimulationScheduler.instance == null) {
+      SimulationScheduler.instance =
+          new SimulationScheduler(
+              Runtime.getRuntime().availableProcessors(),
+              Double.parseDouble(System.getProperty("gameoflife.cpuBudget", "1")));
+    }
+    return SimulationScheduler.instance;
+  }
+
+  private static final class Entry {
+    private final SimulationTask task;
+    private double vruntime;
+    private boolean running = false;
+    private long windowStart = System.nanoTime();
+    private long windowBusy = 0L;
+    private volatile double load = 0d;
+
+    private Entry(final SimulationTask task, final double vruntime) {
+      this.task = task;
+      this.vruntime = vruntime;
+    }
+  }
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition sliceFinished = this.lock.newCondition();
+  private final List<Entry> entries = new ArrayList<>();
+  private final Thread[] workers;
+  private final ForkJoinPool computePool;
+  private final ScheduledExecutorService timer;
+  private volatile double cpuBudget;
+  private double tokens;
+  private long lastRefill = System.nanoTime();
+  private double minVruntime = 0d;
+
+  private SimulationScheduler(final int workerCount, final double cpuBudget) {
+    this.cpuBudget = Math.max(0.01d, cpuBudget);
+    this.computePool = new ForkJoinPool(workerCount);
+    this.timer =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              final var thread = new Thread(r, "simulation-timer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.workers = new Thread[Math.max(1, workerCount)];
+    this.tokens = this.rate() * SimulationScheduler.BUDGET_BURST;
+    for (var i = 0; i < this.workers.length; ++i) {
+      this.workers[i] = new Thread(this::work, "simulation-worker-" + i);
+      this.workers[i].setDaemon(true);
+      this.workers[i].start();
+    }
+  }
+
+  /** Pool for the parallel parts of a single tick */
+  public ForkJoinPool getComputePool() {
+    return this.computePool;
+  }
+
+  /** Shared timer for small periodic jobs like the snake game */
+  public ScheduledExecutorService getTimer() {
+    return this.timer;
+  }
+
+  /** Number of worker threads */
+  public int getWorkerCount() {
+    return this.workers.length;
+  }
+
+  /** Set the share of all workers that may be used, 1 is all of them */
+  public void setCpuBudget(final double cpuBudget) {
+    this.cpuBudget = Math.max(0.01d, cpuBudget);
+    this.wake();
+  }
+
+  public double getCpuBudget() {
+    return this.cpuBudget;
+  }
+
+  /** start scheduling the given task */
+  public void register(final SimulationTask task) {
+    this.lock.lock();
+    try {
+      this.entries.add(new Entry(task, this.minVruntime));
+    } finally {
+      this.lock.unlock();
+    }
+    this.wake();
+  }
+
+  /** stop scheduling the given task and wait until its current slice is finished */
+  public void unregister(final SimulationTask task) {
+    this.lock.lock();
+    try {
+      final var entry = this.find(task);
+      if (entry == null) {
+        return;
+      }
+      this.entries.remove(entry);
+      while (entry.running) {
+        this.sliceFinished.awaitUninterruptibly();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /** tell the workers that a task may have become due, lock free */
+  public void wake() {
+    for (final var worker : this.workers) {
+      LockSupport.unpark(worker);
+    }
+  }
+
+  /** Get the share of one core the task used during the last second */
+  public double getLoad(final SimulationTask task) {
+    this.lock.lock();
+    try {
+      final var entry = this.find(task);
+      if (entry == null
+          || System.nanoTime() - entry.windowStart > 2 * SimulationScheduler.LOAD_WINDOW) {
+        return 0d;
+      }
+      return entry.load;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private Entry find(final SimulationTask task) {
+    for (final var entry : this.entries) {
+      if (entry.task == task) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /** budget refill rate in worker nanoseconds per nanosecond */
+  private double rate() {
+    return this.cpuBudget * this.workers.length;
+  }
+
+  /** worker main loop */
+  private void work() {
+    while (true) {
+      Entry entry = null;
+      var wait = Long.MAX_VALUE;
+      this.lock.lock();
+      try {
+        final var now = System.nanoTime();
+        final var rate = this.rate();
+        this.tokens =
+            Math.min(
+                this.tokens + (now - this.lastRefill) * rate,
+                rate * SimulationScheduler.BUDGET_BURST);
+        this.lastRefill = now;
+        if (this.tokens < 0d) {
+          // budget is used up
+          wait = (long) (-this.tokens / rate);
+        } else {
+          for (final var e : this.entries) {
+            if (e.running) {
+              continue;
+            }
+            final var due = e.task.nanosUntilDue(now);
+            if (due > 0L) {
+              wait = Math.min(wait, due);
+            } else if (entry == null || e.vruntime < entry.vruntime) {
+              entry = e;
+            }
+          }
+          if (entry != null) {
+            entry.running = true;
+            entry.vruntime =
+                Math.max(entry.vruntime, this.minVruntime - SimulationScheduler.MAX_LAG);
+            this.minVruntime = Math.max(this.minVruntime, entry.vruntime);
+          }
+        }
+      } finally {
+        this.lock.unlock();
+      }
+
+      if (entry == null) {
+        if (wait == Long.MAX_VALUE) {
+          LockSupport.park(this);
+        } else if (wait > SimulationScheduler.SPIN_NANOS) {
+          LockSupport.parkNanos(this, wait - SimulationScheduler.SPIN_NANOS);
+        } else {
+          Thread.onSpinWait();
+        }
+        continue;
+      }
+
+      final var start = System.nanoTime();
+      // only a slice that returns or is interrupted keeps its task, an Error drops it as well
+      var failed = true;
+      try {
+        entry.task.runSlice();
+        failed = false;
+      } catch (final InterruptedException e) {
+        // the task was interrupted, it will be asked again
+        failed = false;
+      } catch (final RuntimeException e) {
+        // a broken task must not keep a worker busy
+        e.printStackTrace();
+      } finally {
+        // unregister waits for the slice, so it has to be marked finished even after an Error
+        this.finishSlice(entry, start, failed);
+      }
+    }
+  }
+
+  /** mark the slice of the entry as finished and charge its time to the entry */
+  private void finishSlice(final Entry entry, final long start, final boolean failed) {
+    final var end = System.nanoTime();
+    final var elapsed = end - start;
+
+    this.lock.lock();
+    try {
+      entry.running = false;
+      if (failed) {
+        this.entries.remove(entry);
+      }
+      this.sliceFinished.signalAll();
+      entry.vruntime +=
+          (double) elapsed
+              * SimulationPriority.NORMAL.getWeight()
+              / entry.task.getPriority().getWeight();
+      // a slice that blocked for long, like starting worker processes, must not starve all
+      // tasks for as long, so the debt is limited to one burst
+      this.tokens =
+          Math.max(this.tokens - elapsed, -this.rate() * SimulationScheduler.BUDGET_BURST);
+      entry.windowBusy += elapsed;
+      if (end - entry.windowStart >= SimulationScheduler.LOAD_WINDOW) {
+        entry.load = (double) entry.windowBusy / (end - entry.windowStart);
+        entry.windowBusy = 0L;
+        entry.windowStart = end;
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+}
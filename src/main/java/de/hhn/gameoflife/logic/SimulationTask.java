@@ -0,0 +1,20 @@
+package de.hhn.gameoflife.logic;
+
+/** Work that is multiplexed onto the workers of the {@link SimulationScheduler}. */
+public interface SimulationTask {
+  /**
+   * Get the time until the task wants to run again.
+   *
+   * <p>Only called by one scheduler worker at a time.
+   *
+   * @param now current {@link System#nanoTime()}
+   * @return nanoseconds to wait, zero or less if due, {@link Long#MAX_VALUE} if idle
+   */
+  long nanosUntilDue(final long now);
+
+  /** run one slice of work, never called concurrently for the same task */
+  void runSlice() throws InterruptedException;
+
+  /** share of the scheduler this task gets relative to other due tasks */
+  SimulationPriority getPriority();
+}
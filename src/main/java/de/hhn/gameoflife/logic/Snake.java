@@ -3,16 +3,17 @@ package de.hhn.gameoflife.logic;
 import de.hhn.gameoflife.control_iface.Disposable;
 import de.hhn.gameoflife.control_iface.Drawable;
 import de.hhn.gameoflife.data_structures.IntSet;
-import de.hhn.gameoflife.data_structures.RingBuffer;
+import de.hhn.gameoflife.data_structures.IntRingBuffer;
+import de.hhn.gameoflife.events.SnakeTickEvent;
 import de.hhn.gameoflife.ui.Alert;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
 
 public class Snake implements Disposable {
   public static class SnakeKeyListener extends KeyAdapter {
@@ -30,13 +31,13 @@ public class Snake implements Disposable {
   }
 
   public static final Set<Snake> snakes = new HashSet<>();
-  private final RingBuffer<Integer> positions;
+  private final IntRingBuffer positions;
   private Direction direction;
   private boolean active = true;
   private final int worldWidth;
   private final int worldHeight;
-  private Consumer<Iterable<Integer>> onChangeConsumer;
-  private final ScheduledExecutorService sheduler;
+  private Consumer<IntRingBuffer> onChangeConsumer;
+  private final ScheduledFuture<?> tickTask;
   private boolean disposed = false;
   private final World world;
   private final Drawable<IntSet> worldUI;
@@ -46,14 +47,17 @@ public class Snake implements Disposable {
     this.worldHeight = settings.worldHeight();
     this.world = world;
     this.worldUI = worldUI;
-    this.positions = new RingBuffer<>(4);
+    this.positions = new IntRingBuffer(4);
     this.reset();
     Snake.snakes.add(this);
-    this.sheduler = Executors.newScheduledThreadPool(1);
-    this.sheduler.scheduleWithFixedDelay(this::tick, 400, 400, TimeUnit.MILLISECONDS);
+    // the snake only moves every 400ms, so it shares one timer thread with all other snakes
+    this.tickTask =
+        SimulationScheduler.getInstance()
+            .getTimer()
+            .scheduleWithFixedDelay(this::tick, 400, 400, TimeUnit.MILLISECONDS);
   }
 
-  public void reset() {
+  public synchronized void reset() {
     this.positions.clear();
     this.positions.add(0);
     this.direction = Direction.RIGHT;
@@ -64,13 +68,26 @@ public class Snake implements Disposable {
     this.active = true;
   }
 
-  public void tick() {
-    if (!this.active) {
+  public synchronized void tick() {
+    if (!this.active || this.disposed) {
       return;
     }
-    for (final var el : this.positions) {
-      if (this.world.getWorldData().contains(el)) {
-        Alert.show("Game over", "You were eaten up by the evil cells", null);
+    final var event = new SnakeTickEvent();
+    event.begin();
+    this.move();
+    event.end();
+    if (event.shouldCommit()) {
+      event.gameOver = !this.active;
+      event.head = this.active ? this.positions.getHead() : -1;
+      event.commit();
+    }
+  }
+
+  /** move the snake one cell into its direction */
+  private void move() {
+    for (var i = 0; i < this.positions.size(); ++i) {
+      if (this.world.getWorldData().contains(this.positions.get(i))) {
+        Snake.showGameOver("You were eaten up by the evil cells");
         this.positions.clear();
         this.active = false;
         this.onChangeConsumer.accept(this.positions);
@@ -99,8 +116,7 @@ public class Snake implements Disposable {
     if (this.positions.contains(newHead)) {
       // bite yourself
       this.active = false;
-      Alert.show("Game over", "You bit yourself!", null);
-      this.active = false;
+      Snake.showGameOver("You bit yourself!");
       this.positions.clear();
     } else {
       this.positions.add(newHead);
@@ -108,7 +124,13 @@ public class Snake implements Disposable {
     this.onChangeConsumer.accept(this.positions);
   }
 
-  public void onChange(final Consumer<Iterable<Integer>> consumer) {
+  /** the modal alert blocks, so it is shown on the event dispatch thread and not on the timer */
+  private static void showGameOver(final String message) {
+    SwingUtilities.invokeLater(() -> Alert.show("Game over", message, null));
+  }
+
+  /** the consumer is called with the positions from the tail to the head after every move */
+  public synchronized void onChange(final Consumer<IntRingBuffer> consumer) {
     this.onChangeConsumer = consumer;
     consumer.accept(this.positions);
   }
@@ -117,13 +139,14 @@ public class Snake implements Disposable {
     this.direction = direction;
   }
 
+  /** stop moving, a running tick is finished first so the world can be disposed afterwards */
   @Override
-  public void dispose() {
+  public synchronized void dispose() {
     if (this.disposed) {
       return;
     }
     this.disposed = true;
-    this.sheduler.shutdown();
+    this.tickTask.cancel(false);
     Snake.snakes.remove(this);
   }
 }
\ No newline at end of file
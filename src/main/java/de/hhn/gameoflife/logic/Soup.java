@@ -0,0 +1,19 @@
+package de.hhn.gameoflife.logic;
+
+/**
+ * Describes how a world is filled with random cells.
+ *
+ * @param seed the same seed always creates the same world
+ * @param density share of living cells, between 0 and 1
+ * @param fillMode which part of the world is filled
+ */
+public record Soup(long seed, double density, FillMode fillMode) {
+  public Soup {
+    if (!(density >= 0d && density <= 1d)) {
+      throw new IllegalArgumentException("density must be between 0 and 1");
+    }
+    if (fillMode == null) {
+      throw new IllegalArgumentException("fillMode must not be null");
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.data_structures.IntSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Fills world data with random cells, 64 cells at once.
+ *
+ * <p>Every word gets its own SplitMix64 stream derived from the seed and the word index, so the
+ * words can be filled in any order and on any number of threads and still give the same world.
+ * The density is built from the binary expansion of its 16 bit fixed point value: starting at the
+ * lowest set bit, a set bit ORs and a clear bit ANDs another random word, which sets every cell
+ * with exactly the wanted probability. 50% needs one random word, 25% two.
+ */
+public class SoupGenerator {
+  /** fractional bits of the density */
+  private static final int DENSITY_BITS = 16;
+
+  /** smaller worlds are filled on the calling thread */
+  private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  private final int worldWidth;
+  private final int worldHeight;
+  private final int logWorldWidth;
+  private final ForkJoinPool pool;
+
+  public SoupGenerator(final Settings settings, final ForkJoinPool pool) {
+    this.worldWidth = settings.worldWidth();
+    this.worldHeight = settings.worldHeight();
+    this.logWorldWidth = Integer.numberOfTrailingZeros(this.worldWidth);
+    this.pool = pool;
+  }
+
+  /**
+   * Overwrite the data with a new random soup.
+   *
+   * @return the number of living cells
+   */
+  public long fill(final IntSet data, final Soup soup) {
+    final var fixedDensity = SoupGenerator.fixedDensity(soup.density());
+    final var wordCount = data.wordCount();
+    final var words =
+        IntStream.range(0, wordCount)
+            .mapToLong(
+                w -> {
+                  final var word = this.word(w, soup, fixedDensity);
+                  data.setWord(w, word);
+                  return Long.bitCount(word);
+                });
+    if (wordCount < SoupGenerator.PARALLEL_THRESHOLD) {
+      return words.sum();
+    }
+    return this.pool.submit(() -> words.parallel().sum()).join();
+  }
+
+  /** Density as a fixed point value for {@link #randomWord} */
+  public static long fixedDensity(final double density) {
+    return Math.round(density * (1 << SoupGenerator.DENSITY_BITS));
+  }
+
+  /** Random word with the given density from the stream of the word index */
+  public static long randomWord(final long w, final long seed, final long fixedDensity) {
+    if (fixedDensity <= 0L) {
+      return 0L;
+    }
+    if (fixedDensity >= 1L << SoupGenerator.DENSITY_BITS) {
+      return -1L;
+    }
+    var state = SoupGenerator.mix64(seed ^ SoupGenerator.mix64(w * SoupGenerator.GOLDEN_GAMMA));
+    var word = 0L;
+    for (var bit = Long.numberOfTrailingZeros(fixedDensity);
+        bit < SoupGenerator.DENSITY_BITS;
+        ++bit) {
+      state += SoupGenerator.GOLDEN_GAMMA;
+      final var random = SoupGenerator.mix64(state);
+      word = (fixedDensity & (1L << bit)) != 0L ? word | random : word & random;
+    }
+    return word;
+  }
+
+  /** Content of the word at the given index for the fill mode */
+  private long word(final int w, final Soup soup, final long fixedDensity) {
+    return switch (soup.fillMode()) {
+      case RANDOM -> SoupGenerator.randomWord(w, soup.seed(), fixedDensity);
+      case SYMMETRIC -> this.symmetricWord(w, soup.seed(), fixedDensity);
+      case CENTER_SQUARE ->
+          SoupGenerator.randomWord(w, soup.seed(), fixedDensity) & this.centerSquareMask(w);
+    };
+  }
+
+  /** Word of a world whose right half mirrors its left half */
+  private long symmetricWord(final int w, final long seed, final long fixedDensity) {
+    if (this.worldWidth > 64) {
+      // words do not cross rows, the right half is made of reversed words of the left half
+      final var wordsPerRow = this.worldWidth >> 6;
+      final var column = w & (wordsPerRow - 1);
+      if (column < wordsPerRow >> 1) {
+        return SoupGenerator.randomWord(w, seed, fixedDensity);
+      }
+      final var mirrored = w - column + (wordsPerRow - 1 - column);
+      return Long.reverse(SoupGenerator.randomWord(mirrored, seed, fixedDensity));
+    }
+    if (this.worldWidth == 64) {
+      // the word is a whole row, its high half is the reversed low half
+      final var random = SoupGenerator.randomWord(w, seed, fixedDensity);
+      return (random & 0xFFFFFFFFL) | (Long.reverse(random) & 0xFFFFFFFF00000000L);
+    }
+    // several rows share one word, mirror inside every row
+    final var random = SoupGenerator.randomWord(w, seed, fixedDensity);
+    var word = 0L;
+    for (var b = 0; b < 64; ++b) {
+      final var x = b & (this.worldWidth - 1);
+      final var source = x < this.worldWidth >> 1 ? b : b - x + (this.worldWidth - 1 - x);
+      word |= ((random >>> source) & 1L) << b;
+    }
+    return word;
+  }
+
+  /** Cells of the word inside the centered square */
+  private long centerSquareMask(final int w) {
+    final var side = Math.min(this.worldWidth, this.worldHeight) >> 1;
+    final var left = (this.worldWidth - side) >> 1;
+    final var top = (this.worldHeight - side) >> 1;
+    final var base = w << 6;
+    if (this.worldWidth >= 64) {
+      // the word is a part of a single row, or the whole row at a width of 64
+      final var y = base >>> this.logWorldWidth;
+      if (y < top || y >= top + side) {
+        return 0L;
+      }
+      final var x = base & (this.worldWidth - 1);
+      final var from = Math.max(left - x, 0);
+      final var to = Math.min(left + side - x, 64);
+      if (from >= to) {
+        return 0L;
+      }
+      return (to == 64 ? -1L : (1L << to) - 1L) & (-1L << from);
+    }
+    var mask = 0L;
+    for (var b = 0; b < 64; ++b) {
+      final var index = base + b;
+      final var x = index & (this.worldWidth - 1);
+      final var y = index >>> this.logWorldWidth;
+      if (x >= left && x < left + side && y >= top && y < top + side) {
+        mask |= 1L << b;
+      }
+    }
+    return mask;
+  }
+}
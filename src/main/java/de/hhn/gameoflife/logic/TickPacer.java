@@ -0,0 +1,125 @@
+package de.hhn.gameoflife.logic;
+
+/**
+ * Paces the ticks of a world to a target number of generations per second.
+ *
+ * <p>Deadlines are absolute, so the time spent in a tick does not add up as drift. The waiting
+ * itself is done by the {@link SimulationScheduler}. A target rate of zero or less means
+ * unthrottled.
+ */
+public class TickPacer {
+  /** weight of the newest tick interval in the achieved rate */
+  private static final double RATE_SMOOTHING = 0.1d;
+
+  private volatile long period = 0L;
+  private volatile CatchUpPolicy policy = CatchUpPolicy.SKIP;
+  private volatile int maxBurst = 4;
+  private long deadline;
+  private volatile boolean started = false;
+  private long lastTick = 0L;
+  private volatile double avgInterval = 0d;
+
+  public TickPacer(final double targetTps) {
+    this.setTargetTps(targetTps);
+  }
+
+  /** Set the target rate in generations per second, zero or less is unthrottled */
+  public void setTargetTps(final double tps) {
+    this.period = tps <= 0d ? 0L : Math.round(1_000_000_000d / tps);
+    this.started = false;
+  }
+
+  /** Get the target rate in generations per second, zero if unthrottled */
+  public double getTargetTps() {
+    final var p = this.period;
+    return p == 0L ? 0d : 1_000_000_000d / p;
+  }
+
+  /** Get the target time between two ticks in nanoseconds, zero if unthrottled */
+  public long getPeriod() {
+    return this.period;
+  }
+
+  public boolean isUnthrottled() {
+    return this.period == 0L;
+  }
+
+  public void setCatchUpPolicy(final CatchUpPolicy policy) {
+    this.policy = policy;
+  }
+
+  public CatchUpPolicy getCatchUpPolicy() {
+    return this.policy;
+  }
+
+  /** Set how many periods {@link CatchUpPolicy#BURST} may fall behind before skipping */
+  public void setMaxBurst(final int maxBurst) {
+    this.maxBurst = Math.max(1, maxBurst);
+  }
+
+  /** Get the achieved rate in generations per second */
+  public double getAchievedTps() {
+    final var avg = this.avgInterval;
+    return avg == 0d ? 0d : 1_000_000_000d / avg;
+  }
+
+  /** forget the current deadline, the next tick is due immediately */
+  public void reset() {
+    this.started = false;
+    this.lastTick = 0L;
+  }
+
+  /**
+   * Get the time until the next tick is due.
+   *
+   * @param now current {@link System#nanoTime()}
+   * @return nanoseconds to wait, zero or less if the tick is due
+   */
+  public long nanosUntilDue(final long now) {
+    if (!this.started) {
+      this.started = true;
+      this.deadline = now;
+      return 0L;
+    }
+    if (this.period == 0L) {
+      return 0L;
+    }
+    return this.deadline - now;
+  }
+
+  /**
+   * Move the deadline after a tick finished.
+   *
+   * @param now {@link System#nanoTime()} at the end of the tick
+   * @param generations number of generations calculated in the tick
+   */
+  public void onTick(final long now, final int generations) {
+    if (this.lastTick != 0L) {
+      final var interval = (double) (now - this.lastTick) / generations;
+      final var avg = this.avgInterval;
+      this.avgInterval =
+          avg == 0d ? interval : avg + (interval - avg) * TickPacer.RATE_SMOOTHING;
+    }
+    this.lastTick = now;
+
+    final var p = this.period;
+    if (p == 0L) {
+      this.deadline = now;
+      return;
+    }
+    this.deadline += p * generations;
+    final var lag = now - this.deadline;
+    if (lag <= 0L) {
+      return;
+    }
+    switch (this.policy) {
+      case SKIP -> this.deadline = now;
+      case BURST -> {
+        final var maxLag = p * this.maxBurst;
+        if (lag > maxLag) {
+          this.deadline = now - maxLag;
+        }
+      }
+    }
+  }
+}
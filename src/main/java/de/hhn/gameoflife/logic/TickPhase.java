@@ -0,0 +1,29 @@
+package de.hhn.gameoflife.logic;
+
+/** Measured phases of one simulation tick. */
+public enum TickPhase {
+  /** whole tick including all other phases */
+  TOTAL("Total"),
+  /** waiting for the world data semaphore */
+  SEMAPHORE_WAIT("Semaphore Wait"),
+  /** counting the living neighbors of every cell */
+  NEIGHBOR_COUNT("Neighbor Count"),
+  /** applying the rules to the counted neighbors */
+  RULE_APPLY("Rule Apply"),
+  /** writing changed cells into the ui buffer */
+  UI_SET("UI Set"),
+  /** composing the world and overlay buffers */
+  COMPOSE("Compose"),
+  /** drawing the composed buffer onto the screen */
+  DRAW("Draw");
+
+  private final String name;
+
+  TickPhase(final String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+}
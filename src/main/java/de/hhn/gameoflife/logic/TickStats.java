@@ -0,0 +1,262 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.control_iface.Disposable;
+import de.hhn.gameoflife.data_structures.LatencyHistogram;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.ObjectName;
+
+/**
+ * Per world tick statistics.
+ *
+ * <p>Keeps one {@link LatencyHistogram} per {@link TickPhase} and publishes itself as a MXBean
+ * under {@code de.hhn.gameoflife:type=World,...}, so running instances can be watched with
+ * JConsole or any JMX client.
+ */
+public class TickStats implements TickStatsMXBean, Disposable {
+  private static final AtomicInteger instanceCounter = new AtomicInteger();
+
+  /** weight of the newest tick interval in the generations per second average */
+  private static final double RATE_SMOOTHING = 0.05d;
+
+  private static long gcCount() {
+    var sum = 0L;
+    for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      sum += Math.max(0L, gc.getCollectionCount());
+    }
+    return sum;
+  }
+
+  private static long gcTime() {
+    var sum = 0L;
+    for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      sum += Math.max(0L, gc.getCollectionTime());
+    }
+    return sum;
+  }
+
+  /** bytes allocated by the current thread, -1 if not supported by the JVM */
+  private static long currentThreadAllocatedBytes() {
+    if (ManagementFactory.getThreadMXBean()
+        instanceof final com.sun.management.ThreadMXBean threads) {
+      return threads.getCurrentThreadAllocatedBytes();
+    }
+    return -1L;
+  }
+
+  private final int id;
+  private final World world;
+  private final int worldWidth;
+  private final int worldHeight;
+  private final Map<TickPhase, LatencyHistogram> histograms = new EnumMap<>(TickPhase.class);
+  private ObjectName objectName;
+  private volatile long lastGenerationTime = 0L;
+  private volatile double avgGenerationInterval = 0d;
+  private long tickStartAllocatedBytes;
+  private volatile long allocatedBytes = 0L;
+  private long resetGeneration;
+  private long resetGcCount;
+  private long resetGcTime;
+  private long resetAllocatedBytes;
+  private boolean disposed = false;
+
+  public TickStats(final World world, final Settings settings) {
+    this.world = world;
+    this.worldWidth = settings.worldWidth();
+    this.worldHeight = settings.worldHeight();
+    for (final var phase : TickPhase.values()) {
+      this.histograms.put(phase, new LatencyHistogram());
+    }
+    this.id = TickStats.instanceCounter.incrementAndGet();
+    this.reset();
+    try {
+      this.objectName =
+          new ObjectName(
+              String.format(
+                  "de.hhn.gameoflife:type=World,size=%dx%d,id=%d",
+                  this.worldWidth, this.worldHeight, this.id));
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, this.objectName);
+    } catch (final Exception e) {
+      System.err.printf("TickStats: could not register MXBean: %s%n", e.getMessage());
+      this.objectName = null;
+    }
+  }
+
+  /** record the duration of a tick phase in nanoseconds */
+  public void record(final TickPhase phase, final long nanos) {
+    this.histograms.get(phase).record(nanos);
+  }
+
+  /** mark the start of a tick, must be called on the simulation thread */
+  public void beginTick() {
+    this.tickStartAllocatedBytes = TickStats.currentThreadAllocatedBytes();
+  }
+
+  /**
+   * mark the end of a tick that calculated the given number of generations, must be called on the
+   * thread that called beginTick
+   */
+  public void endTick(final long now, final int generations) {
+    if (this.tickStartAllocatedBytes >= 0L) {
+      this.allocatedBytes +=
+          TickStats.currentThreadAllocatedBytes() - this.tickStartAllocatedBytes;
+    }
+    final var last = this.lastGenerationTime;
+    this.lastGenerationTime = now;
+    if (last == 0L) {
+      return;
+    }
+    // turbo ticks calculate several generations, the rate is about generations
+    final var interval = (double) (now - last) / Math.max(generations, 1);
+    final var avg = this.avgGenerationInterval;
+    this.avgGenerationInterval =
+        avg == 0d ? interval : avg + (interval - avg) * TickStats.RATE_SMOOTHING;
+  }
+
+  /** process wide unique id of the world */
+  public int getId() {
+    return this.id;
+  }
+
+  @Override
+  public int getWorldWidth() {
+    return this.worldWidth;
+  }
+
+  @Override
+  public int getWorldHeight() {
+    return this.worldHeight;
+  }
+
+  @Override
+  public long getGeneration() {
+    return this.world.getGeneration();
+  }
+
+  @Override
+  public long getPopulation() {
+    return this.world.getPopulation();
+  }
+
+  @Override
+  public long getBirths() {
+    return this.world.getBirths();
+  }
+
+  @Override
+  public long getDeaths() {
+    return this.world.getDeaths();
+  }
+
+  @Override
+  public boolean isPaused() {
+    return this.world.getPaused();
+  }
+
+  @Override
+  public double getGenerationsPerSecond() {
+    final var avg = this.avgGenerationInterval;
+    if (avg == 0d || this.world.getPaused()) {
+      return 0d;
+    }
+    return 1_000_000_000d / avg;
+  }
+
+  @Override
+  public LatencySnapshot getTotal() {
+    return new LatencySnapshot(this.histograms.get(TickPhase.TOTAL));
+  }
+
+  @Override
+  public LatencySnapshot getSemaphoreWait() {
+    return new LatencySnapshot(this.histograms.get(TickPhase.SEMAPHORE_WAIT));
+  }
+
+  @Override
+  public LatencySnapshot getNeighborCount() {
+    return new LatencySnapshot(this.histograms.get(TickPhase.NEIGHBOR_COUNT));
+  }
+
+  @Override
+  public LatencySnapshot getRuleApply() {
+    return new LatencySnapshot(this.histograms.get(TickPhase.RULE_APPLY));
+  }
+
+  @Override
+  public LatencySnapshot getUiSet() {
+    return new LatencySnapshot(this.histograms.get(TickPhase.UI_SET));
+  }
+
+  @Override
+  public LatencySnapshot getCompose() {
+    return new LatencySnapshot(this.histograms.get(TickPhase.COMPOSE));
+  }
+
+  @Override
+  public LatencySnapshot getDraw() {
+    return new LatencySnapshot(this.histograms.get(TickPhase.DRAW));
+  }
+
+  /** Get the histogram of a phase */
+  public LatencyHistogram getHistogram(final TickPhase phase) {
+    return this.histograms.get(phase);
+  }
+
+  @Override
+  public double getAllocatedBytesPerGeneration() {
+    final var generations = this.world.getGeneration() - this.resetGeneration;
+    if (generations <= 0L) {
+      return 0d;
+    }
+    return (double) (this.allocatedBytes - this.resetAllocatedBytes) / generations;
+  }
+
+  @Override
+  public double getGcCountPerGeneration() {
+    final var generations = this.world.getGeneration() - this.resetGeneration;
+    if (generations <= 0L) {
+      return 0d;
+    }
+    return (double) (TickStats.gcCount() - this.resetGcCount) / generations;
+  }
+
+  @Override
+  public double getGcTimePerGenerationMillis() {
+    final var generations = this.world.getGeneration() - this.resetGeneration;
+    if (generations <= 0L) {
+      return 0d;
+    }
+    return (double) (TickStats.gcTime() - this.resetGcTime) / generations;
+  }
+
+  @Override
+  public synchronized void reset() {
+    for (final var histogram : this.histograms.values()) {
+      histogram.reset();
+    }
+    this.resetGeneration = this.world.getGeneration();
+    this.resetGcCount = TickStats.gcCount();
+    this.resetGcTime = TickStats.gcTime();
+    this.resetAllocatedBytes = this.allocatedBytes;
+  }
+
+  /** unregister the MXBean */
+  @Override
+  public void dispose() {
+    if (this.disposed) {
+      return;
+    }
+    this.disposed = true;
+    if (this.objectName == null) {
+      return;
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+    } catch (final Exception e) {
+      System.err.printf("TickStats: could not unregister MXBean: %s%n", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package de.hhn.gameoflife.logic;
+
+/** JMX view of the statistics of one {@link World}. */
+public interface TickStatsMXBean {
+  int getWorldWidth();
+
+  int getWorldHeight();
+
+  long getGeneration();
+
+  long getPopulation();
+
+  /** cells born in the last generation */
+  long getBirths();
+
+  /** cells that died in the last generation */
+  long getDeaths();
+
+  boolean isPaused();
+
+  double getGenerationsPerSecond();
+
+  LatencySnapshot getTotal();
+
+  LatencySnapshot getSemaphoreWait();
+
+  LatencySnapshot getNeighborCount();
+
+  LatencySnapshot getRuleApply();
+
+  LatencySnapshot getUiSet();
+
+  LatencySnapshot getCompose();
+
+  LatencySnapshot getDraw();
+
+  /** bytes allocated by the simulating thread per generation since the last reset */
+  double getAllocatedBytesPerGeneration();
+
+  /** garbage collections (all collectors) per generation since the last reset */
+  double getGcCountPerGeneration();
+
+  /** milliseconds spent in garbage collection per generation since the last reset */
+  double getGcTimePerGenerationMillis();
+
+  /** forget all recorded values */
+  void reset();
+}
@@ -0,0 +1,104 @@
+package de.hhn.gameoflife.logic;
+
+/**
+ * Conway's rules for 64 cells of a row at once.
+ *
+ * <p>Bit b of a word is the cell x = k * 64 + b of its row, so the west neighbor of a cell is one
+ * bit lower. The eight neighbor words are summed with bit-sliced adders into a ones, twos and "four
+ * or more" bit per cell.
+ */
+public final class WordRule {
+  private WordRule() {}
+
+  /**
+   * Next state of the center word.
+   *
+   * <p>The words left and right of each row only contribute their bit next to the center word.
+   */
+  public static long step(
+      final long upLeft,
+      final long up,
+      final long upRight,
+      final long left,
+      final long alive,
+      final long right,
+      final long downLeft,
+      final long down,
+      final long downRight) {
+    return WordRule.next(
+        alive,
+        (up << 1) | (upLeft >>> 63),
+        up,
+        (up >>> 1) | (upRight << 63),
+        (alive << 1) | (left >>> 63),
+        (alive >>> 1) | (right << 63),
+        (down << 1) | (downLeft >>> 63),
+        down,
+        (down >>> 1) | (downRight << 63));
+  }
+
+  /**
+   * Next state of 64 independent cells.
+   *
+   * <p>Bit b of every neighbor word is one of the eight neighbors of bit b of alive. The 64 cells
+   * may be a row of one world, or the same cell of 64 different worlds.
+   */
+  public static long next(
+      final long alive,
+      final long n0,
+      final long n1,
+      final long n2,
+      final long n3,
+      final long n4,
+      final long n5,
+      final long n6,
+      final long n7) {
+    var ones = 0L;
+    var twos = 0L;
+    var fours = 0L;
+    var carry = 0L;
+
+    carry = ones & n0;
+    ones ^= n0;
+    fours |= twos & carry;
+    twos ^= carry;
+
+    carry = ones & n1;
+    ones ^= n1;
+    fours |= twos & carry;
+    twos ^= carry;
+
+    carry = ones & n2;
+    ones ^= n2;
+    fours |= twos & carry;
+    twos ^= carry;
+
+    carry = ones & n3;
+    ones ^= n3;
+    fours |= twos & carry;
+    twos ^= carry;
+
+    carry = ones & n4;
+    ones ^= n4;
+    fours |= twos & carry;
+    twos ^= carry;
+
+    carry = ones & n5;
+    ones ^= n5;
+    fours |= twos & carry;
+    twos ^= carry;
+
+    carry = ones & n6;
+    ones ^= n6;
+    fours |= twos & carry;
+    twos ^= carry;
+
+    carry = ones & n7;
+    ones ^= n7;
+    fours |= twos & carry;
+    twos ^= carry;
+
+    // two or three neighbors without overflow, three or alive
+    return twos & ~fours & (ones | alive);
+  }
+}
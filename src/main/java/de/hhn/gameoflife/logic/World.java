@@ -1,42 +1,95 @@
 package de.hhn.gameoflife.logic;
 
+import de.hhn.gameoflife.cluster.BandCoordinator;
 import de.hhn.gameoflife.control_iface.Drawable;
+import de.hhn.gameoflife.control_iface.GenerationListener;
+import de.hhn.gameoflife.data_structures.BitPattern;
+import de.hhn.gameoflife.data_structures.CounterGrid;
 import de.hhn.gameoflife.data_structures.IntMap;
+import de.hhn.gameoflife.data_structures.MpscQueue;
+import de.hhn.gameoflife.data_structures.OffHeapArena;
 import de.hhn.gameoflife.data_structures.IntSet;
+import de.hhn.gameoflife.events.SemaphoreContentionEvent;
+import de.hhn.gameoflife.events.TickEvent;
 import de.hhn.gameoflife.ui.FPS;
 import de.hhn.gameoflife.util.Utils;
 import java.awt.image.BufferedImage;
-import java.util.Random;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.SwingUtilities;
 
-public class World {
+public class World implements SimulationTask {
+  /** upper bound of generations per frame in adaptive turbo mode */
+  private static final int MAX_TURBO_GENERATIONS = 1024;
+
+  /** weight of the newest measurement in the turbo time estimates */
+  private static final double TURBO_SMOOTHING = 0.2d;
+
+  /** longest time a throttled world calculates generations before it renders one */
+  private static final long MAX_THROTTLED_FRAME_NANOS = 100_000_000L;
+
+  /** bits of the activity of a cell */
+  private static final int HEAT_BITS = 4;
+
+  /** generations per level the activity of a cell decays, a change fades out within 60 */
+  private static final int HEAT_DECAY_GENERATIONS = 4;
+
   private final Drawable<IntSet> ui;
   private final FPS tps;
   private final int worldWidth;
   private final int worldHeight;
-  private int minTickTime = 50;
+  private final TickPacer pacer = new TickPacer(20d);
+  private volatile int turboGenerations = 1;
+  private volatile long turboFrameBudget = 0L;
+  private double avgGenerationTime = 0d;
+  private double avgRenderTime = 0d;
   private final int worldSize;
   private final int worldHeightMinusOne;
   private final int worldWidthMinusOne;
   private final int logWorldWidth;
   private IntSet worldData;
+  private final IntSet changed;
   private final IntMap livingNeighbors;
-  private boolean paused = true;
-  private final ScheduledExecutorService sheduler = Executors.newSingleThreadScheduledExecutor();
-  private Runnable[] calcTickParts;
-  private CompletableFuture<?>[] calcTickPartsFutures;
+  private volatile boolean paused = true;
+  private final SimulationScheduler scheduler = SimulationScheduler.getInstance();
+  private volatile SimulationPriority priority = SimulationPriority.NORMAL;
+  private volatile boolean hidden = false;
+  private volatile HiddenPolicy hiddenPolicy = HiddenPolicy.KEEP_RUNNING;
+  /** parts of the neighbor count, reinitialized and run again every generation */
+  private ForkJoinTask<?>[] calcTickParts;
   private final Semaphore worldDataSem;
-  private boolean disposed;
+  private volatile boolean disposed;
+  private long generation = 0;
+  private volatile long population = 0;
+  private volatile long births = 0;
+  private volatile long deaths = 0;
+  private final TickStats stats;
+  private final List<GenerationListener> generationListeners = new CopyOnWriteArrayList<>();
+  private final MpscQueue<WorldEdit> edits = new MpscQueue<>();
+  private final SoupGenerator soupGenerator;
+  private final OffHeapArena arena = new OffHeapArena();
+  /** worker processes that calculate the generations, null if this process does it */
+  private BandCoordinator bands;
+  private long[] bandWords;
+  /** whether edits changed the world since the worker processes got it */
+  private boolean bandsStale = false;
+  /** number of the latest change of the worker processes, older setups are dropped */
+  private final AtomicInteger bandsRequest = new AtomicInteger();
+  /** generations every cell has been alive, null if they are not tracked */
+  private volatile CounterGrid ages;
+  /** activity of every cell, set when it changes and decaying every generation, null if off */
+  private volatile CounterGrid heat;
 
   public World(
       final Settings settings,
       final Drawable<IntSet> ui,
-      final Random rand,
+      final Soup soup,
       final FPS tps,
       final Semaphore worldDataSem) {
     this.ui = ui;
@@ -48,15 +101,14 @@ public class World {
     this.worldHeightMinusOne = this.worldHeight - 1;
     this.worldWidthMinusOne = this.worldWidth - 1;
     this.logWorldWidth = Utils.log2(this.worldWidth);
-    this.worldData = new IntSet(this.worldSize);
-    this.livingNeighbors = new IntMap(this.worldSize);
-    for (var i = 0; i < this.worldSize; ++i) {
-      // randomly decide if the cell is alive or dead
-      final var alive = rand.nextBoolean();
-      if (alive) {
-        this.worldData.add(i);
-      }
-    }
+    // the cell data is kept outside of the heap, so the garbage collector never has to scan or
+    // move it and it is released as soon as the world is disposed
+    this.worldData = new IntSet(this.worldSize, this.arena);
+    this.livingNeighbors = new IntMap(this.worldSize, this.arena);
+    this.changed = new IntSet(this.worldSize, this.arena);
+    this.stats = new TickStats(this, settings);
+    this.soupGenerator = new SoupGenerator(settings, this.scheduler.getComputePool());
+    this.population = this.soupGenerator.fill(this.worldData, soup);
     this.ui.set(this.worldData);
     SwingUtilities.invokeLater(this.ui::draw);
 
@@ -66,28 +118,39 @@ public class World {
           Math.max(
               1, (int) Math.pow(2, (int) Utils.log2(Runtime.getRuntime().availableProcessors())));
 
-      this.calcTickParts = new Runnable[partsCount];
-      this.calcTickPartsFutures = new CompletableFuture<?>[partsCount];
+      this.calcTickParts = new ForkJoinTask<?>[partsCount];
       final var partSize = this.worldSize / partsCount;
       for (int i = 0; i < partsCount; ++i) {
         final var start = partSize * i;
         final var end = partSize * (i + 1);
         this.calcTickParts[i] =
-            () -> {
-              calcTick(start, end);
-            };
+            ForkJoinTask.adapt(
+                () -> {
+                  calcTick(start, end);
+                });
       }
-      // start the game loop
-      this.sheduler.scheduleWithFixedDelay(this::tickAsync, 500, 1, TimeUnit.NANOSECONDS);
-    } else {
-      // start the game loop
-      this.sheduler.scheduleWithFixedDelay(this::tickSync, 500, 1, TimeUnit.NANOSECONDS);
     }
+
+    // start the game loop
+    this.scheduler.register(this);
+  }
+
+  /**
+   * Queue a change of the world data.
+   *
+   * <p>Never blocks. The edit is applied by the scheduler before the next generation, or right
+   * away if the world is paused or waiting for its next tick.
+   */
+  public void edit(final WorldEdit edit) {
+    this.edits.offer(edit);
+    this.scheduler.wake();
   }
 
   /**
    * Sets the state of the cell at the given point to the given state.
    *
+   * <p>Must only be called from a {@link WorldEdit} or with the world data locked.
+   *
    * @param x the x coordinate of the point
    * @param y the y coordinate of the point
    * @param state the new state of the cell
@@ -95,16 +158,23 @@ public class World {
   public void togglePoint(final int x, final int y, final boolean state) {
     final var index = (y * this.worldWidth) + x;
     this.ui.set(index, state);
+    if (state == this.worldData.contains(index)) {
+      return;
+    }
     if (state) {
       this.worldData.add(index);
+      ++this.population;
     } else {
       this.worldData.remove(index);
+      --this.population;
     }
   }
 
   /**
    * Toggles the state of the cell at the given point and returns its new state.
    *
+   * <p>Must only be called from a {@link WorldEdit} or with the world data locked.
+   *
    * @param x the x coordinate of the point
    * @param y the y coordinate of the point
    * @return the new state of the cell
@@ -113,15 +183,242 @@ public class World {
     final var index = (y * this.worldWidth) + x;
     if (this.worldData.contains(index)) {
       this.worldData.remove(index);
+      --this.population;
       this.ui.set(index, false);
       return false;
     } else {
       this.worldData.add(index);
+      ++this.population;
       this.ui.set(index, true);
       return true;
     }
   }
 
+  /**
+   * Stamp a pattern with its top left corner at the given cell, it wraps around the edges.
+   *
+   * <p>Every row of the pattern is shifted into the words of the world at once. With overwrite the
+   * dead cells of the pattern clear the world, otherwise only its living cells are added. The ui
+   * is updated once for the whole rectangle.
+   *
+   * <p>Must only be called from a {@link WorldEdit} or with the world data locked.
+   */
+  public void stamp(final BitPattern pattern, final int x, final int y, final boolean overwrite) {
+    this.write(pattern, x, y, pattern.getWidth(), pattern.getHeight(), overwrite, false);
+    this.setUi(x, y, pattern.getWidth(), pattern.getHeight());
+  }
+
+  /**
+   * Kill the cells where the pattern is alive, with its top left corner at the given cell.
+   *
+   * <p>Must only be called from a {@link WorldEdit} or with the world data locked.
+   */
+  public void erase(final BitPattern pattern, final int x, final int y) {
+    this.write(pattern, x, y, pattern.getWidth(), pattern.getHeight(), false, true);
+    this.setUi(x, y, pattern.getWidth(), pattern.getHeight());
+  }
+
+  /**
+   * Draw a stroke with a brush, the brush is centered on every cell of the lines between
+   * consecutive points.
+   *
+   * <p>The lines are interpolated with Bresenham's algorithm, so fast mouse movements leave no
+   * gaps. The ui is updated once for the bounding box of the whole stroke.
+   *
+   * <p>Must only be called from a {@link WorldEdit} or with the world data locked.
+   *
+   * @param points x and y of every point, a single point draws a dot
+   * @param length number of used entries of points
+   * @param brush cells that are drawn around every cell of the lines
+   * @param alive whether the brush gives birth or kills
+   */
+  public void drawStroke(
+      final int[] points, final int length, final BitPattern brush, final boolean alive) {
+    if (length < 2) {
+      return;
+    }
+    final var offsetX = brush.getWidth() / 2;
+    final var offsetY = brush.getHeight() / 2;
+    var minX = points[0];
+    var maxX = points[0];
+    var minY = points[1];
+    var maxY = points[1];
+    for (var i = 0; i + 1 < length; i += 2) {
+      final var x1 = points[i];
+      final var y1 = points[i + 1];
+      minX = Math.min(minX, x1);
+      maxX = Math.max(maxX, x1);
+      minY = Math.min(minY, y1);
+      maxY = Math.max(maxY, y1);
+      var x = i == 0 ? x1 : points[i - 2];
+      var y = i == 0 ? y1 : points[i - 1];
+      final var dx = Math.abs(x1 - x);
+      final var dy = -Math.abs(y1 - y);
+      final var sx = x < x1 ? 1 : -1;
+      final var sy = y < y1 ? 1 : -1;
+      var error = dx + dy;
+      while (true) {
+        this.write(
+            brush, x - offsetX, y - offsetY, brush.getWidth(), brush.getHeight(), false, !alive);
+        if (x == x1 && y == y1) {
+          break;
+        }
+        final var e2 = 2 * error;
+        if (e2 >= dy) {
+          error += dy;
+          x += sx;
+        }
+        if (e2 <= dx) {
+          error += dx;
+          y += sy;
+        }
+      }
+    }
+    this.setUi(
+        minX - offsetX,
+        minY - offsetY,
+        maxX - minX + brush.getWidth(),
+        maxY - minY + brush.getHeight());
+  }
+
+  /**
+   * Kill all cells of a rectangle, it wraps around the edges.
+   *
+   * <p>Must only be called from a {@link WorldEdit} or with the world data locked.
+   */
+  public void clear(final int x, final int y, final int width, final int height) {
+    this.write(null, x, y, width, height, true, false);
+    this.setUi(x, y, width, height);
+  }
+
+  /**
+   * Copy the cells of a rectangle into a pattern, it wraps around the edges.
+   *
+   * <p>Every word of the pattern is read from at most two words of every part of the row between
+   * the edges of the world.
+   *
+   * <p>Must only be called from a {@link WorldEdit} or with the world data locked.
+   */
+  public BitPattern copy(final int x, final int y, final int width, final int height) {
+    final var w = Math.min(width, this.worldWidth);
+    final var h = Math.min(height, this.worldHeight);
+    final var left = Math.floorMod(x, this.worldWidth);
+    final var top = Math.floorMod(y, this.worldHeight);
+    final var wordsPerRow = (w + 63) >> 6;
+    final var words = new long[wordsPerRow * h];
+    for (var py = 0; py < h; ++py) {
+      final var rowStart = ((top + py) & this.worldHeightMinusOne) << this.logWorldWidth;
+      for (var k = 0; k < wordsPerRow; ++k) {
+        final var length = Math.min(64, w - (k << 6));
+        var column = (left + (k << 6)) & this.worldWidthMinusOne;
+        var bits = 0L;
+        var filled = 0;
+        while (filled < length) {
+          final var n = Math.min(length - filled, this.worldWidth - column);
+          bits |= this.readBits(rowStart + column, n) << filled;
+          filled += n;
+          column = 0;
+        }
+        words[py * wordsPerRow + k] = bits;
+      }
+    }
+    return new BitPattern(w, h, words);
+  }
+
+  /**
+   * Write the rows of the pattern or dead cells if it is null into a rectangle, with erase the
+   * living cells of the pattern are killed instead.
+   */
+  private void write(
+      final BitPattern pattern,
+      final int x,
+      final int y,
+      final int patternWidth,
+      final int patternHeight,
+      final boolean overwrite,
+      final boolean erase) {
+    final var width = Math.min(patternWidth, this.worldWidth);
+    final var height = Math.min(patternHeight, this.worldHeight);
+    final var left = Math.floorMod(x, this.worldWidth);
+    final var top = Math.floorMod(y, this.worldHeight);
+    var population = this.population;
+    for (var py = 0; py < height; ++py) {
+      final var rowStart = ((top + py) & this.worldHeightMinusOne) << this.logWorldWidth;
+      for (var k = 0; k << 6 < width; ++k) {
+        var bits = pattern == null ? 0L : pattern.getWord(py, k);
+        var length = Math.min(64, width - (k << 6));
+        var column = (left + (k << 6)) & this.worldWidthMinusOne;
+        // split the word where the row of the world wraps around
+        while (length > 0) {
+          final var n = Math.min(length, this.worldWidth - column);
+          population += this.stampBits(rowStart + column, bits, n, overwrite, erase);
+          bits = n == 64 ? 0L : bits >>> n;
+          length -= n;
+          column = 0;
+        }
+      }
+    }
+    this.population = population;
+  }
+
+  /** update a rectangle of the ui, it wraps around the edges */
+  private void setUi(final int x, final int y, final int width, final int height) {
+    this.ui.set(
+        this.worldData,
+        Math.floorMod(x, this.worldWidth),
+        Math.floorMod(y, this.worldHeight),
+        Math.min(width, this.worldWidth),
+        Math.min(height, this.worldHeight));
+  }
+
+  /** read n cells starting at index into the lowest bits */
+  private long readBits(final int index, final int n) {
+    final var w = index >> 6;
+    final var offset = index & 63;
+    final var first = Math.min(n, 64 - offset);
+    var bits = (this.worldData.getWord(w) >>> offset) & (first == 64 ? -1L : (1L << first) - 1L);
+    if (n > first) {
+      bits |= (this.worldData.getWord(w + 1) & ((1L << (n - first)) - 1L)) << first;
+    }
+    return bits;
+  }
+
+  /** write the lowest n bits to the cells starting at index and return the population change */
+  private long stampBits(
+      final int index, final long bits, final int n, final boolean overwrite, final boolean erase) {
+    final var w = index >> 6;
+    final var offset = index & 63;
+    final var first = Math.min(n, 64 - offset);
+    var delta = this.stampWord(w, offset, bits, first, overwrite, erase);
+    if (n > first) {
+      delta += this.stampWord(w + 1, 0, bits >>> first, n - first, overwrite, erase);
+    }
+    return delta;
+  }
+
+  /** write the lowest n bits into word w at the given offset and return the population change */
+  private long stampWord(
+      final int w,
+      final int offset,
+      final long bits,
+      final int n,
+      final boolean overwrite,
+      final boolean erase) {
+    final var mask = n == 64 ? -1L : (1L << n) - 1L;
+    final var before = this.worldData.getWord(w);
+    var after = before;
+    if (erase) {
+      after &= ~((bits & mask) << offset);
+    } else {
+      if (overwrite) {
+        after &= ~(mask << offset);
+      }
+      after |= (bits & mask) << offset;
+    }
+    this.worldData.setWord(w, after);
+    return Long.bitCount(after) - Long.bitCount(before);
+  }
+
   /** calculate next generation */
   public void calcTick() {
     this.calcTick(0, this.worldSize);
@@ -182,47 +479,308 @@ public class World {
 
   /** clear the world */
   public void clear() {
-    final var wasPaused = this.paused;
-    this.paused = true;
-    try {
-      this.worldDataSem.acquire();
-      this.worldData.clear();
-      this.livingNeighbors.clear();
-      this.ui.set(this.worldData);
-      this.ui.draw();
-    } catch (final InterruptedException e) {
-      e.printStackTrace();
-    } finally {
-      this.worldDataSem.release();
+    this.edit(
+        world -> {
+          this.worldData.clear();
+          this.changed.clear();
+          this.resetCounters();
+          this.population = 0;
+          this.births = 0;
+          this.deaths = 0;
+          this.ui.set(this.worldData);
+        });
+  }
+
+  /** fill the world with a new random soup */
+  public void randomize(final Soup soup) {
+    this.edit(
+        world -> {
+          this.population = this.soupGenerator.fill(this.worldData, soup);
+          this.changed.clear();
+          this.resetCounters();
+          this.births = 0;
+          this.deaths = 0;
+          this.ui.set(this.worldData);
+        });
+  }
+
+  /** continue from a saved generation, the words are packed like {@link IntSet#toLongArray()} */
+  public void restore(final long generation, final long[] words) {
+    if (words.length != this.worldData.wordCount()) {
+      throw new IllegalArgumentException("the saved world has a different size");
     }
-    this.paused = wasPaused;
+    this.edit(
+        world -> {
+          this.generation = generation;
+          this.replaceWords(words);
+        });
   }
 
-  /** overwrite the world data with the given data */
-  public void overwriteWorldData(final IntSet in) {
-    final var wasPaused = this.paused;
-    this.paused = true;
-    try {
-      this.worldDataSem.acquire();
-      this.worldData.overwrite(in);
-      this.ui.set(this.worldData);
-      this.ui.draw();
-    } catch (final InterruptedException e) {
-      e.printStackTrace();
-    } finally {
-      this.worldDataSem.release();
+  /** replace all cells with the given words, must only be called from a {@link WorldEdit} */
+  private void replaceWords(final long[] words) {
+    var population = 0L;
+    for (var w = 0; w < words.length; ++w) {
+      this.worldData.setWord(w, words[w]);
+      population += Long.bitCount(words[w]);
     }
-    this.paused = wasPaused;
+    this.population = population;
+    this.changed.clear();
+    this.resetCounters();
+    this.births = 0;
+    this.deaths = 0;
+    this.ui.set(this.worldData);
+  }
+
+  /**
+   * Overwrite the world data with the given data, missing words are dead.
+   *
+   * <p>The data is copied right away, the cells are replaced like any other edit.
+   */
+  public void overwriteWorldData(final IntSet in) {
+    final var words = Arrays.copyOf(in.toLongArray(), this.worldData.wordCount());
+    this.edit(world -> this.replaceWords(words));
+  }
+
+  /**
+   * Track how many generations every cell has been alive and color the cells by their age.
+   *
+   * @param bits bits of the age of a cell, 4 or 8, older cells keep the oldest age. 0 stops the
+   *     tracking, then it costs nothing.
+   */
+  public void setAgeBits(final int bits) {
+    final var ages = bits == 0 ? null : new CounterGrid(this.worldSize, bits);
+    this.edit(
+        world -> {
+          this.ui.setAgeLevels(bits == 0 ? 0 : 1 << bits);
+          this.ages = ages;
+          if (ages == null) {
+            this.ui.set(this.worldData);
+          } else {
+            this.resetCounters();
+          }
+        });
+  }
+
+  /** bits of the age of a cell, 0 if ages are not tracked */
+  public int getAgeBits() {
+    final var ages = this.ages;
+    return ages == null ? 0 : ages.getBits();
+  }
+
+  /**
+   * Show where cells change as a heatmap on top of the world, the activity of a cell decays every
+   * generation it does not change. Costs nothing while it is off.
+   */
+  public void setHeatmap(final boolean heatmap) {
+    final var heat = heatmap ? new CounterGrid(this.worldSize, World.HEAT_BITS) : null;
+    this.edit(
+        world -> {
+          this.ui.setHeatLevels(heatmap ? 1 << World.HEAT_BITS : 0);
+          this.heat = heat;
+        });
+  }
+
+  public boolean getHeatmap() {
+    return this.heat != null;
+  }
+
+  /** draw all cells again, e.g. after the colors changed */
+  public void redraw() {
+    this.edit(
+        world -> {
+          this.ui.set(this.worldData);
+          final var ages = this.ages;
+          if (ages != null) {
+            ages.touchAll();
+          }
+          final var heat = this.heat;
+          if (heat != null) {
+            heat.touchAll();
+          }
+        });
   }
 
-  /** Set the minimum time for one frame */
+  /** Set the minimum time for one frame in milliseconds, 0 is unthrottled */
   public void setMinTickTime(final int value) {
-    this.minTickTime = value;
+    this.setTargetTps(value <= 0 ? 0d : 1_000d / value);
   }
 
-  /** Get the minimum time for one frame */
+  /** Get the minimum time for one frame in milliseconds, 0 if unthrottled */
   public int getMinTickTime() {
-    return this.minTickTime;
+    return (int) (this.pacer.getPeriod() / 1_000_000L);
+  }
+
+  /** Set the target generations per second, zero or less is unthrottled */
+  public void setTargetTps(final double tps) {
+    this.pacer.setTargetTps(tps);
+    this.scheduler.wake();
+  }
+
+  /** Get the target generations per second, zero if unthrottled */
+  public double getTargetTps() {
+    return this.pacer.getTargetTps();
+  }
+
+  /** Get the achieved generations per second */
+  public double getAchievedTps() {
+    return this.isHalted() ? 0d : this.pacer.getAchievedTps();
+  }
+
+  /**
+   * Calculate a fixed number of generations per rendered frame.
+   *
+   * @param generations generations per frame, 1 renders every generation
+   */
+  public void setTurbo(final int generations) {
+    this.turboGenerations = Math.max(1, Math.min(World.MAX_TURBO_GENERATIONS, generations));
+    this.turboFrameBudget = 0L;
+  }
+
+  /**
+   * Calculate as many generations per rendered frame as fit into the given frame time.
+   *
+   * @param frameBudgetNanos time for calculating and rendering one frame
+   */
+  public void setAdaptiveTurbo(final long frameBudgetNanos) {
+    this.turboFrameBudget = Math.max(0L, frameBudgetNanos);
+  }
+
+  /** Get the fixed generations per frame, 1 if turbo is off */
+  public int getTurbo() {
+    return this.turboGenerations;
+  }
+
+  /** Get the frame budget of the adaptive turbo, 0 if it is off */
+  public long getAdaptiveTurbo() {
+    return this.turboFrameBudget;
+  }
+
+  @Override
+  public SimulationPriority getPriority() {
+    if (this.hidden && this.hiddenPolicy == HiddenPolicy.LOW_PRIORITY) {
+      return SimulationPriority.LOW;
+    }
+    return this.priority;
+  }
+
+  /** Set the share of the simulation workers this world gets compared to other worlds */
+  public void setPriority(final SimulationPriority priority) {
+    this.priority = priority;
+  }
+
+  /**
+   * Tell the world whether its window can be seen.
+   *
+   * <p>Hidden worlds do not render, the changes are collected and shown at once when the world
+   * becomes visible again.
+   */
+  public void setHidden(final boolean hidden) {
+    if (this.hidden == hidden) {
+      return;
+    }
+    this.hidden = hidden;
+    if (!hidden) {
+      // an empty edit renders the collected changes once, even if the world is paused
+      this.edit(world -> {});
+    }
+    this.scheduler.wake();
+  }
+
+  public boolean getHidden() {
+    return this.hidden;
+  }
+
+  /** Set what the world does while it is hidden */
+  public void setHiddenPolicy(final HiddenPolicy hiddenPolicy) {
+    this.hiddenPolicy = hiddenPolicy;
+    this.scheduler.wake();
+  }
+
+  public HiddenPolicy getHiddenPolicy() {
+    return this.hiddenPolicy;
+  }
+
+  /**
+   * Split the world into horizontal bands calculated by the given number of worker processes on
+   * this machine, 0 calculates it in this process again.
+   *
+   * <p>The processes are started on a separate thread, the world keeps running meanwhile and
+   * switches over with an edit once they are ready.
+   *
+   * @return completes when the world switched, or exceptionally if the processes failed to start
+   */
+  public CompletableFuture<Void> setWorkerProcesses(final int count) {
+    final var request = this.bandsRequest.incrementAndGet();
+    final var result = new CompletableFuture<Void>();
+    if (count <= 0) {
+      this.edit(
+          world -> {
+            if (request == this.bandsRequest.get()) {
+              this.installBands(null);
+            }
+            result.complete(null);
+          });
+      return result;
+    }
+    final var setup =
+        new Thread(
+            () -> {
+              final BandCoordinator bands;
+              try {
+                bands = new BandCoordinator(this.worldWidth, this.worldHeight, count);
+              } catch (final IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+              }
+              this.edit(
+                  world -> {
+                    if (request != this.bandsRequest.get() || this.disposed) {
+                      // a later call replaced this one
+                      bands.dispose();
+                      result.complete(null);
+                      return;
+                    }
+                    try {
+                      bands.load(this.worldData.toLongArray());
+                    } catch (final IOException e) {
+                      bands.dispose();
+                      result.completeExceptionally(e);
+                      return;
+                    }
+                    this.installBands(bands);
+                    result.complete(null);
+                  });
+            },
+            "worker-process-setup");
+    setup.setDaemon(true);
+    setup.start();
+    return result;
+  }
+
+  /** replace the worker processes, null calculates in this process, world data must be locked */
+  private void installBands(final BandCoordinator bands) {
+    if (this.bands != null) {
+      this.bands.dispose();
+    }
+    this.bands = bands;
+    if (bands != null && this.bandWords == null) {
+      this.bandWords = new long[this.worldData.wordCount()];
+    }
+    this.bandsStale = false;
+  }
+
+  /** Get the share of one core this world used during the last second */
+  public double getCpuLoad() {
+    return this.scheduler.getLoad(this);
+  }
+
+  /** Set what happens when ticks take longer than the target rate allows */
+  public void setCatchUpPolicy(final CatchUpPolicy policy) {
+    this.pacer.setCatchUpPolicy(policy);
+  }
+
+  public CatchUpPolicy getCatchUpPolicy() {
+    return this.pacer.getCatchUpPolicy();
   }
 
   /** Get the games paused state */
@@ -233,11 +791,14 @@ public class World {
   /** Set games paused state to the given value */
   public void setPaused(final boolean paused) {
     this.paused = paused;
+    this.scheduler.wake();
   }
 
   /** Toggle the games paused state */
   public boolean togglePaused() {
-    return this.paused = !this.paused;
+    final var paused = this.paused = !this.paused;
+    this.scheduler.wake();
+    return paused;
   }
 
   /** clean up */
@@ -246,158 +807,482 @@ public class World {
       return;
     }
     this.disposed = true;
-    this.sheduler.shutdownNow();
-    try {
-      this.sheduler.awaitTermination(5, TimeUnit.SECONDS);
-    } catch (final InterruptedException e) {
-      System.err.println("Interrupted while waiting for sheduler to terminate");
-    } finally {
-      this.worldData = null;
-      this.livingNeighbors.clear();
+    this.stats.dispose();
+    this.scheduler.unregister(this);
+    if (this.bands != null) {
+      this.bands.dispose();
+      this.bands = null;
     }
+    this.generationListeners.clear();
+    this.worldData = null;
+    this.arena.dispose();
   }
 
-  /** Import world data from a BufferedImage */
+  /**
+   * Import world data from a BufferedImage of the size of the world, bright pixels are alive.
+   *
+   * <p>The image is read right away, the cells are replaced like any other edit.
+   */
   public void setDataFrom(final BufferedImage resized) {
-    final var wasPaused = this.paused;
-    this.paused = true;
+    final var cells = new IntSet(this.worldSize);
     for (var y = 0; y < this.worldHeight; ++y) {
       for (var x = 0; x < this.worldWidth; ++x) {
         final var pixel = resized.getRGB(x, y);
         final var redChannel = (pixel >> 16) & 0xFF;
-        final var index = y * this.worldWidth + x;
         if (redChannel > 127) {
-          this.worldData.add(index);
-        } else {
-          this.worldData.remove(index);
+          cells.add(y * this.worldWidth + x);
         }
       }
     }
-    this.ui.set(this.worldData);
-    this.ui.draw();
-    this.paused = wasPaused;
+    final var words = cells.toLongArray();
+    this.edit(world -> this.replaceWords(words));
   }
 
+  /** the cells of the world, they are released when the world is disposed */
   public IntSet getWorldData() {
-    return this.worldData;
+    final var data = this.worldData;
+    if (data == null) {
+      throw new IllegalStateException("world is disposed");
+    }
+    return data;
+  }
+
+  /** Get the number of living cells */
+  public long getPopulation() {
+    return this.population;
+  }
+
+  /** Get the number of cells that were born in the last generation */
+  public long getBirths() {
+    return this.births;
+  }
+
+  /** Get the number of cells that died in the last generation */
+  public long getDeaths() {
+    return this.deaths;
+  }
+
+  /** Get the tick statistics of this world */
+  public TickStats getStats() {
+    return this.stats;
+  }
+
+  /** Get the number of generations calculated so far */
+  public long getGeneration() {
+    return this.generation;
+  }
+
+  /** Register a listener that is called after every generation */
+  public void addGenerationListener(final GenerationListener listener) {
+    this.generationListeners.add(listener);
+  }
+
+  /** Remove a previously registered generation listener */
+  public void removeGenerationListener(final GenerationListener listener) {
+    this.generationListeners.remove(listener);
+  }
+
+  /** Count the generation and inform the listeners, world data must be locked */
+  private void finishGeneration() {
+    ++this.generation;
+    for (final var listener : this.generationListeners) {
+      listener.onGeneration(this.generation, this.worldData);
+    }
+  }
+
+  /** Fill and commit the flight recorder event of a tick if it is slow enough to be recorded */
+  private void commitTickEvent(final TickEvent event, final String engine, final int threads) {
+    event.end();
+    if (!event.shouldCommit()) {
+      return;
+    }
+    event.worldId = this.stats.getId();
+    event.worldWidth = this.worldWidth;
+    event.worldHeight = this.worldHeight;
+    event.generation = this.generation;
+    event.engine = engine;
+    event.threads = threads;
+    event.population = this.getPopulation();
+    event.commit();
+  }
+
+  /** Start counting the ages from the current cells and forget the activity */
+  private void resetCounters() {
+    final var ages = this.ages;
+    if (ages != null) {
+      ages.clear();
+      for (var w = 0; w < ages.wordCount(); ++w) {
+        ages.add(w, this.worldData.getWord(w), 1);
+      }
+    }
+    final var heat = this.heat;
+    if (heat != null) {
+      heat.clear();
+    }
+  }
+
+  /**
+   * Update the ages and activity of the 64 cells of word w after some generations.
+   *
+   * <p>Only words with living or changed cells are touched, and words with active cells when the
+   * activity decays. Cells that are not alive in both generations start at age 0, so the ages of
+   * dead cells are never read.
+   */
+  private static void trackCells(
+      final CounterGrid ages,
+      final CounterGrid heat,
+      final int w,
+      final long alive,
+      final long next,
+      final int generations,
+      final int decay) {
+    if (ages != null && (alive | next) != 0L) {
+      ages.retain(w, alive & next);
+      ages.add(w, next, generations);
+    }
+    final var diff = alive ^ next;
+    if (heat != null && (diff != 0L || (decay != 0 && !heat.isZero(w)))) {
+      heat.subtract(w, ~diff, decay);
+      heat.fill(w, diff);
+    }
+  }
+
+  /** levels the activity decays while the generation grows by the given number */
+  private int heatDecay(final int generations) {
+    return (int)
+        ((this.generation + generations) / World.HEAT_DECAY_GENERATIONS
+            - this.generation / World.HEAT_DECAY_GENERATIONS);
   }
 
   /** Use collected living neighbor count to apply the rules of the game */
   private void applyLivingNeighborCount() {
-    boolean alive;
-    int count;
-    for (var i = 0; i < this.worldSize; ++i) {
-      if (this.livingNeighbors.containsKey(i)) {
-        count = this.livingNeighbors.get(i);
-        alive = this.worldData.contains(i);
-        if (alive) {
-          if (count < 2 || count > 3) {
-            this.worldData.remove(i);
-            this.ui.set(i, false);
-          }
-        } else {
-          if (count == 3) {
-            this.worldData.add(i);
-            this.ui.set(i, true);
-          }
+    final var start = System.nanoTime();
+    var born = 0L;
+    var died = 0L;
+    final var wordCount = this.worldData.wordCount();
+    final var ages = this.ages;
+    final var heat = this.heat;
+    final var decay = this.heatDecay(1);
+    // apply the rules to 64 cells at once and count the changes per word
+    for (var w = 0; w < wordCount; ++w) {
+      final var alive = this.worldData.getWord(w);
+      var next = 0L;
+      final var base = w << 6;
+      final var bits = Math.min(64, this.worldSize - base);
+      for (var b = 0; b < bits; ++b) {
+        final var count = this.livingNeighbors.get(base + b);
+        if (count == 3 || (count == 2 && (alive & (1L << b)) != 0L)) {
+          next |= 1L << b;
         }
-      } else {
-        this.worldData.remove(i);
-        this.ui.set(i, false);
+      }
+      final var diff = alive ^ next;
+      if (diff != 0L) {
+        this.worldData.setWord(w, next);
+        // accumulate the changes until the next frame is rendered
+        this.changed.setWord(w, this.changed.getWord(w) ^ diff);
+        born += Long.bitCount(next & diff);
+        died += Long.bitCount(alive & diff);
+      }
+      if (ages != null || heat != null) {
+        World.trackCells(ages, heat, w, alive, next, 1, decay);
       }
     }
-    this.ui.draw();
+    this.births = born;
+    this.deaths = died;
+    this.population += born - died;
+    this.stats.record(TickPhase.RULE_APPLY, System.nanoTime() - start);
   }
 
-  /** Trigger tick (next generation) synchronously */
-  private void tickSync() {
-    // check if the game is running
-    if (this.paused) {
+  /** Write the cells changed since the last frame into the ui and draw it */
+  private void render() {
+    if (this.hidden) {
+      // nobody can see it, keep collecting the changes
       return;
     }
+    final var start = System.nanoTime();
+    final var wordCount = this.changed.wordCount();
+    final var ages = this.ages;
+    final var heat = this.heat;
+    // only changed cells have to be updated in the ui
+    for (var w = 0; w < wordCount; ++w) {
+      var diff = this.changed.getWord(w);
+      if (ages != null) {
+        // cells that got older change their color too
+        diff |= ages.takeChanged(w);
+      }
+      var hot = heat == null ? 0L : heat.takeChanged(w);
+      if ((diff | hot) == 0L) {
+        continue;
+      }
+      this.changed.setWord(w, 0L);
+      final var alive = this.worldData.getWord(w);
+      final var base = w << 6;
+      if (ages == null) {
+        this.ui.setWord(w, alive, diff);
+        diff = 0L;
+      }
+      while (diff != 0L) {
+        final var b = Long.numberOfTrailingZeros(diff);
+        // cells added by an edit are not counted until the next generation
+        final var isAlive = (alive & (1L << b)) != 0L;
+        this.ui.setAge(base + b, isAlive ? Math.max(1, ages.get(base + b)) : 0);
+        diff &= diff - 1L;
+      }
+      while (hot != 0L) {
+        final var b = Long.numberOfTrailingZeros(hot);
+        this.ui.setHeat(base + b, heat.get(base + b));
+        hot &= hot - 1L;
+      }
+    }
+    final var set = System.nanoTime();
+    this.stats.record(TickPhase.UI_SET, set - start);
 
-    long tickTime;
+    this.ui.compose();
+    final var composed = System.nanoTime();
+    this.stats.record(TickPhase.COMPOSE, composed - set);
 
-    try {
-      this.worldDataSem.acquire();
-      // save start time
-      final var start = System.nanoTime();
+    this.ui.present();
+    this.stats.record(TickPhase.DRAW, System.nanoTime() - composed);
+  }
 
-      // calculate next generation
+  /** Calculate one generation without rendering it */
+  private void step() throws InterruptedException {
+    final var start = System.nanoTime();
+    if (this.calcTickParts == null) {
       this.calcTick(0, this.worldSize);
+    } else {
+      // the same tasks are used for every generation, so no futures are allocated
+      for (final var part : this.calcTickParts) {
+        part.reinitialize();
+        this.scheduler.getComputePool().execute(part);
+      }
+      // wait for all parts before a failure is thrown, they must not run into the next generation
+      RuntimeException failure = null;
+      for (final var part : this.calcTickParts) {
+        try {
+          part.join();
+        } catch (final RuntimeException e) {
+          if (failure == null) {
+            failure = e;
+          }
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    }
+    this.stats.record(TickPhase.NEIGHBOR_COUNT, System.nanoTime() - start);
+    try {
       this.applyLivingNeighborCount();
-
-      // calculate time spend for this tick
-      tickTime = System.nanoTime() - start;
-      this.tps.add(tickTime);
-
-    } catch (final InterruptedException e) {
-      return;
     } finally {
       this.livingNeighbors.clear();
-      this.worldDataSem.release();
     }
-    // sleep if the tick was too fast
-    final var sleepTime = this.minTickTime - tickTime / 1000000L;
-    if (sleepTime > 0L) {
-      try {
-        Thread.sleep(sleepTime);
-      } catch (final InterruptedException e) {
-        return;
+    this.finishGeneration();
+  }
+
+  /**
+   * Let the worker processes calculate the generations and fetch the result.
+   *
+   * <p>Births and deaths are the difference between the frames. The listeners are called once for
+   * the whole batch with its last generation, the workers only send that one.
+   *
+   * @return false if a worker failed, the world is then unchanged and continues in this process
+   */
+  private boolean stepDistributed(final int generations) {
+    final var start = System.nanoTime();
+    try {
+      // edits may also have been applied between the ticks
+      this.drainEdits();
+      if (this.bandsStale) {
+        this.bands.load(this.worldData.toLongArray());
+        this.bandsStale = false;
+      }
+      this.bands.step(generations);
+      this.bands.snapshot(this.bandWords);
+    } catch (final IOException e) {
+      System.err.println("Worker processes failed, continuing in this process: " + e.getMessage());
+      this.bands.dispose();
+      this.bands = null;
+      return false;
+    }
+    this.stats.record(TickPhase.NEIGHBOR_COUNT, System.nanoTime() - start);
+    var born = 0L;
+    var died = 0L;
+    final var ages = this.ages;
+    final var heat = this.heat;
+    final var decay = this.heatDecay(generations);
+    for (var w = 0; w < this.bandWords.length; ++w) {
+      final var alive = this.worldData.getWord(w);
+      final var next = this.bandWords[w];
+      final var diff = alive ^ next;
+      if (diff != 0L) {
+        this.worldData.setWord(w, next);
+        this.changed.setWord(w, this.changed.getWord(w) ^ diff);
+        born += Long.bitCount(next & diff);
+        died += Long.bitCount(alive & diff);
+      }
+      if (ages != null || heat != null) {
+        // the cells in between are unknown, living ones count as alive the whole time
+        World.trackCells(ages, heat, w, alive, next, generations, decay);
       }
     }
+    this.births = born;
+    this.deaths = died;
+    this.population += born - died;
+    this.generation += generations - 1;
+    this.finishGeneration();
+    return true;
   }
 
-  /** Trigger tick (next generation) asynchronously */
-  private void tickAsync() {
-    // check if the game is running
-    if (this.paused) {
-      return;
+  /**
+   * Number of generations to calculate before the next frame is rendered.
+   *
+   * <p>The target rate wins over turbo: a throttled world only calculates the generations that are
+   * due within one frame, so frames keep coming at least every {@link
+   * #MAX_THROTTLED_FRAME_NANOS} or every frame budget of the adaptive turbo. Turbo speeds up only
+   * unthrottled worlds.
+   */
+  private int nextTurboGenerations() {
+    final var budget = this.turboFrameBudget;
+    final int generations;
+    if (budget <= 0L) {
+      generations = this.turboGenerations;
+    } else {
+      final var perGeneration = this.avgGenerationTime;
+      generations =
+          perGeneration <= 0d
+              ? 1
+              : (int)
+                  Math.max(
+                      1L,
+                      Math.min(
+                          World.MAX_TURBO_GENERATIONS,
+                          (long) ((budget - this.avgRenderTime) / perGeneration)));
     }
+    final var period = this.pacer.getPeriod();
+    if (period == 0L) {
+      return generations;
+    }
+    final var frame = budget <= 0L ? World.MAX_THROTTLED_FRAME_NANOS : budget;
+    return (int) Math.min(generations, Math.max(1L, frame / period));
+  }
 
-    long tickTime;
+  /** Apply all queued edits, world data must be locked */
+  private boolean drainEdits() {
+    var applied = false;
+    WorldEdit edit;
+    while ((edit = this.edits.poll()) != null) {
+      edit.apply(this);
+      applied = true;
+    }
+    if (applied) {
+      this.bandsStale = true;
+    }
+    return applied;
+  }
 
+  /** Apply queued edits outside of a tick and show the result */
+  private void applyEdits() throws InterruptedException {
+    this.acquireWorldData("edits");
     try {
-      if (!this.worldDataSem.tryAcquire(2, TimeUnit.MILLISECONDS)) {
-        return;
+      if (this.drainEdits()) {
+        this.render();
       }
+    } finally {
+      this.worldDataSem.release();
+    }
+  }
+
+  /** Lock the world data, a long wait is recorded as a flight recorder event */
+  private void acquireWorldData(final String source) throws InterruptedException {
+    final var event = new SemaphoreContentionEvent();
+    event.begin();
+    this.worldDataSem.acquire();
+    event.end();
+    if (event.shouldCommit()) {
+      event.source = source;
+      event.commit();
+    }
+  }
 
+  /** Check if no generations should be calculated right now */
+  private boolean isHalted() {
+    return this.paused || (this.hidden && this.hiddenPolicy == HiddenPolicy.PAUSE);
+  }
+
+  @Override
+  public long nanosUntilDue(final long now) {
+    if (this.disposed) {
+      return Long.MAX_VALUE;
+    }
+    if (!this.edits.isEmpty()) {
+      return 0L;
+    }
+    if (this.isHalted()) {
+      this.pacer.reset();
+      return Long.MAX_VALUE;
+    }
+    return this.pacer.nanosUntilDue(now);
+  }
+
+  @Override
+  public void runSlice() throws InterruptedException {
+    if (!this.edits.isEmpty()) {
+      this.applyEdits();
+    }
+    if (this.isHalted() || this.pacer.nanosUntilDue(System.nanoTime()) > 0L) {
+      return;
+    }
+    final var generations = this.tick();
+    this.pacer.onTick(System.nanoTime(), generations);
+  }
+
+  /**
+   * Trigger tick, calculates one or more generations and renders the last one.
+   *
+   * @return the number of calculated generations
+   */
+  private int tick() throws InterruptedException {
+    final var event = new TickEvent();
+    event.begin();
+    this.stats.beginTick();
+    final var waitStart = System.nanoTime();
+    this.acquireWorldData("tick");
+    try {
       // save start time
       final var start = System.nanoTime();
+      this.stats.record(TickPhase.SEMAPHORE_WAIT, start - waitStart);
 
-      // calculate next generation
-      final var partsCount = this.calcTickParts.length;
-      for (int i = 0; i < partsCount; ++i) {
-        this.calcTickPartsFutures[i] = CompletableFuture.runAsync(this.calcTickParts[i]);
-      }
-      final CompletableFuture<Void> allDoneFuture = CompletableFuture.allOf(calcTickPartsFutures);
-      try {
-        allDoneFuture.get();
-        this.applyLivingNeighborCount();
-      } catch (final Exception e) {
-        // ignore
-        return;
+      // calculate next generations
+      final var generations = this.nextTurboGenerations();
+      if (this.bands == null || !this.stepDistributed(generations)) {
+        for (var i = 0; i < generations; ++i) {
+          this.drainEdits();
+          this.step();
+        }
       }
+      final var computed = System.nanoTime();
+      this.render();
 
       // calculate time spend for this tick
-      tickTime = System.nanoTime() - start;
-      this.tps.add(tickTime);
-    } catch (final InterruptedException e) {
-      return;
+      final var end = System.nanoTime();
+      this.tps.add(end - start);
+      this.stats.record(TickPhase.TOTAL, end - waitStart);
+      this.stats.endTick(end, generations);
+      this.avgGenerationTime +=
+          ((double) (computed - start) / generations - this.avgGenerationTime)
+              * World.TURBO_SMOOTHING;
+      this.avgRenderTime += ((end - computed) - this.avgRenderTime) * World.TURBO_SMOOTHING;
+      if (this.bands != null) {
+        this.commitTickEvent(event, "distributed", this.bands.getWorkerCount());
+      } else if (this.calcTickParts == null) {
+        this.commitTickEvent(event, "sync", 1);
+      } else {
+        this.commitTickEvent(event, "parallel", this.calcTickParts.length);
+      }
+      return generations;
     } finally {
-      this.livingNeighbors.clear();
       this.worldDataSem.release();
     }
-
-    // sleep if the tick was too fast
-    final var sleepTime = this.minTickTime - tickTime / 1000000L;
-    if (sleepTime > 0L) {
-      try {
-        Thread.sleep(sleepTime);
-      } catch (final InterruptedException e) {
-        // ignore
-        return;
-      }
-    }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,204 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.data_structures.IntSet;
+import java.util.Arrays;
+
+/**
+ * 64 independent torus worlds of the same size, calculated at once.
+ *
+ * <p>The worlds are interleaved: word i holds cell i of every world, bit k belongs to world k. A
+ * generation is one {@link WordRule#next} call per cell for all 64 worlds, without a scheduler,
+ * neighbor map or ui. A world is stable once it repeats with a period of one or two generations.
+ * A batch is not thread safe, run several batches in parallel to use more cores.
+ */
+public class WorldBatch {
+  /** number of worlds in a batch */
+  public static final int WORLDS = 64;
+
+  private final int worldWidth;
+  private final int worldHeight;
+  private final int worldSize;
+  private long[] cells;
+  private long[] next;
+  /** cells two generations ago */
+  private long[] previous;
+  /** worlds with a valid previous generation */
+  private long historyMask = 0L;
+  private long stableMask = 0L;
+  private final long[] stableGeneration = new long[WorldBatch.WORLDS];
+  private long generation = 0L;
+
+  public WorldBatch(final Settings settings) {
+    this.worldWidth = settings.worldWidth();
+    this.worldHeight = settings.worldHeight();
+    this.worldSize = this.worldWidth * this.worldHeight;
+    this.cells = new long[this.worldSize];
+    this.next = new long[this.worldSize];
+    this.previous = new long[this.worldSize];
+    Arrays.fill(this.stableGeneration, -1L);
+  }
+
+  /** fill every world with its own random soup, world k uses the seed seed + k */
+  public void randomize(final long seed, final double density) {
+    final var fixedDensity = SoupGenerator.fixedDensity(density);
+    Arrays.fill(this.cells, 0L);
+    for (var world = 0; world < WorldBatch.WORLDS; ++world) {
+      final var bit = 1L << world;
+      for (var w = 0; w << 6 < this.worldSize; ++w) {
+        var word = SoupGenerator.randomWord(w, seed + world, fixedDensity);
+        while (word != 0L) {
+          final var index = (w << 6) + Long.numberOfTrailingZeros(word);
+          if (index >= this.worldSize) {
+            break;
+          }
+          this.cells[index] |= bit;
+          word &= word - 1L;
+        }
+      }
+    }
+    this.reset(-1L);
+  }
+
+  /** copy the cells of a world into the batch */
+  public void load(final int world, final IntSet data) {
+    final var bit = 1L << world;
+    for (var i = 0; i < this.worldSize; ++i) {
+      final var alive = (data.getWord(i >> 6) & (1L << i)) != 0L;
+      this.cells[i] = alive ? this.cells[i] | bit : this.cells[i] & ~bit;
+    }
+    this.reset(bit);
+  }
+
+  /** copy the cells of a world into the target, it needs the capacity of the world size */
+  public IntSet extract(final int world, final IntSet target) {
+    for (var w = 0; w << 6 < this.worldSize; ++w) {
+      var word = 0L;
+      final var base = w << 6;
+      final var bits = Math.min(64, this.worldSize - base);
+      for (var b = 0; b < bits; ++b) {
+        word |= ((this.cells[base + b] >>> world) & 1L) << b;
+      }
+      target.setWord(w, word);
+    }
+    return target;
+  }
+
+  /** copy the cells of a world into a new set */
+  public IntSet extract(final int world) {
+    return this.extract(world, new IntSet(this.worldSize));
+  }
+
+  public boolean get(final int world, final int x, final int y) {
+    return ((this.cells[y * this.worldWidth + x] >>> world) & 1L) != 0L;
+  }
+
+  public void set(final int world, final int x, final int y, final boolean alive) {
+    final var bit = 1L << world;
+    final var index = y * this.worldWidth + x;
+    this.cells[index] = alive ? this.cells[index] | bit : this.cells[index] & ~bit;
+    this.reset(bit);
+  }
+
+  /** Calculate the given number of generations for all worlds */
+  public void step(final int generations) {
+    for (var g = 0; g < generations; ++g) {
+      this.step();
+    }
+  }
+
+  /** Calculate one generation for all worlds */
+  public void step() {
+    final var widthMinusOne = this.worldWidth - 1;
+    final var heightMinusOne = this.worldHeight - 1;
+    final var c = this.cells;
+    final var n = this.next;
+    final var p = this.previous;
+    var changed = 0L;
+    var changedSincePrevious = 0L;
+    for (var y = 0; y < this.worldHeight; ++y) {
+      final var up = ((y - 1) & heightMinusOne) * this.worldWidth;
+      final var row = y * this.worldWidth;
+      final var down = ((y + 1) & heightMinusOne) * this.worldWidth;
+      for (var x = 0; x < this.worldWidth; ++x) {
+        final var l = (x - 1) & widthMinusOne;
+        final var r = (x + 1) & widthMinusOne;
+        final var alive = c[row + x];
+        final var word =
+            WordRule.next(
+                alive,
+                c[up + l],
+                c[up + x],
+                c[up + r],
+                c[row + l],
+                c[row + r],
+                c[down + l],
+                c[down + x],
+                c[down + r]);
+        n[row + x] = word;
+        changed |= word ^ alive;
+        changedSincePrevious |= word ^ p[row + x];
+      }
+    }
+    this.previous = c;
+    this.cells = n;
+    this.next = p;
+    ++this.generation;
+
+    // stable worlds stay stable, so only the new ones get their generation
+    final var stable = ~changed | (~changedSincePrevious & this.historyMask);
+    var newlyStable = stable & ~this.stableMask;
+    while (newlyStable != 0L) {
+      this.stableGeneration[Long.numberOfTrailingZeros(newlyStable)] = this.generation;
+      newlyStable &= newlyStable - 1L;
+    }
+    this.stableMask |= stable;
+    this.historyMask = -1L;
+  }
+
+  /** Get the number of generations calculated so far */
+  public long getGeneration() {
+    return this.generation;
+  }
+
+  /** bit k is set if world k repeats with a period of one or two generations */
+  public long getStableMask() {
+    return this.stableMask;
+  }
+
+  public boolean isStable(final int world) {
+    return ((this.stableMask >>> world) & 1L) != 0L;
+  }
+
+  /** generation in which the world became stable, -1 if it is not stable */
+  public long getStableGeneration(final int world) {
+    return this.stableGeneration[world];
+  }
+
+  /** number of living cells of a world */
+  public int getPopulation(final int world) {
+    var population = 0;
+    for (final var cell : this.cells) {
+      population += (int) ((cell >>> world) & 1L);
+    }
+    return population;
+  }
+
+  public int getWorldWidth() {
+    return this.worldWidth;
+  }
+
+  public int getWorldHeight() {
+    return this.worldHeight;
+  }
+
+  /** forget the history of the given worlds after they were changed */
+  private void reset(final long worlds) {
+    this.historyMask &= ~worlds;
+    this.stableMask &= ~worlds;
+    var bits = worlds;
+    while (bits != 0L) {
+      this.stableGeneration[Long.numberOfTrailingZeros(bits)] = -1L;
+      bits &= bits - 1L;
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package de.hhn.gameoflife.logic;
+
+/**
+ * A change of the world data that is queued by {@link World#edit} and applied on the simulation
+ * thread between two generations.
+ */
+@FunctionalInterface
+public interface WorldEdit {
+  void apply(final World world);
+}
@@ -0,0 +1,101 @@
+package de.hhn.gameoflife.remote;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Messages between the {@link SimulationServer} and its viewers.
+ *
+ * <p>A viewport is a rectangle of the world whose left border and width are multiples of 64, so
+ * every row of it is made of whole packed words. A frame contains the XOR of the viewport words
+ * against the last frame the viewer acknowledged, run-length encoded as alternating runs of
+ * unchanged words and literal words. A viewer has at most one frame in flight, generations that
+ * happen while it is busy are skipped.
+ */
+final class FrameProtocol {
+  /** viewer to server: int x, int y, int width, int height of the wanted viewport */
+  static final int SUBSCRIBE = 1;
+
+  /** viewer to server: long generation of the applied frame */
+  static final int ACK = 2;
+
+  /**
+   * server to viewer: long generation, int x, int y, int width, int height, then runs of varint
+   * unchanged words, varint literal words and the literal XOR words until the viewport is complete
+   */
+  static final int FRAME = 3;
+
+  private FrameProtocol() {}
+
+  /**
+   * Write the XOR of the words against the base as runs.
+   *
+   * @return number of literal words
+   */
+  static int writeDelta(final DataOutputStream out, final long[] words, final long[] base)
+      throws IOException {
+    var literals = 0;
+    var i = 0;
+    while (i < words.length) {
+      final var unchangedStart = i;
+      while (i < words.length && words[i] == base[i]) {
+        ++i;
+      }
+      final var literalStart = i;
+      while (i < words.length && words[i] != base[i]) {
+        ++i;
+      }
+      FrameProtocol.writeVarInt(out, literalStart - unchangedStart);
+      FrameProtocol.writeVarInt(out, i - literalStart);
+      for (var j = literalStart; j < i; ++j) {
+        out.writeLong(words[j] ^ base[j]);
+      }
+      literals += i - literalStart;
+    }
+    return literals;
+  }
+
+  /** read runs written by {@link #writeDelta} and XOR them into the words */
+  static void readDelta(final DataInputStream in, final long[] words, final Delta delta)
+      throws IOException {
+    var i = 0;
+    while (i < words.length) {
+      i += FrameProtocol.readVarInt(in);
+      final var literals = FrameProtocol.readVarInt(in);
+      if (i + literals > words.length) {
+        throw new IOException("frame is larger than the viewport");
+      }
+      for (var end = i + literals; i < end; ++i) {
+        final var diff = in.readLong();
+        words[i] ^= diff;
+        delta.changed(i, diff);
+      }
+    }
+  }
+
+  /** receives the changed words of a frame */
+  interface Delta {
+    void changed(final int index, final long diff);
+  }
+
+  static void writeVarInt(final DataOutputStream out, int value) throws IOException {
+    while ((value & ~0x7f) != 0) {
+      out.writeByte((value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  static int readVarInt(final DataInputStream in) throws IOException {
+    var value = 0;
+    for (var shift = 0; shift < 32; shift += 7) {
+      final var b = in.readUnsignedByte();
+      value |= (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("varint too long");
+  }
+}
@@ -0,0 +1,182 @@
+package de.hhn.gameoflife.remote;
+
+import de.hhn.gameoflife.control_iface.Disposable;
+import de.hhn.gameoflife.control_iface.Drawable;
+import de.hhn.gameoflife.data_structures.IntSet;
+import de.hhn.gameoflife.logic.Settings;
+import de.hhn.gameoflife.ui.WorldUI;
+import java.awt.Rectangle;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+
+/**
+ * Thin client that shows a viewport of a world running on a {@link SimulationServer}.
+ *
+ * <p>Only the words that changed since the last acknowledged frame are received and only their
+ * changed cells are written into the {@link Drawable}, usually a {@link WorldUI}.
+ */
+public class RemoteViewer implements Disposable {
+  /** Connect to a server: host port [x y width height], width and height powers of 2 */
+  public static void main(final String[] args) throws IOException {
+    if (args.length != 2 && args.length != 6) {
+      System.err.println("usage: RemoteViewer <host> <port> [<x> <y> <width> <height>]");
+      System.exit(2);
+    }
+    final var x = args.length == 6 ? Integer.parseInt(args[2]) : 0;
+    final var y = args.length == 6 ? Integer.parseInt(args[3]) : 0;
+    final var width = args.length == 6 ? Integer.parseInt(args[4]) : 512;
+    final var height = args.length == 6 ? Integer.parseInt(args[5]) : 512;
+    final var settings = new Settings(width, height);
+    final var worldUI = new WorldUI(settings);
+    final var viewer = new RemoteViewer(args[0], Integer.parseInt(args[1]), settings, worldUI);
+    SwingUtilities.invokeLater(
+        () -> {
+          final var window = new JFrame(String.format("Game of Life %s:%s", args[0], args[1]));
+          window.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+          window.add(worldUI);
+          window.setSize(800, 800);
+          window.setVisible(true);
+        });
+    viewer.subscribe(x, y, width, height);
+    viewer.run();
+  }
+
+  private final Socket socket;
+  private final DataInputStream in;
+  private final DataOutputStream out;
+  private final Drawable<IntSet> worldUI;
+  private final int uiWidth;
+  private final int uiHeight;
+  private long[] words = new long[0];
+  private int viewportX = -1;
+  private int viewportY = -1;
+  private int viewportWidth = 0;
+  private int viewportHeight = 0;
+  private volatile long generation = -1L;
+  private volatile long received = 0L;
+
+  public RemoteViewer(
+      final String host, final int port, final Settings settings, final Drawable<IntSet> worldUI)
+      throws IOException {
+    this.worldUI = worldUI;
+    this.uiWidth = settings.worldWidth();
+    this.uiHeight = settings.worldHeight();
+    this.socket = new Socket(host, port);
+    this.socket.setTcpNoDelay(true);
+    this.in = new DataInputStream(new BufferedInputStream(this.socket.getInputStream()));
+    this.out = new DataOutputStream(new BufferedOutputStream(this.socket.getOutputStream()));
+  }
+
+  /** ask for a viewport, the left border and width are rounded to multiples of 64 */
+  public synchronized void subscribe(final int x, final int y, final int width, final int height)
+      throws IOException {
+    this.out.writeInt(FrameProtocol.SUBSCRIBE);
+    this.out.writeInt(x);
+    this.out.writeInt(y);
+    this.out.writeInt(width);
+    this.out.writeInt(height);
+    this.out.flush();
+  }
+
+  /** generation of the last applied frame */
+  public long getGeneration() {
+    return this.generation;
+  }
+
+  /** number of frames received so far */
+  public long getReceived() {
+    return this.received;
+  }
+
+  /** viewport of the last applied frame as the server fitted it into the world */
+  public Rectangle getViewport() {
+    return new Rectangle(
+        this.viewportX, this.viewportY, this.viewportWidth, this.viewportHeight);
+  }
+
+  /** packed words of the viewport of the last applied frame */
+  public long[] getWords() {
+    return this.words.clone();
+  }
+
+  /** receive and show frames until the connection is closed */
+  public void run() throws IOException {
+    try {
+      while (true) {
+        this.receiveFrame();
+      }
+    } finally {
+      this.dispose();
+    }
+  }
+
+  /** receive, show and acknowledge one frame */
+  public void receiveFrame() throws IOException {
+    final var command = this.in.readInt();
+    if (command != FrameProtocol.FRAME) {
+      throw new IOException("unknown command " + command);
+    }
+    final var frameGeneration = this.in.readLong();
+    final var x = this.in.readInt();
+    final var y = this.in.readInt();
+    final var width = this.in.readInt();
+    final var height = this.in.readInt();
+    if (x != this.viewportX
+        || y != this.viewportY
+        || width != this.viewportWidth
+        || height != this.viewportHeight) {
+      // a new viewport starts empty on both sides
+      this.viewportX = x;
+      this.viewportY = y;
+      this.viewportWidth = width;
+      this.viewportHeight = height;
+      this.words = new long[(width >> 6) * height];
+      this.worldUI.set(new IntSet(this.uiWidth * this.uiHeight));
+    }
+    final var uiWordsPerRow = this.uiWidth >> 6;
+    final var wordsPerRow = width >> 6;
+    final var uiHeight = this.uiHeight;
+    FrameProtocol.readDelta(
+        this.in,
+        this.words,
+        (index, diff) -> {
+          // the viewport may be cut by the server, cells outside of the ui are ignored
+          final var row = index / wordsPerRow;
+          final var column = index % wordsPerRow;
+          if (row >= uiHeight || column >= uiWordsPerRow) {
+            return;
+          }
+          final var word = this.words[index];
+          final var base = (row * uiWordsPerRow + column) << 6;
+          var changed = diff;
+          while (changed != 0L) {
+            final var b = Long.numberOfTrailingZeros(changed);
+            this.worldUI.set(base + b, (word & (1L << b)) != 0L);
+            changed &= changed - 1L;
+          }
+        });
+    this.worldUI.draw();
+    this.generation = frameGeneration;
+    ++this.received;
+    synchronized (this) {
+      this.out.writeInt(FrameProtocol.ACK);
+      this.out.writeLong(frameGeneration);
+      this.out.flush();
+    }
+  }
+
+  @Override
+  public void dispose() {
+    try {
+      this.socket.close();
+    } catch (final IOException e) {
+      // already closed
+    }
+  }
+}
@@ -0,0 +1,309 @@
+package de.hhn.gameoflife.remote;
+
+import de.hhn.gameoflife.control_iface.Disposable;
+import de.hhn.gameoflife.control_iface.Drawable;
+import de.hhn.gameoflife.control_iface.GenerationListener;
+import de.hhn.gameoflife.data_structures.IntSet;
+import de.hhn.gameoflife.logic.Checkpointer;
+import de.hhn.gameoflife.logic.FillMode;
+import de.hhn.gameoflife.logic.Settings;
+import de.hhn.gameoflife.logic.Soup;
+import de.hhn.gameoflife.logic.World;
+import de.hhn.gameoflife.ui.FPS;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs a {@link World} without a desktop and streams it to {@link RemoteViewer}s over TCP.
+ *
+ * <p>The simulation thread only copies the world when a viewer is waiting for a new frame. Every
+ * viewer has its own thread that encodes the frame against the last one the viewer acknowledged,
+ * so slow viewers skip generations instead of slowing down the simulation or other viewers.
+ */
+public class SimulationServer implements GenerationListener, Disposable {
+  /**
+   * Start a server: width height port [generations per second] [seed] [density] [checkpoint dir]
+   *
+   * <p>With a checkpoint directory the run resumes from the newest valid checkpoint in it.
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 3) {
+      System.err.println(
+          "usage: SimulationServer <width> <height> <port> [generations/s] [seed] [density]"
+              + " [checkpoint dir]");
+      System.exit(2);
+    }
+    final var settings = new Settings(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+    final var port = Integer.parseInt(args[2]);
+    final var tps = args.length > 3 ? Double.parseDouble(args[3]) : 20d;
+    final var seed =
+        args.length > 4 ? Long.parseLong(args[4]) : ThreadLocalRandom.current().nextLong();
+    final var density = args.length > 5 ? Double.parseDouble(args[5]) : 0.5d;
+    final var world =
+        new World(
+            settings,
+            new Headless(),
+            new Soup(seed, density, FillMode.RANDOM),
+            new FPS(settings),
+            new Semaphore(1));
+    world.setTargetTps(tps);
+    if (args.length > 6) {
+      final var directory = new File(args[6]);
+      final var checkpoint = Checkpointer.loadLatest(directory, settings);
+      var generation = 0L;
+      if (checkpoint != null) {
+        world.restore(checkpoint.generation(), checkpoint.words());
+        generation = checkpoint.generation();
+        System.out.printf("Resuming from generation %d%n", generation);
+      }
+      world.addGenerationListener(
+          new Checkpointer(
+              settings,
+              directory,
+              generation,
+              SimulationServer.CHECKPOINT_GENERATIONS,
+              SimulationServer.CHECKPOINT_SECONDS,
+              SimulationServer.CHECKPOINTS_KEPT));
+    }
+    final var server = new SimulationServer(world, settings, port);
+    System.out.printf(
+        "Serving %dx%d world with seed %d on port %d%n",
+        settings.worldWidth(), settings.worldHeight(), seed, server.getPort());
+    world.setPaused(false);
+  }
+
+  /** generations between two checkpoints */
+  private static final long CHECKPOINT_GENERATIONS = 10_000L;
+
+  /** seconds between two checkpoints */
+  private static final long CHECKPOINT_SECONDS = 300L;
+
+  /** number of checkpoint files kept on disk */
+  private static final int CHECKPOINTS_KEPT = 3;
+
+  /** ui that draws nothing, the viewers do that */
+  private static final class Headless implements Drawable<IntSet> {
+    @Override
+    public void set(final IntSet data) {}
+
+    @Override
+    public void set(final int index, final boolean alife) {}
+
+    @Override
+    public void draw() {}
+
+    @Override
+    public void compose() {}
+
+    @Override
+    public void present() {}
+  }
+
+  private record Frame(long generation, long[] words) {}
+
+  private final World world;
+  private final int worldWidth;
+  private final int worldHeight;
+  private final ServerSocket serverSocket;
+  private final Thread acceptor;
+  private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+  private final Object frameLock = new Object();
+  private Frame latest;
+  /** number of viewers waiting for a frame newer than the latest one */
+  private volatile int waiting = 0;
+  private volatile boolean disposed = false;
+
+  public SimulationServer(final World world, final Settings settings, final int port)
+      throws IOException {
+    if (settings.worldWidth() < 64) {
+      throw new IllegalArgumentException("worldWidth must be at least 64");
+    }
+    this.world = world;
+    this.worldWidth = settings.worldWidth();
+    this.worldHeight = settings.worldHeight();
+    this.latest = new Frame(world.getGeneration(), world.getWorldData().toLongArray());
+    this.serverSocket = new ServerSocket(port);
+    this.acceptor = new Thread(this::accept, "simulation-server");
+    this.acceptor.setDaemon(false);
+    this.acceptor.start();
+    world.addGenerationListener(this);
+  }
+
+  /** port the server listens on */
+  public int getPort() {
+    return this.serverSocket.getLocalPort();
+  }
+
+  @Override
+  public void onGeneration(final long generation, final IntSet data) {
+    if (this.waiting == 0) {
+      return;
+    }
+    final var frame = new Frame(generation, data.toLongArray());
+    synchronized (this.frameLock) {
+      this.latest = frame;
+      this.frameLock.notifyAll();
+    }
+  }
+
+  @Override
+  public void dispose() {
+    if (this.disposed) {
+      return;
+    }
+    this.disposed = true;
+    this.world.removeGenerationListener(this);
+    try {
+      this.serverSocket.close();
+    } catch (final IOException e) {
+      e.printStackTrace();
+    }
+    for (final var client : this.clients) {
+      try {
+        client.close();
+      } catch (final IOException e) {
+        // already closed
+      }
+    }
+    synchronized (this.frameLock) {
+      this.frameLock.notifyAll();
+    }
+  }
+
+  private void accept() {
+    while (!this.disposed) {
+      try {
+        final var socket = this.serverSocket.accept();
+        socket.setTcpNoDelay(true);
+        this.clients.add(socket);
+        final var thread =
+            new Thread(() -> this.serve(socket), "simulation-server-" + socket.getPort());
+        thread.setDaemon(true);
+        thread.start();
+      } catch (final IOException e) {
+        if (!this.disposed) {
+          e.printStackTrace();
+        }
+      }
+    }
+  }
+
+  /** stream frames to one viewer until it disconnects */
+  private void serve(final Socket socket) {
+    try (socket) {
+      final var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      final var out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      var viewport = this.readSubscription(in);
+      var base = new long[viewport.wordCount()];
+      var sent = -1L;
+      while (!this.disposed) {
+        final var frame = this.awaitFrame(sent);
+        if (frame == null) {
+          return;
+        }
+        final var framed = viewport;
+        final var words = framed.extract(frame.words());
+        out.writeInt(FrameProtocol.FRAME);
+        out.writeLong(frame.generation());
+        out.writeInt(framed.x());
+        out.writeInt(framed.y());
+        out.writeInt(framed.width());
+        out.writeInt(framed.height());
+        FrameProtocol.writeDelta(out, words, base);
+        out.flush();
+        sent = frame.generation();
+
+        // wait for the acknowledgement, the viewer may change its viewport in between
+        while (true) {
+          final var command = in.readInt();
+          if (command == FrameProtocol.ACK) {
+            if (in.readLong() != sent) {
+              throw new IOException("acknowledged a frame that was not sent");
+            }
+            base = words;
+            break;
+          }
+          if (command != FrameProtocol.SUBSCRIBE) {
+            throw new IOException("unknown command " + command);
+          }
+          viewport = this.readViewport(in);
+        }
+        if (!viewport.equals(framed)) {
+          // the viewer clears its state only when the fitted viewport changes, so does the server
+          base = new long[viewport.wordCount()];
+        }
+      }
+    } catch (final IOException e) {
+      // the viewer disconnected
+    } finally {
+      this.clients.remove(socket);
+    }
+  }
+
+  /** block until there is a frame newer than the given generation */
+  private Frame awaitFrame(final long sent) {
+    synchronized (this.frameLock) {
+      ++this.waiting;
+      try {
+        while (this.latest.generation() <= sent && !this.disposed) {
+          this.frameLock.wait();
+        }
+        return this.disposed ? null : this.latest;
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      } finally {
+        --this.waiting;
+      }
+    }
+  }
+
+  private Viewport readSubscription(final DataInputStream in) throws IOException {
+    final var command = in.readInt();
+    if (command != FrameProtocol.SUBSCRIBE) {
+      throw new IOException("expected a subscription, got command " + command);
+    }
+    return this.readViewport(in);
+  }
+
+  /** read a viewport and fit it into the world */
+  private Viewport readViewport(final DataInputStream in) throws IOException {
+    final var x = Math.floorMod(in.readInt(), this.worldWidth) & ~63;
+    final var y = Math.floorMod(in.readInt(), this.worldHeight);
+    final var width = Math.max(64, Math.min(in.readInt(), this.worldWidth - x) & ~63);
+    final var height = Math.max(1, Math.min(in.readInt(), this.worldHeight - y));
+    return new Viewport(x, y, width, height, this.worldWidth >> 6);
+  }
+
+  /** rectangle of the world a viewer is interested in */
+  private record Viewport(int x, int y, int width, int height, int worldWordsPerRow) {
+    int wordCount() {
+      return (this.width >> 6) * this.height;
+    }
+
+    /** copy the words inside the viewport */
+    long[] extract(final long[] world) {
+      final var wordsPerRow = this.width >> 6;
+      final var words = new long[this.wordCount()];
+      for (var row = 0; row < this.height; ++row) {
+        System.arraycopy(
+            world,
+            (this.y + row) * this.worldWordsPerRow + (this.x >> 6),
+            words,
+            row * wordsPerRow,
+            wordsPerRow);
+      }
+      return words;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package de.hhn.gameoflife.ui;
+
+import de.hhn.gameoflife.control_iface.Disposable;
+import de.hhn.gameoflife.control_iface.Hideable;
+import de.hhn.gameoflife.logic.ChunkedWorld;
+import de.hhn.gameoflife.logic.HiddenPolicy;
+import de.hhn.gameoflife.logic.Settings;
+import de.hhn.gameoflife.util.DIContainer;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.swing.BoxLayout;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+/**
+ * Game panel for worlds that are too large for {@link GamePanel}.
+ *
+ * <p>Shows an overview of a {@link ChunkedWorld}, clicking sets the cell in the center of the
+ * clicked pixel.
+ */
+public class ChunkedGamePanel extends JPanel implements Disposable, Hideable {
+  /** side length of the soup that is placed in the center of the world */
+  private static final long SOUP_SIDE = 1024L;
+
+  /** time between two statistic updates in milliseconds */
+  private static final int STATISTICS_INTERVAL = 250;
+
+  private final ChunkedWorld world;
+  private final ChunkedWorldUI worldUI;
+  private final DIContainer diContainer = new DIContainer();
+  private final Timer statisticsTimer;
+  private boolean disposed = false;
+
+  public ChunkedGamePanel(final int width, final int height) {
+    this.diContainer.addSingleton(new Settings(width, height));
+    this.diContainer.addSingleton(ChunkedWorldUI.class);
+    this.diContainer.addSingleton(ChunkedWorld.class);
+
+    this.worldUI = this.diContainer.get(ChunkedWorldUI.class);
+    this.world = this.diContainer.get(ChunkedWorld.class);
+
+    this.setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+    final var statisticsLabel = new JLabel();
+    statisticsLabel.setFocusable(false);
+    this.add(statisticsLabel);
+    this.add(this.worldUI);
+    this.worldUI.setFocusable(false);
+    this.worldUI.addMouseListener(
+        new MouseAdapter() {
+          @Override
+          public void mouseClicked(final MouseEvent e) {
+            final var ui = ChunkedGamePanel.this.worldUI;
+            final var w = ChunkedGamePanel.this.world;
+            final var x = (long) ((double) e.getX() / ui.getWidth() * w.getWorldWidth());
+            final var y = (long) ((double) e.getY() / ui.getHeight() * w.getWorldHeight());
+            w.setCell(x, y, true);
+          }
+        });
+
+    this.statisticsTimer =
+        new Timer(
+            ChunkedGamePanel.STATISTICS_INTERVAL,
+            e ->
+                statisticsLabel.setText(
+                    String.format(
+                        "Generation %d, %.1f gen/s, Population %d (+%d / -%d), Chunks %d / %d",
+                        this.world.getGeneration(),
+                        this.world.getAchievedTps(),
+                        this.world.getPopulation(),
+                        this.world.getBirths(),
+                        this.world.getDeaths(),
+                        this.world.getAllocatedChunks(),
+                        this.world.getSteppedChunks())));
+    this.statisticsTimer.start();
+
+    this.randomize();
+  }
+
+  /** toggle the paused state and return the new state */
+  public boolean togglePaused() {
+    return this.world.togglePaused();
+  }
+
+  /** place a new random soup in the center of the world */
+  public void randomize() {
+    this.world.randomize(
+        ThreadLocalRandom.current().nextLong(), 0.5d, ChunkedGamePanel.SOUP_SIDE);
+  }
+
+  /** kill all cells */
+  public void clear() {
+    this.world.clear();
+  }
+
+  /** Set the number of generations per second, 0 or less is unthrottled */
+  public void setTargetTps(final double tps) {
+    this.world.setTargetTps(tps);
+  }
+
+  /** tell the world whether this panel can be seen, hidden worlds do not render */
+  @Override
+  public void setHidden(final boolean hidden) {
+    this.world.setHidden(hidden);
+  }
+
+  /** set what the world does while this panel can not be seen */
+  @Override
+  public void setHiddenPolicy(final HiddenPolicy hiddenPolicy) {
+    this.world.setHiddenPolicy(hiddenPolicy);
+  }
+
+  /** free resources */
+  @Override
+  public void dispose() {
+    if (this.disposed) {
+      return;
+    }
+    this.disposed = true;
+    this.statisticsTimer.stop();
+    this.world.dispose();
+    this.worldUI.dispose();
+    this.diContainer.dispose();
+  }
+}
@@ -0,0 +1,97 @@
+package de.hhn.gameoflife.ui;
+
+import de.hhn.gameoflife.data_structures.ChunkedBitGrid;
+import de.hhn.gameoflife.logic.Settings;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import javax.swing.JPanel;
+
+/**
+ * component to render an overview of a chunked world
+ *
+ * <p>Every pixel shows a square block of cells and is lit if any of them is alive. Only allocated
+ * chunks are visited, so drawing a mostly empty world is cheap.
+ */
+public class ChunkedWorldUI extends JPanel {
+  /** maximum side length of the overview image in pixels */
+  private static final int MAX_IMAGE_SIZE = 1024;
+
+  private final BufferedImage image;
+  private final int[] pixels;
+  private final int imageWidth;
+  private final int logScale;
+  private int colorAlive = 0xffffff;
+  private int colorDead = 0x000000;
+
+  public ChunkedWorldUI(final Settings settings) {
+    final var longestSide = Math.max(settings.worldWidth(), settings.worldHeight());
+    final var scale = Math.max(1, longestSide / ChunkedWorldUI.MAX_IMAGE_SIZE);
+    this.logScale = Integer.numberOfTrailingZeros(scale);
+    this.imageWidth = settings.worldWidth() >> this.logScale;
+    final var imageHeight = settings.worldHeight() >> this.logScale;
+    this.image = new BufferedImage(this.imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+    this.pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+    Arrays.fill(this.pixels, this.colorDead);
+  }
+
+  /** number of cells per pixel in each direction */
+  public int getScale() {
+    return 1 << this.logScale;
+  }
+
+  /** render the living cells of the grid into the overview image */
+  public void set(final ChunkedBitGrid grid) {
+    Arrays.fill(this.pixels, this.colorDead);
+    final var chunksX = grid.getChunksX();
+    final var words = ChunkedBitGrid.WORDS_PER_ROW;
+    for (var i = 0; i < grid.getChunkCount(); ++i) {
+      final var chunk = grid.getChunk(i);
+      if (chunk == null) {
+        continue;
+      }
+      final var left = (long) (i % chunksX) << ChunkedBitGrid.CHUNK_BITS;
+      final var top = (long) (i / chunksX) << ChunkedBitGrid.CHUNK_BITS;
+      for (var r = 0; r < ChunkedBitGrid.CHUNK_SIZE; ++r) {
+        final var row = (int) ((top + r) >> this.logScale) * this.imageWidth;
+        for (var k = 0; k < words; ++k) {
+          var word = chunk[r * words + k];
+          final var x = left + ((long) k << 6);
+          if (this.logScale >= 6) {
+            // the whole word is inside of one pixel
+            if (word != 0L) {
+              this.pixels[row + (int) (x >> this.logScale)] = this.colorAlive;
+            }
+            continue;
+          }
+          while (word != 0L) {
+            final var b = Long.numberOfTrailingZeros(word);
+            this.pixels[row + (int) ((x + b) >> this.logScale)] = this.colorAlive;
+            word &= word - 1L;
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public void paintComponent(final Graphics g) {
+    g.drawImage(this.image, 0, 0, this.getWidth(), this.getHeight(), null);
+  }
+
+  /** draw the overview image */
+  public void draw() {
+    final var g = this.getGraphics();
+    if (g == null) {
+      return;
+    }
+    g.drawImage(this.image, 0, 0, this.getWidth(), this.getHeight(), null);
+    g.dispose();
+  }
+
+  /** free resources */
+  public void dispose() {
+    this.image.flush();
+  }
+}
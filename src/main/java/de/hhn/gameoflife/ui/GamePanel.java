@@ -1,11 +1,21 @@
 package de.hhn.gameoflife.ui;
 
-import static de.hhn.gameoflife.util.State.useState;
-
 import de.hhn.gameoflife.control_iface.Disposable;
-import de.hhn.gameoflife.logic.DrawingStyle;
+import de.hhn.gameoflife.control_iface.Hideable;
+import de.hhn.gameoflife.data_structures.BitPattern;
+import de.hhn.gameoflife.events.ImageLoadEvent;
+import de.hhn.gameoflife.events.ImageSaveEvent;
+import de.hhn.gameoflife.logic.Checkpointer;
+import de.hhn.gameoflife.logic.FillMode;
+import de.hhn.gameoflife.logic.FrameDropPolicy;
+import de.hhn.gameoflife.logic.HiddenPolicy;
+import de.hhn.gameoflife.logic.Orientation;
+import de.hhn.gameoflife.logic.Recorder;
+import de.hhn.gameoflife.logic.RecordingFormat;
 import de.hhn.gameoflife.logic.Settings;
+import de.hhn.gameoflife.logic.SimulationPriority;
 import de.hhn.gameoflife.logic.Snake;
+import de.hhn.gameoflife.logic.Soup;
 import de.hhn.gameoflife.logic.World;
 import de.hhn.gameoflife.util.DIContainer;
 import de.hhn.gameoflife.util.Dithering;
@@ -17,19 +27,47 @@ import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.util.Arrays;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.UnaryOperator;
 import javax.imageio.ImageIO;
+import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JSlider;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
 /**
  * The main game panel.
  *
  * <p>This class encapsulates a Game of Life. Independent of the Window management.
  */
-public class GamePanel extends JPanel implements Disposable {
+public class GamePanel extends JPanel implements Disposable, Hideable {
+
+  /** generations between two checkpoints */
+  private static final long CHECKPOINT_GENERATIONS = 10_000L;
+
+  /** seconds between two checkpoints */
+  private static final long CHECKPOINT_SECONDS = 300L;
+
+  /** number of checkpoint files kept on disk */
+  private static final int CHECKPOINTS_KEPT = 3;
+
+  /** time between two batches of a pen stroke */
+  private static final int STROKE_FRAME_MILLIS = 16;
+
+  /** cells copied or cut from any game, shared like a system clipboard */
+  private static volatile BitPattern clipboard;
+
+  private static String formatTargetTps(final double tps) {
+    if (tps <= 0d) {
+      return "Target: unthrottled";
+    }
+    return String.format("Target: %.1f generations/s (%.1f ms)", tps, 1_000d / tps);
+  }
 
   private final World world;
   private final WorldUI worldUI;
@@ -39,15 +77,39 @@ public class GamePanel extends JPanel implements Disposable {
   private final DIContainer diContainer = new DIContainer();
   private boolean disposed = false;
   private boolean drawing = true;
-  private DrawingStyle ds = DrawingStyle.BLOCK;
+  private int brushRadius = 0;
+  private BitPattern brush = GamePanel.makeBrush(0);
+  /** cells of the stroke that are not drawn yet, x and y of each */
+  private int[] stroke = new int[64];
+  private int strokeLength = 0;
+  /** last drawn cell of the stroke, null before the first one */
+  private Point strokeEnd;
+  private boolean strokeAlive;
+  /** draws the collected cells of a stroke at most once per frame */
+  private final Timer strokeTimer =
+      new Timer(GamePanel.STROKE_FRAME_MILLIS, e -> this.flushStroke());
+  /** whether dragging the mouse selects a rectangle */
+  private boolean selecting = false;
+  /** pattern stamped on click, null until one is chosen */
+  private BitPattern pattern;
+  private Orientation orientation = Orientation.ORIGINAL;
+  /** the pattern in its orientation */
+  private BitPattern stampPattern;
   private final Semaphore worldDataSem = new Semaphore(1);
+  private Recorder recorder;
+  private Checkpointer checkpointer;
+  private Snake snake;
+  private FrameDropPolicy frameDropPolicy = FrameDropPolicy.DROP_OLDEST;
 
   public GamePanel(final int width, final int height) {
     this.diContainer.addSingleton(new Settings(width, height));
+    this.diContainer.addSingleton(
+        new Soup(ThreadLocalRandom.current().nextLong(), 0.5d, FillMode.RANDOM));
     this.diContainer.addSingleton(World.class);
     this.diContainer.addSingleton(WorldUI.class);
     this.diContainer.addSingleton(Snake.class);
     this.diContainer.addSingleton(FPS.class);
+    this.diContainer.addSingleton(StatisticsLabel.class);
     this.diContainer.addSingleton(this.worldDataSem);
 
     this.worldWidth = width;
@@ -61,10 +123,19 @@ public class GamePanel extends JPanel implements Disposable {
     // frame time label
     this.fpsLabel = this.diContainer.get(FPS.class);
     this.fpsLabel.setFocusable(false);
-    this.add(this.fpsLabel);
+    // population statistics next to the frame time
+    final var statisticsLabel = this.diContainer.get(StatisticsLabel.class);
+    statisticsLabel.setFocusable(false);
+    this.world.addGenerationListener(statisticsLabel);
+    final var labelRow = new JPanel();
+    labelRow.setLayout(new BoxLayout(labelRow, BoxLayout.X_AXIS));
+    labelRow.add(this.fpsLabel);
+    labelRow.add(Box.createHorizontalStrut(16));
+    labelRow.add(statisticsLabel);
+    this.add(labelRow);
     // min tick time slider (delay)
-    final var minTickTimeLabel =
-        new JLabel(String.format("Min Tick Time (%sms)", this.world.getMinTickTime()));
+    // the slider position is mapped quadratic to the tick period, zero is unthrottled
+    final var minTickTimeLabel = new JLabel(GamePanel.formatTargetTps(this.world.getTargetTps()));
     this.add(minTickTimeLabel);
     final var minTickTimeSlider =
         new JSlider(0, 100, (int) Math.round(Math.sqrt(this.world.getMinTickTime()) * Math.PI));
@@ -75,9 +146,9 @@ public class GamePanel extends JPanel implements Disposable {
     minTickTimeSlider.addChangeListener(
         e -> {
           final var x = minTickTimeSlider.getValue();
-          this.world.setMinTickTime((int) Math.pow(x / Math.PI, 2));
-          minTickTimeLabel.setText(
-              String.format("Min Tick Time (%d ms)", this.world.getMinTickTime()));
+          final var periodMs = Math.pow(x / Math.PI, 2);
+          this.world.setTargetTps(x == 0 ? 0d : 1_000d / periodMs);
+          minTickTimeLabel.setText(GamePanel.formatTargetTps(this.world.getTargetTps()));
         });
     this.add(minTickTimeSlider);
 
@@ -85,53 +156,43 @@ public class GamePanel extends JPanel implements Disposable {
     this.worldUI = this.diContainer.get(WorldUI.class);
     this.add(this.worldUI);
     this.worldUI.setFocusable(false);
+    this.strokeTimer.setRepeats(false);
     // add mouse listener to toggle cells
-    final var drawNewState = useState(false);
-    final var wasPaused = useState(false);
+    // edits are queued and applied by the simulation thread, the EDT never waits for the world
+    final var selectionStart = new Point();
     final var relativeBoundingRect = new Rectangle(0, 0, 0, 0);
     this.worldUI.addMouseListener(
         new MouseListener() {
           @Override
           public void mouseClicked(final MouseEvent e) {
-            if (GamePanel.this.drawing) {
+            if (GamePanel.this.drawing
+                || GamePanel.this.selecting
+                || GamePanel.this.stampPattern == null) {
               return;
             }
-            try {
-              GamePanel.this.worldDataSem.acquireUninterruptibly();
-              GamePanel.this.togglePoints(e.getPoint(), GamePanel.this.ds.getStructure());
-            } finally {
-              GamePanel.this.worldDataSem.release();
-            }
+            GamePanel.this.stamp(e.getPoint(), GamePanel.this.stampPattern, true);
           }
 
           @Override
           public void mousePressed(final MouseEvent e) {
-            if (!GamePanel.this.drawing) {
+            if (GamePanel.this.selecting) {
+              selectionStart.setLocation(GamePanel.this.cellAt(e.getPoint()));
+              GamePanel.this.worldUI.setSelection(
+                  new Rectangle(selectionStart.x, selectionStart.y, 1, 1));
               return;
             }
-            try {
-              GamePanel.this.worldDataSem.acquireUninterruptibly();
-              wasPaused.set(GamePanel.this.world.getPaused());
-              GamePanel.this.world.setPaused(true);
-              relativeBoundingRect.setSize(
-                  GamePanel.this.worldUI.getWidth(), GamePanel.this.worldUI.getHeight());
-
-              drawNewState.set(GamePanel.this.togglePoint(e.getPoint()));
-            } finally {
-              GamePanel.this.worldDataSem.release();
+            if (!GamePanel.this.drawing) {
+              return;
             }
+            relativeBoundingRect.setSize(
+                GamePanel.this.worldUI.getWidth(), GamePanel.this.worldUI.getHeight());
+            GamePanel.this.beginStroke(e.getPoint());
           }
 
           @Override
           public void mouseReleased(final MouseEvent e) {
-            if (!drawing) {
-              return;
-            }
-            try {
-              GamePanel.this.worldDataSem.acquireUninterruptibly();
-              GamePanel.this.world.setPaused(wasPaused.get());
-            } finally {
-              GamePanel.this.worldDataSem.release();
+            if (GamePanel.this.drawing) {
+              GamePanel.this.endStroke();
             }
           }
 
@@ -146,6 +207,15 @@ public class GamePanel extends JPanel implements Disposable {
         new MouseMotionListener() {
           @Override
           public void mouseDragged(final MouseEvent e) {
+            if (GamePanel.this.selecting) {
+              final var cell = GamePanel.this.cellAt(e.getPoint());
+              final var selection = new Rectangle(selectionStart);
+              selection.add(cell);
+              // the rectangle contains both cells
+              selection.setSize(selection.width + 1, selection.height + 1);
+              GamePanel.this.worldUI.setSelection(selection);
+              return;
+            }
             if (!drawing) {
               return;
             }
@@ -154,12 +224,7 @@ public class GamePanel extends JPanel implements Disposable {
               return;
             }
 
-            try {
-              GamePanel.this.worldDataSem.acquireUninterruptibly();
-              GamePanel.this.togglePoint(e.getPoint(), drawNewState.get());
-            } finally {
-              GamePanel.this.worldDataSem.release();
-            }
+            GamePanel.this.continueStroke(e.getPoint());
           }
 
           @Override
@@ -167,58 +232,246 @@ public class GamePanel extends JPanel implements Disposable {
         });
   }
 
-  public void setDrawingStyle(final DrawingStyle ds) {
-    this.ds = ds;
+  /** stamp the given pattern on click instead of drawing with the pen */
+  public void setPattern(final BitPattern pattern) {
+    this.pattern = pattern;
+    this.stampPattern = this.orientation.apply(pattern);
+    this.drawing = false;
+    this.selecting = false;
+  }
+
+  public Orientation getOrientation() {
+    return this.orientation;
+  }
+
+  /** rotate and mirror the pattern */
+  public void setOrientation(final Orientation orientation) {
+    this.orientation = orientation;
+    if (this.pattern != null) {
+      this.stampPattern = orientation.apply(this.pattern);
+    }
   }
 
   public void setDrawing(final boolean value) {
     drawing = value;
+    if (value) {
+      this.selecting = false;
+    }
+  }
+
+  /** select a rectangle by dragging the mouse instead of drawing */
+  public void setSelecting(final boolean value) {
+    this.selecting = value;
+    if (value) {
+      this.drawing = false;
+    }
+  }
+
+  /** the selected cells, null if nothing is selected */
+  public Rectangle getSelection() {
+    return this.worldUI.getSelection();
+  }
+
+  public void selectNone() {
+    this.worldUI.setSelection(null);
+  }
+
+  /** copy the selected cells into the clipboard */
+  public void copySelection() {
+    final var selection = this.getSelection();
+    if (selection == null) {
+      return;
+    }
+    this.world.edit(
+        world ->
+            GamePanel.clipboard =
+                world.copy(selection.x, selection.y, selection.width, selection.height));
+  }
+
+  /** move the selected cells into the clipboard */
+  public void cutSelection() {
+    final var selection = this.getSelection();
+    if (selection == null) {
+      return;
+    }
+    this.world.edit(
+        world -> {
+          GamePanel.clipboard =
+              world.copy(selection.x, selection.y, selection.width, selection.height);
+          world.clear(selection.x, selection.y, selection.width, selection.height);
+        });
+  }
+
+  /** kill the selected cells */
+  public void deleteSelection() {
+    final var selection = this.getSelection();
+    if (selection == null) {
+      return;
+    }
+    this.world.edit(
+        world -> world.clear(selection.x, selection.y, selection.width, selection.height));
   }
 
   /**
-   * Sets the state of the cell at the given point to the given state.
+   * Stamp the clipboard on the next click.
    *
-   * @param point the point to toggle
-   * @param state the new state of the cell
+   * @return false if the clipboard is empty
    */
-  public void togglePoint(final Point point, final boolean state) {
-    final var cellWidth = (double) GamePanel.this.worldUI.getWidth() / (double) this.worldWidth;
-    final var cellHeight = (double) GamePanel.this.worldUI.getHeight() / (double) this.worldHeight;
-    final var x = (int) (point.x / cellWidth);
-    final var y = (int) (point.y / cellHeight);
-    this.world.togglePoint(x, y, state);
-    this.worldUI.draw();
+  public boolean paste() {
+    final var clipboard = GamePanel.clipboard;
+    if (clipboard == null) {
+      return false;
+    }
+    this.setPattern(clipboard);
+    return true;
+  }
+
+  /** rotate the selected cells a quarter turn clockwise around the top left corner */
+  public void rotateSelection() {
+    this.transformSelection(BitPattern::rotate, true);
+  }
+
+  /** mirror the selected cells from left to right */
+  public void mirrorSelection() {
+    this.transformSelection(BitPattern::mirror, false);
+  }
+
+  /** mirror the selected cells from top to bottom */
+  public void flipSelection() {
+    this.transformSelection(BitPattern::flip, false);
+  }
+
+  /** replace the selected cells by the transformed ones, the top left corner stays in place */
+  private void transformSelection(
+      final UnaryOperator<BitPattern> transform, final boolean swapsSides) {
+    final var selection = this.getSelection();
+    if (selection == null) {
+      return;
+    }
+    this.world.edit(
+        world -> {
+          final var cells = world.copy(selection.x, selection.y, selection.width, selection.height);
+          world.clear(selection.x, selection.y, selection.width, selection.height);
+          world.stamp(transform.apply(cells), selection.x, selection.y, true);
+        });
+    if (swapsSides) {
+      this.worldUI.setSelection(
+          new Rectangle(
+              selection.x,
+              selection.y,
+              Math.min(selection.height, this.worldWidth),
+              Math.min(selection.width, this.worldHeight)));
+    }
+  }
+
+  /** the cell below the given point of the world ui */
+  private Point cellAt(final Point point) {
+    final var cellWidth = (double) this.worldUI.getWidth() / (double) this.worldWidth;
+    final var cellHeight = (double) this.worldUI.getHeight() / (double) this.worldHeight;
+    return new Point(
+        Math.max(0, Math.min(this.worldWidth - 1, (int) (point.x / cellWidth))),
+        Math.max(0, Math.min(this.worldHeight - 1, (int) (point.y / cellHeight))));
+  }
+
+  public int getBrushRadius() {
+    return this.brushRadius;
+  }
+
+  /** Set the radius of the pen, 0 draws single cells */
+  public void setBrushRadius(final int radius) {
+    this.brushRadius = radius;
+    this.brush = GamePanel.makeBrush(radius);
+  }
+
+  /** a disk of living cells with the given radius */
+  private static BitPattern makeBrush(final int radius) {
+    final var size = 2 * radius + 1;
+    final var cells = new boolean[size][size];
+    for (var dy = -radius; dy <= radius; ++dy) {
+      for (var dx = -radius; dx <= radius; ++dx) {
+        cells[dy + radius][dx + radius] = dx * dx + dy * dy <= radius * radius + radius;
+      }
+    }
+    return BitPattern.compile(cells);
   }
 
   /**
-   * Toggles the state of the cell at the given point and returns its new state.
+   * Begin a stroke of the pen at the given point.
    *
-   * @param point the point to toggle
-   * @return the new state of the cell
+   * <p>The stroke gives birth if the cell at the point is dead and kills otherwise. The state is
+   * read from the current generation.
    */
-  public boolean togglePoint(final Point point) {
-    final var cellWidth = (double) GamePanel.this.worldUI.getWidth() / (double) this.worldWidth;
-    final var cellHeight = (double) GamePanel.this.worldUI.getHeight() / (double) this.worldHeight;
-    final var x = (int) (point.x / cellWidth);
-    final var y = (int) (point.y / cellHeight);
-    final var state = this.world.togglePoint(x, y);
-    this.worldUI.draw();
-    return state;
+  public void beginStroke(final Point point) {
+    final var cell = this.cellAt(point);
+    this.strokeAlive = !this.world.getWorldData().contains(cell.y * this.worldWidth + cell.x);
+    this.strokeEnd = null;
+    this.strokeLength = 0;
+    this.appendStroke(cell);
+    this.flushStroke();
+  }
+
+  /** continue the stroke to the given point, the new points are drawn once per frame */
+  public void continueStroke(final Point point) {
+    final var cell = this.cellAt(point);
+    final var last =
+        this.strokeLength != 0
+            ? new Point(this.stroke[this.strokeLength - 2], this.stroke[this.strokeLength - 1])
+            : this.strokeEnd;
+    if (cell.equals(last)) {
+      return;
+    }
+    this.appendStroke(cell);
+    if (!this.strokeTimer.isRunning()) {
+      this.strokeTimer.start();
+    }
+  }
+
+  /** draw the rest of the stroke */
+  public void endStroke() {
+    this.strokeTimer.stop();
+    this.flushStroke();
   }
 
-  public void togglePoints(final Point point, final Boolean[][] structure) {
+  private void appendStroke(final Point cell) {
+    if (this.strokeLength + 2 > this.stroke.length) {
+      this.stroke = Arrays.copyOf(this.stroke, this.stroke.length * 2);
+    }
+    this.stroke[this.strokeLength++] = cell.x;
+    this.stroke[this.strokeLength++] = cell.y;
+  }
+
+  /** queue one edit that draws all new points of the stroke, connected to the last drawn one */
+  private void flushStroke() {
+    if (this.strokeLength == 0) {
+      return;
+    }
+    final var start = this.strokeEnd == null ? 0 : 2;
+    final var points = new int[start + this.strokeLength];
+    if (this.strokeEnd != null) {
+      points[0] = this.strokeEnd.x;
+      points[1] = this.strokeEnd.y;
+    }
+    System.arraycopy(this.stroke, 0, points, start, this.strokeLength);
+    this.strokeEnd = new Point(points[points.length - 2], points[points.length - 1]);
+    this.strokeLength = 0;
+    final var brush = this.brush;
+    final var alive = this.strokeAlive;
+    this.world.edit(world -> world.drawStroke(points, points.length, brush, alive));
+  }
+
+  /**
+   * Stamps a pattern with its top left corner at the cell of the given point.
+   *
+   * @param point the point of the top left corner
+   * @param pattern the pattern to stamp, it wraps around the edges of the world
+   * @param overwrite whether the dead cells of the pattern clear the world
+   */
+  public void stamp(final Point point, final BitPattern pattern, final boolean overwrite) {
     final var cellWidth = (double) GamePanel.this.worldUI.getWidth() / (double) this.worldWidth;
     final var cellHeight = (double) GamePanel.this.worldUI.getHeight() / (double) this.worldHeight;
-    final var xStart = (int) (point.x / cellWidth);
-    final var yStart = (int) (point.y / cellHeight);
-    for (var y = 0; y < structure.length; y++) {
-      final var row = structure[y];
-      for (var x = 0; x < row.length; x++) {
-        final var state = row[x];
-        this.world.togglePoint(x + xStart, y + yStart, state);
-      }
-    }
-    this.worldUI.draw();
+    final var x = (int) (point.x / cellWidth);
+    final var y = (int) (point.y / cellHeight);
+    this.world.edit(world -> world.stamp(pattern, x, y, overwrite));
   }
 
   /** free resources */
@@ -227,7 +480,14 @@ public class GamePanel extends JPanel implements Disposable {
       return;
     }
     this.disposed = true;
+    this.strokeTimer.stop();
+    this.stopRecording();
+    this.stopCheckpoints();
     this.worldUI.dispose();
+    // the snake reads the cells on the timer thread, it has to stop before they are released
+    if (this.snake != null) {
+      this.snake.dispose();
+    }
     this.world.dispose();
     this.diContainer.dispose();
   }
@@ -244,8 +504,7 @@ public class GamePanel extends JPanel implements Disposable {
       return;
     }
     this.worldUI.setAliveColor(color);
-    this.worldUI.set(this.world.getWorldData());
-    this.worldUI.draw();
+    this.world.redraw();
   }
 
   public Color getDeadColor() {
@@ -260,14 +519,17 @@ public class GamePanel extends JPanel implements Disposable {
       return;
     }
     this.worldUI.setDeadColor(color);
-    this.worldUI.set(this.world.getWorldData());
-    this.worldUI.draw();
+    this.world.redraw();
   }
 
   /** load world data from an image file */
   public void load(final File imageFile) {
+    final var event = new ImageLoadEvent();
+    event.begin();
+    event.path = imageFile.getPath();
+    event.worldWidth = this.worldWidth;
+    event.worldHeight = this.worldHeight;
     try {
-      this.worldDataSem.acquire();
       BufferedImage img;
       try {
         img = ImageIO.read(imageFile);
@@ -286,13 +548,12 @@ public class GamePanel extends JPanel implements Disposable {
       // apply dithering filters
       Dithering.grayScale(resized);
       Dithering.floydSteinberg(resized);
-      // write pixels into world data
+      // queue the pixels as new world data, the image is not used by the world after this
       this.world.setDataFrom(resized);
       g.dispose();
-    } catch (final InterruptedException e) {
-      e.printStackTrace();
+      event.success = true;
     } finally {
-      this.worldDataSem.release();
+      event.commit();
     }
   }
 
@@ -305,15 +566,118 @@ public class GamePanel extends JPanel implements Disposable {
         dotIndex == -1 || dotIndex == fileName.length() - 1
             ? "png"
             : fileName.substring(dotIndex + 1);
+    final var event = new ImageSaveEvent();
+    event.begin();
+    event.path = imageFile.getPath();
+    event.format = ext;
+    try {
+      event.success = ImageIO.write(img, ext, imageFile);
+    } catch (final Exception e) {
+      Alert.show("Error", e.getMessage(), this.worldUI);
+    } finally {
+      event.commit();
+    }
+  }
+
+  /** start recording every generation into the given file or directory */
+  public void startRecording(final File target, final RecordingFormat format) {
+    this.stopRecording();
+    try {
+      this.recorder =
+          new Recorder(
+              this.diContainer.get(Settings.class),
+              target,
+              format,
+              this.worldUI.getAliveColor().getRGB(),
+              this.worldUI.getDeadColor().getRGB(),
+              1,
+              16,
+              this.frameDropPolicy,
+              Math.max(20, this.world.getMinTickTime()));
+      this.world.addGenerationListener(this.recorder);
+    } catch (final Exception e) {
+      this.recorder = null;
+      Alert.show("Error", e.getMessage(), this.worldUI);
+    }
+  }
+
+  /** stop the current recording and wait until all queued frames are written */
+  public void stopRecording() {
+    if (this.recorder == null) {
+      return;
+    }
+    this.world.removeGenerationListener(this.recorder);
+    this.recorder.dispose();
+    final var error = this.recorder.getError();
+    this.recorder = null;
+    if (error != null) {
+      Alert.show("Error", error.getMessage(), this.worldUI);
+    }
+  }
+
+  public boolean isRecording() {
+    return this.recorder != null;
+  }
+
+  /**
+   * Resume from the newest valid checkpoint in the directory and keep writing checkpoints into it.
+   */
+  public void startCheckpoints(final File directory) {
+    this.stopCheckpoints();
+    final var settings = this.diContainer.get(Settings.class);
     try {
-      ImageIO.write(img, ext, imageFile);
+      final var checkpoint = Checkpointer.loadLatest(directory, settings);
+      var generation = this.world.getGeneration();
+      if (checkpoint != null) {
+        this.world.restore(checkpoint.generation(), checkpoint.words());
+        generation = checkpoint.generation();
+      }
+      this.checkpointer =
+          new Checkpointer(
+              settings,
+              directory,
+              generation,
+              GamePanel.CHECKPOINT_GENERATIONS,
+              GamePanel.CHECKPOINT_SECONDS,
+              GamePanel.CHECKPOINTS_KEPT);
+      this.world.addGenerationListener(this.checkpointer);
     } catch (final Exception e) {
+      this.checkpointer = null;
       Alert.show("Error", e.getMessage(), this.worldUI);
     }
   }
 
+  /** stop writing checkpoints and wait until the pending one is written */
+  public void stopCheckpoints() {
+    if (this.checkpointer == null) {
+      return;
+    }
+    this.world.removeGenerationListener(this.checkpointer);
+    this.checkpointer.dispose();
+    final var error = this.checkpointer.getError();
+    this.checkpointer = null;
+    if (error != null) {
+      Alert.show("Error", error.getMessage(), this.worldUI);
+    }
+  }
+
+  public boolean isCheckpointing() {
+    return this.checkpointer != null;
+  }
+
+  public void setFrameDropPolicy(final FrameDropPolicy policy) {
+    this.frameDropPolicy = policy;
+  }
+
+  public FrameDropPolicy getFrameDropPolicy() {
+    return this.frameDropPolicy;
+  }
+
   public void clear() {
     this.world.clear();
+    // edits are applied in order, so the label reads the counters of the cleared world
+    final var statisticsLabel = this.diContainer.get(StatisticsLabel.class);
+    this.world.edit(world -> SwingUtilities.invokeLater(statisticsLabel::update));
   }
 
   public boolean togglePaused() {
@@ -324,10 +688,68 @@ public class GamePanel extends JPanel implements Disposable {
     this.world.setPaused(value);
   }
 
+  /** calculate the given number of generations per rendered frame */
+  public void setTurbo(final int generations) {
+    this.world.setTurbo(generations);
+  }
+
+  /** calculate as many generations per frame as fit into the frame time of the given rate */
+  public void setAdaptiveTurbo(final int framesPerSecond) {
+    this.world.setAdaptiveTurbo(1_000_000_000L / framesPerSecond);
+  }
+
+  /** set the share of the simulation workers this world gets */
+  public void setPriority(final SimulationPriority priority) {
+    this.world.setPriority(priority);
+  }
+
+  /** fill the world with a new random soup */
+  public void randomize(final Soup soup) {
+    this.world.randomize(soup);
+  }
+
+  /** let the given number of worker processes calculate the world, 0 calculates it here */
+  public void setWorkerProcesses(final int count) {
+    this.world
+        .setWorkerProcesses(count)
+        .exceptionally(
+            e -> {
+              SwingUtilities.invokeLater(
+                  () ->
+                      Alert.show(
+                          "Error",
+                          "Could not start worker processes: " + e.getMessage(),
+                          this.worldUI));
+              return null;
+            });
+  }
+
+  /** tell the world whether this panel can be seen, hidden worlds do not render */
+  @Override
+  public void setHidden(final boolean hidden) {
+    this.world.setHidden(hidden);
+  }
+
+  /** set what the world does while this panel can not be seen */
+  @Override
+  public void setHiddenPolicy(final HiddenPolicy hiddenPolicy) {
+    this.world.setHiddenPolicy(hiddenPolicy);
+  }
+
+  /** color the cells by their age with the given number of bits, 0 colors them alike */
+  public void setAgeBits(final int bits) {
+    this.world.setAgeBits(bits);
+  }
+
+  /** show where the cells change on top of the world */
+  public void setHeatmap(final boolean heatmap) {
+    this.world.setHeatmap(heatmap);
+  }
+
   public void snake() {
-    final var snake = this.diContainer.get(Snake.class);
-    snake.reset();
-    this.worldUI.snake(snake);
-    snake.start();
+    this.snake = this.diContainer.get(Snake.class);
+    this.snake.reset();
+    this.worldUI.snake(this.snake);
+    this.snake.start();
   }
 }
\ No newline at end of file
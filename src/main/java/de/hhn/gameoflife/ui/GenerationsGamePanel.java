@@ -0,0 +1,134 @@
+package de.hhn.gameoflife.ui;
+
+import de.hhn.gameoflife.control_iface.Disposable;
+import de.hhn.gameoflife.control_iface.Hideable;
+import de.hhn.gameoflife.logic.GenerationsWorld;
+import de.hhn.gameoflife.logic.HiddenPolicy;
+import de.hhn.gameoflife.logic.MultiStateEngine;
+import de.hhn.gameoflife.logic.Settings;
+import de.hhn.gameoflife.util.DIContainer;
+import java.awt.Color;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.swing.BoxLayout;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+/**
+ * Game panel for a {@link GenerationsWorld}, a world with more than two cell states.
+ *
+ * <p>Dying cells fade from blue to the dead color, clicking or dragging makes cells alive.
+ */
+public class GenerationsGamePanel extends JPanel implements Disposable, Hideable {
+  /** color of the first dying state */
+  private static final Color DYING_COLOR = new Color(0x2060ff);
+
+  /** time between two statistic updates in milliseconds */
+  private static final int STATISTICS_INTERVAL = 250;
+
+  private final GenerationsWorld world;
+  private final WorldUI worldUI;
+  private final DIContainer diContainer = new DIContainer();
+  private final Timer statisticsTimer;
+  private boolean disposed = false;
+
+  public GenerationsGamePanel(final int width, final int height, final MultiStateEngine engine) {
+    this.diContainer.addSingleton(new Settings(width, height));
+    this.diContainer.addSingleton(engine);
+    this.diContainer.addSingleton(WorldUI.class);
+    this.diContainer.addSingleton(GenerationsWorld.class);
+
+    this.worldUI = this.diContainer.get(WorldUI.class);
+    this.worldUI.setStates(engine.getStates(), GenerationsGamePanel.DYING_COLOR);
+    this.world = this.diContainer.get(GenerationsWorld.class);
+
+    this.setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+    final var statisticsLabel = new JLabel();
+    statisticsLabel.setFocusable(false);
+    this.add(statisticsLabel);
+    this.add(this.worldUI);
+    this.worldUI.setFocusable(false);
+    final var mouse =
+        new MouseAdapter() {
+          @Override
+          public void mousePressed(final MouseEvent e) {
+            this.mouseDragged(e);
+          }
+
+          @Override
+          public void mouseDragged(final MouseEvent e) {
+            final var ui = GenerationsGamePanel.this.worldUI;
+            final var w = GenerationsGamePanel.this.world;
+            final var x = (int) ((double) e.getX() / ui.getWidth() * w.getWorldWidth());
+            final var y = (int) ((double) e.getY() / ui.getHeight() * w.getWorldHeight());
+            if (x >= 0 && x < w.getWorldWidth() && y >= 0 && y < w.getWorldHeight()) {
+              w.setCell(x, y, 1);
+            }
+          }
+        };
+    this.worldUI.addMouseListener(mouse);
+    this.worldUI.addMouseMotionListener(mouse);
+
+    this.statisticsTimer =
+        new Timer(
+            GenerationsGamePanel.STATISTICS_INTERVAL,
+            e ->
+                statisticsLabel.setText(
+                    String.format(
+                        "%s, Generation %d, %.1f gen/s, Population %d",
+                        engine.getNotation(),
+                        this.world.getGeneration(),
+                        this.world.getAchievedTps(),
+                        this.world.getPopulation())));
+    this.statisticsTimer.start();
+
+    this.randomize();
+  }
+
+  /** toggle the paused state and return the new state */
+  public boolean togglePaused() {
+    return this.world.togglePaused();
+  }
+
+  /** fill the world with new random cells */
+  public void randomize() {
+    this.world.randomize(ThreadLocalRandom.current().nextLong(), 0.25d);
+  }
+
+  /** set all cells to state 0 */
+  public void clear() {
+    this.world.clear();
+  }
+
+  /** Set the number of generations per second, 0 or less is unthrottled */
+  public void setTargetTps(final double tps) {
+    this.world.setTargetTps(tps);
+  }
+
+  /** tell the world whether this panel can be seen, hidden worlds do not render */
+  @Override
+  public void setHidden(final boolean hidden) {
+    this.world.setHidden(hidden);
+  }
+
+  /** set what the world does while this panel can not be seen */
+  @Override
+  public void setHiddenPolicy(final HiddenPolicy hiddenPolicy) {
+    this.world.setHiddenPolicy(hiddenPolicy);
+  }
+
+  /** free resources */
+  @Override
+  public void dispose() {
+    if (this.disposed) {
+      return;
+    }
+    this.disposed = true;
+    this.statisticsTimer.stop();
+    this.world.dispose();
+    this.worldUI.dispose();
+    this.diContainer.dispose();
+  }
+}
@@ -1,11 +1,36 @@
 package de.hhn.gameoflife.ui;
 
-import de.hhn.gameoflife.logic.DrawingStyle;
-import de.hhn.gameoflife.logic.DrawingStyleCategory;
+import static de.hhn.gameoflife.util.State.useState;
+
+import de.hhn.gameoflife.control_iface.Disposable;
+import de.hhn.gameoflife.control_iface.Hideable;
+import de.hhn.gameoflife.logic.FillMode;
+import de.hhn.gameoflife.logic.FrameDropPolicy;
+import de.hhn.gameoflife.logic.GenerationsEngine;
+import de.hhn.gameoflife.logic.GenerationsPreset;
+import de.hhn.gameoflife.logic.HiddenPolicy;
+import de.hhn.gameoflife.logic.LtlEngine;
+import de.hhn.gameoflife.logic.LtlPreset;
+import de.hhn.gameoflife.logic.LtlRule;
+import de.hhn.gameoflife.logic.MultiStateEngine;
+import de.hhn.gameoflife.logic.Orientation;
+import de.hhn.gameoflife.logic.PatternEntry;
+import de.hhn.gameoflife.logic.PatternLibrary;
+import de.hhn.gameoflife.logic.RecordingFormat;
+import de.hhn.gameoflife.logic.SimulationPriority;
+import de.hhn.gameoflife.logic.SimulationScheduler;
 import de.hhn.gameoflife.logic.Snake;
+import de.hhn.gameoflife.logic.Soup;
 import java.awt.Dimension;
 import java.awt.GraphicsEnvironment;
-import java.util.HashMap;
+import java.awt.Rectangle;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.geom.Area;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.swing.ButtonGroup;
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JColorChooser;
 import javax.swing.JDesktopPane;
 import javax.swing.JFileChooser;
@@ -13,12 +38,18 @@ import javax.swing.JInternalFrame;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
+import javax.swing.JRadioButtonMenuItem;
 import javax.swing.event.InternalFrameAdapter;
 import javax.swing.event.InternalFrameEvent;
+import javax.swing.event.MenuEvent;
+import javax.swing.event.MenuListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
 /** A menu bar for the game. */
 public class MyMenuBar extends JMenuBar {
+  /** more patterns of a category are only found by searching */
+  private static final int MAX_MENU_PATTERNS = 50;
 
   private static final FileNameExtensionFilter imageFileFilter =
       new FileNameExtensionFilter("Image files", "jpg", "jpeg", "png", "gif");
@@ -68,6 +99,184 @@ public class MyMenuBar extends JMenuBar {
         });
     ctrlMenu.add(saveMenuItem);
 
+    // add a menu to calculate multiple generations per frame
+    final var turboMenu = new JMenu("Turbo");
+    final var turboGroup = new ButtonGroup();
+    for (final var generations : new int[] {1, 4, 16, 64, 256}) {
+      final var turboMenuItem =
+          new JRadioButtonMenuItem(
+              generations == 1 ? "Off" : String.format("%d Generations per Frame", generations));
+      turboMenuItem.setSelected(generations == 1);
+      turboMenuItem.addActionListener(
+          e -> {
+            final var gol = (GamePanel) inFrame.getContentPane();
+            gol.setTurbo(generations);
+          });
+      turboGroup.add(turboMenuItem);
+      turboMenu.add(turboMenuItem);
+    }
+    final var adaptiveTurboMenuItem = new JRadioButtonMenuItem("Adaptive (60 FPS)");
+    adaptiveTurboMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.setAdaptiveTurbo(60);
+        });
+    turboGroup.add(adaptiveTurboMenuItem);
+    turboMenu.add(adaptiveTurboMenuItem);
+    ctrlMenu.add(turboMenu);
+
+    // add a menu to set the share of the simulation workers this world gets
+    final var priorityMenu = new JMenu("Priority");
+    final var priorityGroup = new ButtonGroup();
+    for (final var priority : SimulationPriority.values()) {
+      final var priorityMenuItem = new JRadioButtonMenuItem(priority.getName());
+      priorityMenuItem.setSelected(priority == SimulationPriority.NORMAL);
+      priorityMenuItem.addActionListener(
+          e -> {
+            final var gol = (GamePanel) inFrame.getContentPane();
+            gol.setPriority(priority);
+          });
+      priorityGroup.add(priorityMenuItem);
+      priorityMenu.add(priorityMenuItem);
+    }
+    ctrlMenu.add(priorityMenu);
+
+    // add a menu to split the world into bands calculated by separate processes
+    final var workersMenu = new JMenu("Worker Processes");
+    final var workersGroup = new ButtonGroup();
+    for (final var count : new int[] {0, 2, 4}) {
+      final var workersMenuItem =
+          new JRadioButtonMenuItem(count == 0 ? "Off" : String.format("%d Processes", count));
+      workersMenuItem.setSelected(count == 0);
+      workersMenuItem.addActionListener(
+          e -> {
+            final var gol = (GamePanel) inFrame.getContentPane();
+            gol.setWorkerProcesses(count);
+          });
+      workersGroup.add(workersMenuItem);
+      workersMenu.add(workersMenuItem);
+    }
+    ctrlMenu.add(workersMenu);
+
+    // add a menu to choose what the world does while its window can not be seen
+    ctrlMenu.add(MyMenuBar.makeHiddenMenu(inFrame));
+
+    // add a menu to record the game into an animation
+    final var recordMenu = new JMenu("Record");
+    for (final var format : RecordingFormat.values()) {
+      final var formatMenuItem = new JMenuItem(format.getName());
+      formatMenuItem.addActionListener(
+          e -> {
+            final var gol = (GamePanel) inFrame.getContentPane();
+            final var fileChooser = new JFileChooser();
+            if (format == RecordingFormat.PNG_FRAMES) {
+              fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+            }
+            final var result = fileChooser.showSaveDialog(inFrame);
+            if (result == JFileChooser.APPROVE_OPTION) {
+              gol.startRecording(fileChooser.getSelectedFile(), format);
+            }
+          });
+      recordMenu.add(formatMenuItem);
+    }
+    final var stopRecordingMenuItem = new JMenuItem("Stop Recording");
+    stopRecordingMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.stopRecording();
+        });
+    recordMenu.add(stopRecordingMenuItem);
+    recordMenu.addSeparator();
+    final var dropPolicyGroup = new ButtonGroup();
+    for (final var policy : FrameDropPolicy.values()) {
+      final var policyMenuItem = new JRadioButtonMenuItem(policy.getName());
+      policyMenuItem.setSelected(policy == FrameDropPolicy.DROP_OLDEST);
+      policyMenuItem.addActionListener(
+          e -> {
+            final var gol = (GamePanel) inFrame.getContentPane();
+            gol.setFrameDropPolicy(policy);
+          });
+      dropPolicyGroup.add(policyMenuItem);
+      recordMenu.add(policyMenuItem);
+    }
+    ctrlMenu.add(recordMenu);
+
+    // add a menu to write checkpoints and resume from them
+    final var checkpointMenu = new JMenu("Checkpoints");
+    final var resumeMenuItem = new JMenuItem("Resume and Checkpoint To...");
+    resumeMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          final var fileChooser = new JFileChooser();
+          fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+          final var result = fileChooser.showOpenDialog(inFrame);
+          if (result == JFileChooser.APPROVE_OPTION) {
+            gol.startCheckpoints(fileChooser.getSelectedFile());
+          }
+        });
+    checkpointMenu.add(resumeMenuItem);
+    final var stopCheckpointsMenuItem = new JMenuItem("Stop Checkpoints");
+    stopCheckpointsMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.stopCheckpoints();
+        });
+    checkpointMenu.add(stopCheckpointsMenuItem);
+    ctrlMenu.add(checkpointMenu);
+
+    // add a menu to fill the world with a random soup
+    final var randomizeMenu = new JMenu("Randomize");
+    final var fillMode = useState(FillMode.RANDOM);
+    final var fillModeGroup = new ButtonGroup();
+    for (final var mode : FillMode.values()) {
+      final var fillModeMenuItem = new JRadioButtonMenuItem(mode.getName());
+      fillModeMenuItem.setSelected(mode == fillMode.get());
+      fillModeMenuItem.addActionListener(e -> fillMode.set(mode));
+      fillModeGroup.add(fillModeMenuItem);
+      randomizeMenu.add(fillModeMenuItem);
+    }
+    randomizeMenu.addSeparator();
+    final var density = useState(0.5d);
+    final var densityGroup = new ButtonGroup();
+    for (final var d : new double[] {0.1d, 0.25d, 0.375d, 0.5d, 0.75d}) {
+      final var densityMenuItem =
+          new JRadioButtonMenuItem(String.format("%.1f%% Density", d * 100d));
+      densityMenuItem.setSelected(d == density.get());
+      densityMenuItem.addActionListener(e -> density.set(d));
+      densityGroup.add(densityMenuItem);
+      randomizeMenu.add(densityMenuItem);
+    }
+    randomizeMenu.addSeparator();
+    final var newSeedMenuItem = new JMenuItem("New Seed");
+    newSeedMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.randomize(
+              new Soup(ThreadLocalRandom.current().nextLong(), density.get(), fillMode.get()));
+        });
+    randomizeMenu.add(newSeedMenuItem);
+    final var seedMenuItem = new JMenuItem("Enter Seed...");
+    seedMenuItem.addActionListener(
+        e -> {
+          final var input =
+              JOptionPane.showInputDialog(
+                  inFrame, "Seed", "Randomize", JOptionPane.PLAIN_MESSAGE);
+          if (input == null || input.isBlank()) {
+            return;
+          }
+          final long seed;
+          try {
+            seed = Long.parseLong(input.trim());
+          } catch (final NumberFormatException ex) {
+            Alert.show("Error", "The seed must be a whole number", inFrame);
+            return;
+          }
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.randomize(new Soup(seed, density.get(), fillMode.get()));
+        });
+    randomizeMenu.add(seedMenuItem);
+    ctrlMenu.add(randomizeMenu);
+
     // add menu item to cklear the game state
     final var clearMenuItem = new JMenuItem("Clear");
     clearMenuItem.addActionListener(
@@ -108,6 +317,32 @@ public class MyMenuBar extends JMenuBar {
         });
     styleMenu.add(deadColorMenuItem);
 
+    // add a menu to color the cells by the number of generations they have been alive
+    final var ageMenu = new JMenu("Cell Age");
+    final var ageGroup = new ButtonGroup();
+    for (final var bits : new int[] {0, 4, 8}) {
+      final var ageMenuItem =
+          new JRadioButtonMenuItem(
+              bits == 0 ? "Off" : String.format("Up to %d Generations", (1 << bits) - 1));
+      ageMenuItem.setSelected(bits == 0);
+      ageMenuItem.addActionListener(
+          e -> {
+            final var gol = (GamePanel) inFrame.getContentPane();
+            gol.setAgeBits(bits);
+          });
+      ageGroup.add(ageMenuItem);
+      ageMenu.add(ageMenuItem);
+    }
+    styleMenu.add(ageMenu);
+
+    final var heatmapMenuItem = new JCheckBoxMenuItem("Activity Heatmap");
+    heatmapMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.setHeatmap(heatmapMenuItem.isSelected());
+        });
+    styleMenu.add(heatmapMenuItem);
+
     final var drawingModeMenu = new JMenu("Drawing Mode");
     menuBar.add(drawingModeMenu);
 
@@ -120,24 +355,206 @@ public class MyMenuBar extends JMenuBar {
 
     drawingModeMenu.add(penMenuItem);
 
-    final var categories = new HashMap<DrawingStyleCategory, JMenu>();
-    for (final var drawingStyle : DrawingStyle.values()) {
-      final var dsmi = new JMenuItem(drawingStyle.getName());
-      dsmi.addActionListener(
+    final var brushMenu = new JMenu("Pen Size");
+    final var brushGroup = new ButtonGroup();
+    for (final var radius : new int[] {0, 1, 2, 4, 8, 16}) {
+      final var bmi =
+          new JRadioButtonMenuItem(
+              radius == 0 ? "Single Cell" : String.format("Radius %d", radius));
+      bmi.setSelected(radius == 0);
+      bmi.addActionListener(
           e -> {
             final var gol = (GamePanel) inFrame.getContentPane();
-            gol.setDrawing(false);
-            gol.setDrawingStyle(drawingStyle);
+            gol.setBrushRadius(radius);
+            gol.setDrawing(true);
           });
+      brushGroup.add(bmi);
+      brushMenu.add(bmi);
+    }
+    drawingModeMenu.add(brushMenu);
 
-      if (!categories.containsKey(drawingStyle.getCategory())) {
-        final var categoryMenu = new JMenu(drawingStyle.getCategory().getName());
-        categories.put(drawingStyle.getCategory(), categoryMenu);
-        drawingModeMenu.add(categoryMenu);
-      }
+    // the library is read when the menu is first opened and every category when it is opened
+    final var patternsMenu = new JMenu("Patterns");
+    patternsMenu.addMenuListener(
+        new MenuListener() {
+          @Override
+          public void menuSelected(final MenuEvent e) {
+            if (patternsMenu.getMenuComponentCount() != 0) {
+              return;
+            }
+            final var library = PatternLibrary.getInstance();
+            for (final var category : library.getCategories()) {
+              final var categoryMenu = new JMenu(category);
+              categoryMenu.addMenuListener(
+                  new MenuListener() {
+                    @Override
+                    public void menuSelected(final MenuEvent e) {
+                      if (categoryMenu.getMenuComponentCount() != 0) {
+                        return;
+                      }
+                      final var entries = library.getCategory(category);
+                      for (final var entry : entries) {
+                        if (categoryMenu.getMenuComponentCount() == MyMenuBar.MAX_MENU_PATTERNS) {
+                          final var more = entries.size() - MyMenuBar.MAX_MENU_PATTERNS;
+                          final var moreMenuItem =
+                              new JMenuItem(String.format("%d more, use Search", more));
+                          moreMenuItem.setEnabled(false);
+                          categoryMenu.add(moreMenuItem);
+                          break;
+                        }
+                        final var pmi = new JMenuItem(entry.name());
+                        pmi.addActionListener(
+                            ev -> MyMenuBar.selectPattern(inFrame, library, entry));
+                        categoryMenu.add(pmi);
+                      }
+                    }
 
-      categories.get(drawingStyle.getCategory()).add(dsmi);
+                    @Override
+                    public void menuDeselected(final MenuEvent e) {}
+
+                    @Override
+                    public void menuCanceled(final MenuEvent e) {}
+                  });
+              patternsMenu.add(categoryMenu);
+            }
+          }
+
+          @Override
+          public void menuDeselected(final MenuEvent e) {}
+
+          @Override
+          public void menuCanceled(final MenuEvent e) {}
+        });
+    drawingModeMenu.add(patternsMenu);
+
+    final var searchMenuItem = new JMenuItem("Search Patterns...");
+    searchMenuItem.addActionListener(
+        e -> {
+          final var prefix =
+              JOptionPane.showInputDialog(
+                  inFrame, "Name starts with", "Search Patterns", JOptionPane.PLAIN_MESSAGE);
+          if (prefix == null) {
+            return;
+          }
+          final var library = PatternLibrary.getInstance();
+          final var found = library.search(prefix.trim(), MyMenuBar.MAX_MENU_PATTERNS);
+          if (found.isEmpty()) {
+            Alert.show("Search Patterns", "No pattern starts with " + prefix.trim(), inFrame);
+            return;
+          }
+          final var names = found.stream().map(PatternEntry::name).toArray(String[]::new);
+          final var name =
+              found.size() == 1
+                  ? names[0]
+                  : JOptionPane.showInputDialog(
+                      inFrame,
+                      "Pattern",
+                      "Search Patterns",
+                      JOptionPane.PLAIN_MESSAGE,
+                      null,
+                      names,
+                      names[0]);
+          if (name == null) {
+            return;
+          }
+          MyMenuBar.selectPattern(inFrame, library, library.find(name.toString()));
+        });
+    drawingModeMenu.add(searchMenuItem);
+
+    final var orientationMenu = new JMenu("Orientation");
+    final var orientationGroup = new ButtonGroup();
+    for (final var orientation : Orientation.values()) {
+      final var omi = new JRadioButtonMenuItem(orientation.getName());
+      omi.setSelected(orientation == Orientation.ORIGINAL);
+      omi.addActionListener(
+          e -> {
+            final var gol = (GamePanel) inFrame.getContentPane();
+            gol.setOrientation(orientation);
+          });
+      orientationGroup.add(omi);
+      orientationMenu.add(omi);
     }
+    drawingModeMenu.addSeparator();
+    drawingModeMenu.add(orientationMenu);
+
+    final var editMenu = new JMenu("Edit");
+    menuBar.add(editMenu);
+
+    final var selectMenuItem = new JMenuItem("Select");
+    selectMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.setSelecting(true);
+        });
+    editMenu.add(selectMenuItem);
+
+    final var selectNoneMenuItem = new JMenuItem("Select None");
+    selectNoneMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.selectNone();
+        });
+    editMenu.add(selectNoneMenuItem);
+    editMenu.addSeparator();
+
+    final var copyMenuItem = new JMenuItem("Copy");
+    copyMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.copySelection();
+        });
+    editMenu.add(copyMenuItem);
+
+    final var cutMenuItem = new JMenuItem("Cut");
+    cutMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.cutSelection();
+        });
+    editMenu.add(cutMenuItem);
+
+    final var pasteMenuItem = new JMenuItem("Paste");
+    pasteMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          if (!gol.paste()) {
+            Alert.show("Paste", "Nothing was copied yet", inFrame);
+          }
+        });
+    editMenu.add(pasteMenuItem);
+
+    final var deleteMenuItem = new JMenuItem("Delete");
+    deleteMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.deleteSelection();
+        });
+    editMenu.add(deleteMenuItem);
+    editMenu.addSeparator();
+
+    final var rotateMenuItem = new JMenuItem("Rotate 90°");
+    rotateMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.rotateSelection();
+        });
+    editMenu.add(rotateMenuItem);
+
+    final var mirrorMenuItem = new JMenuItem("Mirror");
+    mirrorMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.mirrorSelection();
+        });
+    editMenu.add(mirrorMenuItem);
+
+    final var flipMenuItem = new JMenuItem("Flip");
+    flipMenuItem.addActionListener(
+        e -> {
+          final var gol = (GamePanel) inFrame.getContentPane();
+          gol.flipSelection();
+        });
+    editMenu.add(flipMenuItem);
 
     final var snakeMenuItem = new JMenuItem("Snake");
     snakeMenuItem.addActionListener(
@@ -150,6 +567,147 @@ public class MyMenuBar extends JMenuBar {
     return menuBar;
   }
 
+  /** load a pattern and stamp it on click in the game of the frame */
+  private static void selectPattern(
+      final JInternalFrame inFrame, final PatternLibrary library, final PatternEntry entry) {
+    final var gol = (GamePanel) inFrame.getContentPane();
+    try {
+      gol.setPattern(library.load(entry));
+    } catch (final UncheckedIOException | IllegalArgumentException e) {
+      Alert.show("Error", e.getMessage(), inFrame);
+    }
+  }
+
+  /** create a menu to choose what the world of a frame does while the frame can not be seen */
+  private static JMenu makeHiddenMenu(final JInternalFrame inFrame) {
+    final var hiddenMenu = new JMenu("When Hidden");
+    final var hiddenGroup = new ButtonGroup();
+    for (final var hiddenPolicy : HiddenPolicy.values()) {
+      final var hiddenMenuItem = new JRadioButtonMenuItem(hiddenPolicy.getName());
+      hiddenMenuItem.setSelected(hiddenPolicy == HiddenPolicy.KEEP_RUNNING);
+      hiddenMenuItem.addActionListener(
+          e -> {
+            final var gol = (Hideable) inFrame.getContentPane();
+            gol.setHiddenPolicy(hiddenPolicy);
+          });
+      hiddenGroup.add(hiddenMenuItem);
+      hiddenMenu.add(hiddenMenuItem);
+    }
+    return hiddenMenu;
+  }
+
+  /** create a menu bar for an internal frame with a sparse chunked world */
+  private static JMenuBar makeChunkedInternalFrameMenuBar(final JInternalFrame inFrame) {
+    final var menuBar = new JMenuBar();
+    final var ctrlMenu = new JMenu("Control");
+    menuBar.add(ctrlMenu);
+
+    final var pauseMenuItem = new JMenuItem("Start");
+    pauseMenuItem.addActionListener(
+        e -> {
+          final var gol = (ChunkedGamePanel) inFrame.getContentPane();
+          pauseMenuItem.setText(gol.togglePaused() ? "Resume" : "Pause");
+        });
+    ctrlMenu.add(pauseMenuItem);
+
+    final var speedMenu = new JMenu("Speed");
+    final var speedGroup = new ButtonGroup();
+    for (final var tps : new int[] {5, 20, 60, 0}) {
+      final var speedMenuItem =
+          new JRadioButtonMenuItem(
+              tps == 0 ? "Unthrottled" : String.format("%d Generations per Second", tps));
+      speedMenuItem.setSelected(tps == 20);
+      speedMenuItem.addActionListener(
+          e -> {
+            final var gol = (ChunkedGamePanel) inFrame.getContentPane();
+            gol.setTargetTps(tps);
+          });
+      speedGroup.add(speedMenuItem);
+      speedMenu.add(speedMenuItem);
+    }
+    ctrlMenu.add(speedMenu);
+
+    final var randomizeMenuItem = new JMenuItem("Randomize Center");
+    randomizeMenuItem.addActionListener(
+        e -> {
+          final var gol = (ChunkedGamePanel) inFrame.getContentPane();
+          gol.randomize();
+        });
+    ctrlMenu.add(randomizeMenuItem);
+
+    final var clearMenuItem = new JMenuItem("Clear");
+    clearMenuItem.addActionListener(
+        e -> {
+          final var gol = (ChunkedGamePanel) inFrame.getContentPane();
+          gol.clear();
+        });
+    ctrlMenu.add(clearMenuItem);
+
+    ctrlMenu.add(MyMenuBar.makeHiddenMenu(inFrame));
+
+    final var closeMenuItem = new JMenuItem("Close");
+    closeMenuItem.addActionListener(e -> inFrame.dispose());
+    ctrlMenu.add(closeMenuItem);
+
+    return menuBar;
+  }
+
+  /** create a menu bar for an internal frame with a multi state world */
+  private static JMenuBar makeGenerationsInternalFrameMenuBar(final JInternalFrame inFrame) {
+    final var menuBar = new JMenuBar();
+    final var ctrlMenu = new JMenu("Control");
+    menuBar.add(ctrlMenu);
+
+    final var pauseMenuItem = new JMenuItem("Start");
+    pauseMenuItem.addActionListener(
+        e -> {
+          final var gol = (GenerationsGamePanel) inFrame.getContentPane();
+          pauseMenuItem.setText(gol.togglePaused() ? "Resume" : "Pause");
+        });
+    ctrlMenu.add(pauseMenuItem);
+
+    final var speedMenu = new JMenu("Speed");
+    final var speedGroup = new ButtonGroup();
+    for (final var tps : new int[] {5, 20, 60, 0}) {
+      final var speedMenuItem =
+          new JRadioButtonMenuItem(
+              tps == 0 ? "Unthrottled" : String.format("%d Generations per Second", tps));
+      speedMenuItem.setSelected(tps == 20);
+      speedMenuItem.addActionListener(
+          e -> {
+            final var gol = (GenerationsGamePanel) inFrame.getContentPane();
+            gol.setTargetTps(tps);
+          });
+      speedGroup.add(speedMenuItem);
+      speedMenu.add(speedMenuItem);
+    }
+    ctrlMenu.add(speedMenu);
+
+    final var randomizeMenuItem = new JMenuItem("Randomize");
+    randomizeMenuItem.addActionListener(
+        e -> {
+          final var gol = (GenerationsGamePanel) inFrame.getContentPane();
+          gol.randomize();
+        });
+    ctrlMenu.add(randomizeMenuItem);
+
+    final var clearMenuItem = new JMenuItem("Clear");
+    clearMenuItem.addActionListener(
+        e -> {
+          final var gol = (GenerationsGamePanel) inFrame.getContentPane();
+          gol.clear();
+        });
+    ctrlMenu.add(clearMenuItem);
+
+    ctrlMenu.add(MyMenuBar.makeHiddenMenu(inFrame));
+
+    final var closeMenuItem = new JMenuItem("Close");
+    closeMenuItem.addActionListener(e -> inFrame.dispose());
+    ctrlMenu.add(closeMenuItem);
+
+    return menuBar;
+  }
+
   private final JDesktopPane deskPane;
 
   private final InternalFrameAdapter internalFrameClosed =
@@ -157,9 +715,49 @@ public class MyMenuBar extends JMenuBar {
         @Override
         public void internalFrameClosed(final InternalFrameEvent e) {
           final var inFrame = e.getInternalFrame();
-          final var gol = (GamePanel) inFrame.getContentPane();
+          final var gol = (Disposable) inFrame.getContentPane();
           gol.dispose();
           MyMenuBar.this.deskPane.remove(inFrame);
+          MyMenuBar.this.updateVisibility();
+        }
+
+        @Override
+        public void internalFrameIconified(final InternalFrameEvent e) {
+          MyMenuBar.this.updateVisibility();
+        }
+
+        @Override
+        public void internalFrameDeiconified(final InternalFrameEvent e) {
+          MyMenuBar.this.updateVisibility();
+        }
+
+        @Override
+        public void internalFrameActivated(final InternalFrameEvent e) {
+          MyMenuBar.this.updateVisibility();
+        }
+      };
+
+  /** frames that are moved or resized can cover or uncover other frames */
+  private final ComponentAdapter frameMoved =
+      new ComponentAdapter() {
+        @Override
+        public void componentMoved(final ComponentEvent e) {
+          MyMenuBar.this.updateVisibility();
+        }
+
+        @Override
+        public void componentResized(final ComponentEvent e) {
+          MyMenuBar.this.updateVisibility();
+        }
+
+        @Override
+        public void componentShown(final ComponentEvent e) {
+          MyMenuBar.this.updateVisibility();
+        }
+
+        @Override
+        public void componentHidden(final ComponentEvent e) {
+          MyMenuBar.this.updateVisibility();
         }
       };
 
@@ -167,6 +765,7 @@ public class MyMenuBar extends JMenuBar {
     final var newInstanceMenu = new JMenu("New Instance");
     this.add(newInstanceMenu);
     this.deskPane = deskPane;
+    deskPane.addComponentListener(this.frameMoved);
 
     // calculate preferred sub-frame size
     final var maxWindowBoulds =
@@ -181,6 +780,95 @@ public class MyMenuBar extends JMenuBar {
       newInstanceMenu.add(this.makeInternalFrameCreatorMenuItem(deskPane, preferredFrameSize, res));
     }
 
+    // larger worlds only store the chunks that contain living cells
+    newInstanceMenu.addSeparator();
+    for (int i = 14; i < 17; ++i) {
+      final var res = 1 << i;
+      newInstanceMenu.add(
+          this.makeChunkedInternalFrameCreatorMenuItem(deskPane, preferredFrameSize, res));
+    }
+
+    // rules with dying states
+    final var generationsMenu = new JMenu("Generations");
+    for (final var preset : GenerationsPreset.values()) {
+      final var presetMenu =
+          new JMenu(String.format("%s (%s)", preset.getName(), preset.getRule()));
+      for (int i = 6; i < 12; ++i) {
+        presetMenu.add(
+            this.makeGenerationsInternalFrameCreatorMenuItem(
+                deskPane, preferredFrameSize, 1 << i, preset));
+      }
+      generationsMenu.add(presetMenu);
+    }
+    newInstanceMenu.add(generationsMenu);
+
+    // rules with a large neighborhood
+    final var ltlMenu = new JMenu("Larger than Life");
+    for (final var preset : LtlPreset.values()) {
+      final var presetMenu = new JMenu(preset.getName());
+      presetMenu.setToolTipText(preset.getRule().toString());
+      for (int i = 8; i < 12; ++i) {
+        final var res = 1 << i;
+        final var menuItem = new JMenuItem(String.format("%dx%d", res, res));
+        menuItem.addActionListener(
+            e ->
+                this.openGenerationsInternalFrame(
+                    deskPane,
+                    preferredFrameSize,
+                    res,
+                    preset.getName(),
+                    new LtlEngine(
+                        preset.getRule(), SimulationScheduler.getInstance().getComputePool())));
+        presetMenu.add(menuItem);
+      }
+      ltlMenu.add(presetMenu);
+    }
+    final var customLtlMenu = new JMenu("Custom");
+    for (int i = 8; i < 12; ++i) {
+      final var res = 1 << i;
+      final var menuItem = new JMenuItem(String.format("%dx%d...", res, res));
+      menuItem.addActionListener(
+          e -> {
+            final var notation =
+                JOptionPane.showInputDialog(
+                    deskPane,
+                    "Rule",
+                    "Larger than Life",
+                    JOptionPane.PLAIN_MESSAGE,
+                    null,
+                    null,
+                    LtlPreset.BOSCO.getRule().toString());
+            if (notation == null) {
+              return;
+            }
+            final LtlRule rule;
+            try {
+              rule = LtlRule.parse(notation.toString());
+            } catch (final IllegalArgumentException ex) {
+              JOptionPane.showMessageDialog(
+                  deskPane, ex.getMessage(), "Larger than Life", JOptionPane.ERROR_MESSAGE);
+              return;
+            }
+            if (2 * rule.radius() + 1 > res) {
+              JOptionPane.showMessageDialog(
+                  deskPane,
+                  "The neighborhood is larger than the world",
+                  "Larger than Life",
+                  JOptionPane.ERROR_MESSAGE);
+              return;
+            }
+            this.openGenerationsInternalFrame(
+                deskPane,
+                preferredFrameSize,
+                res,
+                rule.toString(),
+                new LtlEngine(rule, SimulationScheduler.getInstance().getComputePool()));
+          });
+      customLtlMenu.add(menuItem);
+    }
+    ltlMenu.add(customLtlMenu);
+    newInstanceMenu.add(ltlMenu);
+
     final var testMenuItem = new JMenuItem("Info");
     testMenuItem.addActionListener(
         e -> {
@@ -211,7 +899,101 @@ public class MyMenuBar extends JMenuBar {
           inFrame.pack();
           inFrame.show();
           inFrame.addInternalFrameListener(this.internalFrameClosed);
+          inFrame.addComponentListener(this.frameMoved);
+          this.updateVisibility();
+        });
+    return menuItem;
+  }
+
+  /** create a menu item to create a new internal frame with a sparse chunked world */
+  private JMenuItem makeChunkedInternalFrameCreatorMenuItem(
+      final JDesktopPane deskPane, final Dimension preferredFrameSize, final int res) {
+    final var menuItem = new JMenuItem(String.format("%dx%d (sparse)", res, res));
+    menuItem.addActionListener(
+        e -> {
+          final var inFrame =
+              new JInternalFrame(
+                  String.format("Game of Life %dx%d", res, res), true, true, true, false);
+          inFrame.setPreferredSize(preferredFrameSize);
+          inFrame.setJMenuBar(MyMenuBar.makeChunkedInternalFrameMenuBar(inFrame));
+          final var gol = new ChunkedGamePanel(res, res);
+          inFrame.setContentPane(gol);
+          deskPane.add(inFrame);
+          inFrame.pack();
+          inFrame.show();
+          inFrame.addInternalFrameListener(this.internalFrameClosed);
+          inFrame.addComponentListener(this.frameMoved);
+          this.updateVisibility();
         });
     return menuItem;
   }
+
+  /** create a menu item to create a new internal frame with a multi state world */
+  private JMenuItem makeGenerationsInternalFrameCreatorMenuItem(
+      final JDesktopPane deskPane,
+      final Dimension preferredFrameSize,
+      final int res,
+      final GenerationsPreset preset) {
+    final var menuItem = new JMenuItem(String.format("%dx%d", res, res));
+    menuItem.addActionListener(
+        e ->
+            this.openGenerationsInternalFrame(
+                deskPane,
+                preferredFrameSize,
+                res,
+                preset.getName(),
+                new GenerationsEngine(
+                    preset.getRule(), SimulationScheduler.getInstance().getComputePool())));
+    return menuItem;
+  }
+
+  /** open a new internal frame with a multi state world calculated by the given engine */
+  private void openGenerationsInternalFrame(
+      final JDesktopPane deskPane,
+      final Dimension preferredFrameSize,
+      final int res,
+      final String name,
+      final MultiStateEngine engine) {
+    final var inFrame =
+        new JInternalFrame(String.format("%s %dx%d", name, res, res), true, true, true, false);
+    inFrame.setPreferredSize(preferredFrameSize);
+    inFrame.setJMenuBar(MyMenuBar.makeGenerationsInternalFrameMenuBar(inFrame));
+    final var gol = new GenerationsGamePanel(res, res, engine);
+    inFrame.setContentPane(gol);
+    deskPane.add(inFrame);
+    inFrame.pack();
+    inFrame.show();
+    inFrame.addInternalFrameListener(this.internalFrameClosed);
+    inFrame.addComponentListener(this.frameMoved);
+    this.updateVisibility();
+  }
+
+  /** tell every game whether its frame can be seen, iconified or fully covered frames can not */
+  private void updateVisibility() {
+    final var desktopBounds =
+        new Rectangle(0, 0, this.deskPane.getWidth(), this.deskPane.getHeight());
+    final var frames = this.deskPane.getAllFrames();
+    for (final var inFrame : frames) {
+      if (!(inFrame.getContentPane() instanceof Hideable gol)) {
+        continue;
+      }
+      if (inFrame.isIcon() || !inFrame.isVisible() || inFrame.isClosed()) {
+        gol.setHidden(true);
+        continue;
+      }
+      // subtract all frames in front of this one from its visible area
+      final var visibleArea = new Area(inFrame.getBounds().intersection(desktopBounds));
+      final var index = this.deskPane.getIndexOf(inFrame);
+      for (final var other : frames) {
+        if (other == inFrame || other.isIcon() || !other.isVisible()) {
+          continue;
+        }
+        final var otherIndex = this.deskPane.getIndexOf(other);
+        if (otherIndex >= 0 && otherIndex < index) {
+          visibleArea.subtract(new Area(other.getBounds()));
+        }
+      }
+      gol.setHidden(visibleArea.isEmpty());
+    }
+  }
 }
\ No newline at end of file
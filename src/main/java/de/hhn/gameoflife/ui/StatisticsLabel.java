@@ -0,0 +1,46 @@
+package de.hhn.gameoflife.ui;
+
+import de.hhn.gameoflife.control_iface.GenerationListener;
+import de.hhn.gameoflife.data_structures.IntSet;
+import de.hhn.gameoflife.logic.World;
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+
+/** component to render the population statistics of the world */
+public class StatisticsLabel extends JLabel implements GenerationListener {
+  /** minimum time between two text updates */
+  private static final long UPDATE_INTERVAL = 100_000_000L;
+
+  private final World world;
+  private long lastUpdate = 0L;
+
+  public StatisticsLabel(final World world) {
+    this.world = world;
+    this.update();
+  }
+
+  @Override
+  public void onGeneration(final long generation, final IntSet data) {
+    final var now = System.nanoTime();
+    if (now - this.lastUpdate < StatisticsLabel.UPDATE_INTERVAL) {
+      return;
+    }
+    this.lastUpdate = now;
+    SwingUtilities.invokeLater(this::update);
+  }
+
+  /** read the counters of the world and show them */
+  public void update() {
+    final var target = this.world.getTargetTps();
+    this.setText(
+        String.format(
+            "Generation %d, %.1f / %s gen/s, Population %d (+%d / -%d), CPU %.0f%%",
+            this.world.getGeneration(),
+            this.world.getAchievedTps(),
+            target <= 0d ? "max" : String.format("%.1f", target),
+            this.world.getPopulation(),
+            this.world.getBirths(),
+            this.world.getDeaths(),
+            this.world.getCpuLoad() * 100d));
+  }
+}
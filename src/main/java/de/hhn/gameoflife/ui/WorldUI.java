@@ -1,17 +1,26 @@
 package de.hhn.gameoflife.ui;
 
 import de.hhn.gameoflife.control_iface.Drawable;
+import de.hhn.gameoflife.data_structures.IntRingBuffer;
 import de.hhn.gameoflife.data_structures.IntSet;
+import de.hhn.gameoflife.events.RenderComposeEvent;
 import de.hhn.gameoflife.logic.Settings;
 import de.hhn.gameoflife.logic.Snake;
 import de.hhn.gameoflife.util.Utils;
 import java.awt.Color;
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
 import javax.swing.JPanel;
 
 /** component to render the world */
 public class WorldUI extends JPanel implements Drawable<IntSet> {
+  /** color of the most active cells of the heatmap */
+  private static final int COLOR_HEAT = 0xff4000;
+
+  /** opacity of the most active cells of the heatmap */
+  private static final int MAX_HEAT_ALPHA = 0xc0;
 
   private final int worldSize;
   private final int logWorldWidth;
@@ -19,12 +28,44 @@ public class WorldUI extends JPanel implements Drawable<IntSet> {
   private final BufferedImage worldBuffer;
   private final BufferedImage masterBuffer;
   private final BufferedImage overlayBuffer;
+  /**
+   * Pixels are written to the rasters in the format of the image, {@link BufferedImage#setRGB}
+   * would allocate a pixel for every cell.
+   */
+  private final WritableRaster worldRaster;
+  private final WritableRaster overlayRaster;
+  private Object aliveElements;
+  private Object deadElements;
+  private Object snakeElements;
+  private final Object transparentElements;
+  /** reused pixel of the palette colors, only written by the thread that renders the world */
+  private final Object worldPixel;
+  private Object heatPixel;
+  /** snake positions drawn into the overlay, only they have to be cleared */
+  private final IntRingBuffer drawnSnake = new IntRingBuffer(4);
   private int colorAlive = 0xffffff;
   private int colorDead = 0x000000;
   private boolean disposed;
   private final int worldWidth;
   private final int worldHeight;
   private int colorSnake;
+  /** color of every state of a multi state world */
+  private int[] palette = new int[0];
+  /** color of every age, empty if living cells are colored alike */
+  private int[] agePalette = new int[0];
+  /** color of every activity level, empty if the heatmap is hidden */
+  private int[] heatPalette = new int[0];
+  /** activity drawn on top of the world, only allocated while the heatmap is shown */
+  private volatile BufferedImage heatBuffer;
+  /** selected cells, null if nothing is selected */
+  private volatile Rectangle selection;
+  /** cells updated in bulk since the last compose, only these are composed and presented */
+  private final Rectangle dirty = new Rectangle();
+  /** whether single cells changed since the last compose, they are not tracked by position */
+  private boolean fullyDirty = true;
+  /** cells of the last compose, unless it was the whole world */
+  private final Rectangle composed = new Rectangle();
+  private boolean composedAll = true;
 
   public WorldUI(final Settings settings) {
     this.logWorldWidth = Utils.log2(settings.worldWidth());
@@ -41,7 +82,12 @@ public class WorldUI extends JPanel implements Drawable<IntSet> {
     this.masterBuffer =
         new BufferedImage(
             settings.worldWidth(), settings.worldHeight(), BufferedImage.TYPE_INT_RGB);
+    this.worldRaster = this.worldBuffer.getRaster();
+    this.overlayRaster = this.overlayBuffer.getRaster();
+    this.worldPixel = this.worldBuffer.getColorModel().getDataElements(0, null);
+    this.transparentElements = this.overlayBuffer.getColorModel().getDataElements(0, null);
     this.colorSnake = this.calcSnakeColor();
+    this.calcElements();
     this.compose();
   }
 
@@ -52,6 +98,8 @@ public class WorldUI extends JPanel implements Drawable<IntSet> {
   public void setAliveColor(final Color color) {
     this.colorAlive = color.getRGB();
     this.colorSnake = this.calcSnakeColor();
+    this.calcElements();
+    this.setAgeLevels(this.agePalette.length);
   }
 
   public Color getDeadColor() {
@@ -61,6 +109,87 @@ public class WorldUI extends JPanel implements Drawable<IntSet> {
   public void setDeadColor(final Color color) {
     this.colorDead = color.getRGB();
     this.colorSnake = this.calcSnakeColor();
+    this.calcElements();
+    this.setAgeLevels(this.agePalette.length);
+  }
+
+  /**
+   * Use colors for the given number of states.
+   *
+   * <p>State 0 gets the dead color and state 1 the alive color. The dying states fade from the
+   * dying color to the dead color.
+   */
+  public void setStates(final int states, final Color dying) {
+    final var palette = new int[states];
+    palette[0] = this.colorDead;
+    palette[1] = this.colorAlive;
+    final var from = dying.getRGB();
+    for (var state = 2; state < states; ++state) {
+      final var t = states == 3 ? 0d : (double) (state - 2) / (states - 2);
+      palette[state] = 0xff000000;
+      for (var shift = 0; shift <= 16; shift += 8) {
+        final var a = (from >> shift) & 0xff;
+        final var b = (this.colorDead >> shift) & 0xff;
+        palette[state] |= (int) Math.round(a + (b - a) * t) << shift;
+      }
+    }
+    this.palette = palette;
+  }
+
+  /**
+   * Use colors for the given number of ages.
+   *
+   * <p>Age 0 gets the dead color, the young cells the alive color and the older ones fade to the
+   * snake color, which differs from both.
+   */
+  @Override
+  public void setAgeLevels(final int levels) {
+    final var palette = new int[levels];
+    for (var age = 1; age < levels; ++age) {
+      final var t = levels == 2 ? 0d : (double) (age - 1) / (levels - 2);
+      palette[age] = 0xff000000;
+      for (var shift = 0; shift <= 16; shift += 8) {
+        final var a = (this.colorAlive >> shift) & 0xff;
+        final var b = (this.colorSnake >> shift) & 0xff;
+        palette[age] |= (int) Math.round(a + (b - a) * t) << shift;
+      }
+    }
+    if (levels != 0) {
+      palette[0] = this.colorDead;
+    }
+    this.agePalette = palette;
+  }
+
+  /** Use colors for the given number of activity levels, more active cells are more opaque. */
+  @Override
+  public void setHeatLevels(final int levels) {
+    final var palette = new int[levels];
+    for (var heat = 1; heat < levels; ++heat) {
+      final var alpha = WorldUI.MAX_HEAT_ALPHA * heat / (levels - 1);
+      palette[heat] = alpha << 24 | WorldUI.COLOR_HEAT;
+    }
+    synchronized (this.dirty) {
+      if (levels == 0) {
+        if (this.heatBuffer != null) {
+          this.heatBuffer.flush();
+          this.heatBuffer = null;
+        }
+      } else if (this.heatBuffer == null) {
+        this.heatBuffer =
+            new BufferedImage(this.worldWidth, this.worldHeight, BufferedImage.TYPE_INT_ARGB);
+        this.heatPixel = this.heatBuffer.getColorModel().getDataElements(0, null);
+      }
+      this.heatPalette = palette;
+      this.fullyDirty = true;
+    }
+  }
+
+  /** convert the colors into pixels of the images */
+  private void calcElements() {
+    this.aliveElements = this.worldBuffer.getColorModel().getDataElements(this.colorAlive, null);
+    this.deadElements = this.worldBuffer.getColorModel().getDataElements(this.colorDead, null);
+    this.snakeElements =
+        this.overlayBuffer.getColorModel().getDataElements(this.colorSnake, null);
   }
 
   private int calcSnakeColor() {
@@ -76,11 +205,41 @@ public class WorldUI extends JPanel implements Drawable<IntSet> {
   @Override
   public void paintComponent(final Graphics g) {
     g.drawImage(this.masterBuffer, 0, 0, this.getWidth(), this.getHeight(), null);
+    this.paintSelection(g);
   }
 
   @Override
   public void paint(final Graphics g) {
     g.drawImage(this.masterBuffer, 0, 0, this.getWidth(), this.getHeight(), null);
+    this.paintSelection(g);
+  }
+
+  public Rectangle getSelection() {
+    return this.selection;
+  }
+
+  /** outline the given cells, null removes the outline */
+  public void setSelection(final Rectangle selection) {
+    this.selection = selection;
+    this.repaint();
+  }
+
+  /** draw the outline of the selection on top of the scaled world */
+  private void paintSelection(final Graphics g) {
+    final var selection = this.selection;
+    if (selection == null) {
+      return;
+    }
+    final var cellWidth = (double) this.getWidth() / this.worldWidth;
+    final var cellHeight = (double) this.getHeight() / this.worldHeight;
+    final var x = (int) (selection.x * cellWidth);
+    final var y = (int) (selection.y * cellHeight);
+    g.setColor(new Color(this.colorSnake));
+    g.drawRect(
+        x,
+        y,
+        Math.max(1, (int) ((selection.x + selection.width) * cellWidth) - x - 1),
+        Math.max(1, (int) ((selection.y + selection.height) * cellHeight) - y - 1));
   }
 
   /** free resources */
@@ -95,15 +254,43 @@ public class WorldUI extends JPanel implements Drawable<IntSet> {
     this.masterBuffer.getGraphics().dispose();
     this.overlayBuffer.flush();
     this.overlayBuffer.getGraphics().dispose();
+    if (this.heatBuffer != null) {
+      this.heatBuffer.flush();
+    }
   }
 
   public void draw() {
+    this.compose();
+    this.present();
+  }
+
+  @Override
+  public void present() {
     final var g = this.getGraphics();
     if (g == null) {
       return;
     }
-    this.compose();
-    g.drawImage(this.masterBuffer, 0, 0, this.getWidth(), this.getHeight(), null);
+    final var region = this.composed;
+    if (this.composedAll) {
+      g.drawImage(this.masterBuffer, 0, 0, this.getWidth(), this.getHeight(), null);
+    } else if (!region.isEmpty()) {
+      // scale only the composed cells onto the screen
+      final var cellWidth = (double) this.getWidth() / this.worldWidth;
+      final var cellHeight = (double) this.getHeight() / this.worldHeight;
+      g.drawImage(
+          this.masterBuffer,
+          (int) (region.x * cellWidth),
+          (int) (region.y * cellHeight),
+          (int) Math.ceil((region.x + region.width) * cellWidth),
+          (int) Math.ceil((region.y + region.height) * cellHeight),
+          region.x,
+          region.y,
+          region.x + region.width,
+          region.y + region.height,
+          null);
+    }
+    this.paintSelection(g);
+    g.dispose();
   }
 
   @Override
@@ -116,9 +303,40 @@ public class WorldUI extends JPanel implements Drawable<IntSet> {
       y = i >> this.logWorldWidth; // i / this.worldWidth;
       this.worldBuffer.setRGB(x, y, data.contains(i) ? this.colorAlive : this.colorDead);
     }
+    this.fullyDirty = true;
     this.draw();
   }
 
+  @Override
+  public void set(final IntSet data, final int x, final int y, final int width, final int height) {
+    final var row = new int[Math.min(width, this.worldWidth)];
+    for (var dy = 0; dy < Math.min(height, this.worldHeight); ++dy) {
+      final var cy = (y + dy) % this.worldHeight;
+      final var rowStart = cy << this.logWorldWidth;
+      for (var dx = 0; dx < row.length; ++dx) {
+        final var cx = (x + dx) & this.worldWidthMinusOne;
+        row[dx] = data.contains(rowStart + cx) ? this.colorAlive : this.colorDead;
+      }
+      // the part that wraps around the right edge continues at the left
+      final var first = Math.min(row.length, this.worldWidth - x);
+      this.worldBuffer.setRGB(x, cy, first, 1, row, 0, first);
+      if (first < row.length) {
+        this.worldBuffer.setRGB(0, cy, row.length - first, 1, row, first, row.length - first);
+      }
+    }
+    synchronized (this.dirty) {
+      if (x + row.length > this.worldWidth || y + height > this.worldHeight) {
+        // parts wrapped around the edges
+        this.fullyDirty = true;
+      } else if (this.dirty.isEmpty()) {
+        this.dirty.setBounds(x, y, row.length, height);
+      } else {
+        this.dirty.add(x, y);
+        this.dirty.add(x + row.length, y + height);
+      }
+    }
+  }
+
   /** get the current worlds image */
   public BufferedImage getImage() {
     return this.masterBuffer;
@@ -126,35 +344,127 @@ public class WorldUI extends JPanel implements Drawable<IntSet> {
 
   @Override
   public void set(final int index, final boolean alife) {
-    this.worldBuffer.setRGB(
+    this.worldRaster.setDataElements(
+        index & this.worldWidthMinusOne,
+        index >> this.logWorldWidth,
+        alife ? this.aliveElements : this.deadElements);
+    this.fullyDirty = true;
+  }
+
+  @Override
+  public void setWord(final int w, final long alive, final long cells) {
+    final var base = w << 6;
+    final var aliveElements = this.aliveElements;
+    final var deadElements = this.deadElements;
+    var bits = cells;
+    while (bits != 0L) {
+      final var b = Long.numberOfTrailingZeros(bits);
+      final var index = base + b;
+      this.worldRaster.setDataElements(
+          index & this.worldWidthMinusOne,
+          index >> this.logWorldWidth,
+          (alive & (1L << b)) != 0L ? aliveElements : deadElements);
+      bits &= bits - 1L;
+    }
+    this.fullyDirty = true;
+  }
+
+  /** set a cell of a multi state world to the color of its state */
+  public void set(final int index, final int state) {
+    this.setPixel(index, this.palette[state]);
+  }
+
+  /** set a cell of the world buffer to a color */
+  private void setPixel(final int index, final int rgb) {
+    this.worldRaster.setDataElements(
         index & this.worldWidthMinusOne,
         index >> this.logWorldWidth,
-        alife ? this.colorAlive : this.colorDead);
+        this.worldBuffer.getColorModel().getDataElements(rgb, this.worldPixel));
+    this.fullyDirty = true;
+  }
+
+  @Override
+  public void setAge(final int index, final int age) {
+    final var palette = this.agePalette;
+    this.setPixel(
+        index, age < palette.length ? palette[age] : age == 0 ? this.colorDead : this.colorAlive);
+  }
+
+  @Override
+  public void setHeat(final int index, final int heat) {
+    final var heatBuffer = this.heatBuffer;
+    final var palette = this.heatPalette;
+    if (heatBuffer == null || heat >= palette.length) {
+      return;
+    }
+    heatBuffer
+        .getRaster()
+        .setDataElements(
+            index & this.worldWidthMinusOne,
+            index >> this.logWorldWidth,
+            heatBuffer.getColorModel().getDataElements(palette[heat], this.heatPixel));
+    this.fullyDirty = true;
   }
 
   @Override
   public void compose() {
+    final var event = new RenderComposeEvent();
+    event.begin();
+    final var region = this.composed;
+    synchronized (this.dirty) {
+      this.composedAll = this.fullyDirty;
+      region.setBounds(this.dirty);
+      this.fullyDirty = false;
+      this.dirty.setSize(0, 0);
+    }
+    final var heatBuffer = this.heatBuffer;
     final var g = this.masterBuffer.getGraphics();
-    g.drawImage(this.worldBuffer, 0, 0, null);
-    g.drawImage(this.overlayBuffer, 0, 0, null);
+    if (this.composedAll) {
+      g.drawImage(this.worldBuffer, 0, 0, null);
+      if (heatBuffer != null) {
+        g.drawImage(heatBuffer, 0, 0, null);
+      }
+      g.drawImage(this.overlayBuffer, 0, 0, null);
+    } else if (!region.isEmpty()) {
+      final var x2 = region.x + region.width;
+      final var y2 = region.y + region.height;
+      g.drawImage(
+          this.worldBuffer, region.x, region.y, x2, y2, region.x, region.y, x2, y2, null);
+      if (heatBuffer != null) {
+        g.drawImage(heatBuffer, region.x, region.y, x2, y2, region.x, region.y, x2, y2, null);
+      }
+      g.drawImage(
+          this.overlayBuffer, region.x, region.y, x2, y2, region.x, region.y, x2, y2, null);
+    }
     g.dispose();
+    event.end();
+    if (event.shouldCommit()) {
+      event.worldWidth = this.worldWidth;
+      event.worldHeight = this.worldHeight;
+      event.commit();
+    }
   }
 
   public void snake(final Snake snake) {
     snake.onChange(this::drawSnake);
   }
 
-  public synchronized void drawSnake(final Iterable<Integer> positions) {
-    for (int y = 0; y != this.worldHeight; ++y) {
-      for (int x = 0; x != this.worldWidth; ++x) {
-        this.overlayBuffer.setRGB(x, y, Color.TRANSLUCENT);
-      }
+  /** draw the snake from its tail to its head, only the cells of the last one are cleared */
+  public synchronized void drawSnake(final IntRingBuffer positions) {
+    for (var i = 0; i < this.drawnSnake.size(); ++i) {
+      final var position = this.drawnSnake.get(i);
+      this.overlayRaster.setDataElements(
+          position & this.worldWidthMinusOne,
+          position >> this.logWorldWidth,
+          this.transparentElements);
     }
-    for (final var position : positions) {
-      final var x = position & this.worldWidthMinusOne;
-      final var y = position >> this.logWorldWidth;
-      this.overlayBuffer.setRGB(x, y, this.colorSnake);
+    for (var i = 0; i < positions.size(); ++i) {
+      final var position = positions.get(i);
+      this.overlayRaster.setDataElements(
+          position & this.worldWidthMinusOne, position >> this.logWorldWidth, this.snakeElements);
     }
+    this.drawnSnake.copyFrom(positions);
+    this.fullyDirty = true;
     this.draw();
   }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package de.hhn.gameoflife.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes a sequence of two color frames.
+ *
+ * <p>Frames are passed as 1 bit per pixel, most significant bit first, rows padded to full bytes.
+ * Index 0 is the dead color, index 1 the alive color.
+ */
+public interface AnimationWriter extends Closeable {
+  void writeFrame(final byte[] frame) throws IOException;
+}
@@ -0,0 +1,150 @@
+package de.hhn.gameoflife.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Minimal animated PNG encoder for two color frames.
+ *
+ * <p>The frame count is not known up front, so the acTL chunk is patched when the writer is
+ * closed.
+ */
+public class ApngWriter implements AnimationWriter {
+  private static final byte[] SIGNATURE = {
+    (byte) 0x89, 0x50, 0x4e, 0x47, 0x0d, 0x0a, 0x1a, 0x0a
+  };
+
+  private final RandomAccessFile out;
+  private final File file;
+  private final int width;
+  private final int height;
+  private final int stride;
+  private final int delayMs;
+  private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+  private final CRC32 crc = new CRC32();
+  private final byte[] deflateBuffer = new byte[1 << 16];
+  private final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+  private final byte[] filtered;
+  private long acTLOffset;
+  private int frames = 0;
+  private int sequence = 0;
+
+  public ApngWriter(
+      final File file,
+      final int width,
+      final int height,
+      final int aliveColor,
+      final int deadColor,
+      final int delayMs)
+      throws IOException {
+    this.file = file;
+    this.width = width;
+    this.height = height;
+    this.stride = (width + 7) >> 3;
+    this.delayMs = delayMs;
+    this.filtered = new byte[(this.stride + 1) * height];
+    this.out = new RandomAccessFile(file, "rw");
+    this.out.setLength(0);
+    this.out.write(ApngWriter.SIGNATURE);
+
+    final var ihdr = ByteBuffer.allocate(13);
+    ihdr.putInt(width).putInt(height);
+    ihdr.put((byte) 1); // bit depth
+    ihdr.put((byte) 3); // indexed color
+    ihdr.put((byte) 0).put((byte) 0).put((byte) 0);
+    this.writeChunk("IHDR", ihdr.array());
+
+    this.writeChunk(
+        "PLTE",
+        new byte[] {
+          (byte) (deadColor >> 16),
+          (byte) (deadColor >> 8),
+          (byte) deadColor,
+          (byte) (aliveColor >> 16),
+          (byte) (aliveColor >> 8),
+          (byte) aliveColor
+        });
+
+    this.acTLOffset = this.out.getFilePointer();
+    this.writeChunk("acTL", this.acTL());
+  }
+
+  @Override
+  public void writeFrame(final byte[] frame) throws IOException {
+    final var fcTL = ByteBuffer.allocate(26);
+    fcTL.putInt(this.sequence++);
+    fcTL.putInt(this.width).putInt(this.height);
+    fcTL.putInt(0).putInt(0);
+    fcTL.putShort((short) this.delayMs).putShort((short) 1000);
+    fcTL.put((byte) 0).put((byte) 0);
+    this.writeChunk("fcTL", fcTL.array());
+
+    // every row gets the "none" filter byte
+    for (var y = 0; y < this.height; ++y) {
+      final var row = y * (this.stride + 1);
+      this.filtered[row] = 0;
+      System.arraycopy(frame, y * this.stride, this.filtered, row + 1, this.stride);
+    }
+    this.compressed.reset();
+    this.deflater.reset();
+    this.deflater.setInput(this.filtered);
+    this.deflater.finish();
+    while (!this.deflater.finished()) {
+      final var n = this.deflater.deflate(this.deflateBuffer);
+      this.compressed.write(this.deflateBuffer, 0, n);
+    }
+
+    if (this.frames == 0) {
+      this.writeChunk("IDAT", this.compressed.toByteArray());
+    } else {
+      final var data = this.compressed.toByteArray();
+      final var fdAT = ByteBuffer.allocate(data.length + 4);
+      fdAT.putInt(this.sequence++);
+      fdAT.put(data);
+      this.writeChunk("fdAT", fdAT.array());
+    }
+    ++this.frames;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      if (this.frames == 0) {
+        // an animation without frames is not a valid png
+        this.out.close();
+        this.file.delete();
+        return;
+      }
+      this.writeChunk("IEND", new byte[0]);
+      this.out.seek(this.acTLOffset);
+      this.writeChunk("acTL", this.acTL());
+      this.out.close();
+    } finally {
+      this.deflater.end();
+    }
+  }
+
+  private byte[] acTL() {
+    final var acTL = ByteBuffer.allocate(8);
+    acTL.putInt(Math.max(1, this.frames));
+    acTL.putInt(0); // loop forever
+    return acTL.array();
+  }
+
+  private void writeChunk(final String type, final byte[] data) throws IOException {
+    final var typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+    this.crc.reset();
+    this.crc.update(typeBytes);
+    this.crc.update(data);
+    this.out.writeInt(data.length);
+    this.out.write(typeBytes);
+    this.out.write(data);
+    this.out.writeInt((int) this.crc.getValue());
+  }
+}
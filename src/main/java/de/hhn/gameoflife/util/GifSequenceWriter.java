@@ -0,0 +1,105 @@
+package de.hhn.gameoflife.util;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.io.File;
+import java.io.IOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+/** Animated GIF encoder for two color frames using the ImageIO GIF plugin. */
+public class GifSequenceWriter implements AnimationWriter {
+  private static final String METADATA_FORMAT = "javax_imageio_gif_image_1.0";
+
+  /** Get the child node with the given name, create it if it does not exist */
+  private static IIOMetadataNode getNode(final IIOMetadataNode root, final String name) {
+    for (var i = 0; i < root.getLength(); ++i) {
+      if (root.item(i).getNodeName().equalsIgnoreCase(name)) {
+        return (IIOMetadataNode) root.item(i);
+      }
+    }
+    final var node = new IIOMetadataNode(name);
+    root.appendChild(node);
+    return node;
+  }
+
+  private final ImageWriter writer;
+  private final ImageOutputStream out;
+  private final BufferedImage image;
+  private final byte[] pixels;
+  private final IIOMetadata metadata;
+
+  public GifSequenceWriter(
+      final File file,
+      final int width,
+      final int height,
+      final int aliveColor,
+      final int deadColor,
+      final int delayMs)
+      throws IOException {
+    this.image = GifSequenceWriter.makeImage(width, height, aliveColor, deadColor);
+    this.pixels = ((DataBufferByte) this.image.getRaster().getDataBuffer()).getData();
+    this.writer = ImageIO.getImageWritersBySuffix("gif").next();
+    this.out = ImageIO.createImageOutputStream(file);
+    this.writer.setOutput(this.out);
+    this.writer.prepareWriteSequence(null);
+
+    final var param = this.writer.getDefaultWriteParam();
+    this.metadata =
+        this.writer.getDefaultImageMetadata(
+            ImageTypeSpecifier.createFromRenderedImage(this.image), param);
+    final var root = (IIOMetadataNode) this.metadata.getAsTree(METADATA_FORMAT);
+
+    final var gce = GifSequenceWriter.getNode(root, "GraphicControlExtension");
+    gce.setAttribute("disposalMethod", "none");
+    gce.setAttribute("userInputFlag", "FALSE");
+    gce.setAttribute("transparentColorFlag", "FALSE");
+    gce.setAttribute("delayTime", Integer.toString(Math.max(1, delayMs / 10)));
+    gce.setAttribute("transparentColorIndex", "0");
+
+    // NETSCAPE2.0 extension to loop forever
+    final var appExtensions = GifSequenceWriter.getNode(root, "ApplicationExtensions");
+    final var loop = new IIOMetadataNode("ApplicationExtension");
+    loop.setAttribute("applicationID", "NETSCAPE");
+    loop.setAttribute("authenticationCode", "2.0");
+    loop.setUserObject(new byte[] {0x1, 0x0, 0x0});
+    appExtensions.appendChild(loop);
+
+    this.metadata.setFromTree(METADATA_FORMAT, root);
+  }
+
+  /** Create a 1 bit indexed image with the given palette */
+  static BufferedImage makeImage(
+      final int width, final int height, final int aliveColor, final int deadColor) {
+    final var colorModel =
+        new IndexColorModel(
+            1,
+            2,
+            new byte[] {(byte) (deadColor >> 16), (byte) (aliveColor >> 16)},
+            new byte[] {(byte) (deadColor >> 8), (byte) (aliveColor >> 8)},
+            new byte[] {(byte) deadColor, (byte) aliveColor});
+    return new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY, colorModel);
+  }
+
+  @Override
+  public void writeFrame(final byte[] frame) throws IOException {
+    System.arraycopy(frame, 0, this.pixels, 0, this.pixels.length);
+    this.writer.writeToSequence(new IIOImage(this.image, null, this.metadata), null);
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      this.writer.endWriteSequence();
+    } finally {
+      this.out.close();
+      this.writer.dispose();
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package de.hhn.gameoflife.util;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.File;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+
+/** Writes every frame as a numbered PNG file into a directory. */
+public class PngFrameWriter implements AnimationWriter {
+  private final File directory;
+  private final BufferedImage image;
+  private final byte[] pixels;
+  private int index = 0;
+
+  public PngFrameWriter(
+      final File directory,
+      final int width,
+      final int height,
+      final int aliveColor,
+      final int deadColor)
+      throws IOException {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException(String.format("Could not create directory \"%s\"", directory));
+    }
+    this.directory = directory;
+    this.image = GifSequenceWriter.makeImage(width, height, aliveColor, deadColor);
+    this.pixels = ((DataBufferByte) this.image.getRaster().getDataBuffer()).getData();
+  }
+
+  @Override
+  public void writeFrame(final byte[] frame) throws IOException {
+    System.arraycopy(frame, 0, this.pixels, 0, this.pixels.length);
+    final var file = new File(this.directory, String.format("frame_%08d.png", this.index++));
+    ImageIO.write(this.image, "png", file);
+  }
+
+  @Override
+  public void close() {}
+}
@@ -0,0 +1,42 @@
+package de.hhn.gameoflife.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.hhn.gameoflife.logic.TestWorlds;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** The worker processes must calculate the same generations as a world in this process */
+class BandCoordinatorTest {
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 4})
+  void matchesLocalWorld(final int workers) throws Exception {
+    // 16 rows do not split evenly into 3 bands, so the bands differ in height
+    final var world = TestWorlds.create(128, 16, 42L + workers);
+    final var start = world.getWorldData().toLongArray();
+    final var expected = TestWorlds.run(world, 1, 8, 50);
+    world.dispose();
+
+    final var bands = new BandCoordinator(128, 16, workers);
+    try {
+      assertEquals(workers, bands.getWorkerCount());
+      bands.load(start);
+      final var words = new long[start.length];
+      var generation = 0L;
+      for (final var batch : new int[] {1, 7, 42}) {
+        final var population = bands.step(batch);
+        generation += batch;
+        bands.snapshot(words);
+        assertArrayEquals(expected.get(generation), words, "generation " + generation);
+        var count = 0L;
+        for (final var word : words) {
+          count += Long.bitCount(word);
+        }
+        assertEquals(count, population, "population of generation " + generation);
+      }
+    } finally {
+      bands.dispose();
+    }
+  }
+}
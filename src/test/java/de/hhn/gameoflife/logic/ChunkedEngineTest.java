@@ -0,0 +1,85 @@
+package de.hhn.gameoflife.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import de.hhn.gameoflife.data_structures.ChunkedBitGrid;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/** Chunked worlds must behave like one torus, especially where chunks and the world wrap */
+class ChunkedEngineTest {
+  /** cells are only placed this close to a chunk edge, so most chunks start empty */
+  private static final int EDGE = 6;
+
+  @ParameterizedTest
+  @CsvSource({
+    // one row of two chunks, the chunk above and below is the chunk itself
+    "512, 256, 64",
+    "1024, 512, 64",
+    // enough candidate chunks to be stepped in parallel
+    "2048, 1024, 16"
+  })
+  void matchesNaiveTorus(final int width, final int height, final int generations) {
+    final var random = new Random(width + height);
+    var current = new ChunkedBitGrid(width, height);
+    var next = new ChunkedBitGrid(width, height);
+    var expected = new boolean[width * height];
+    for (var y = 0; y < height; ++y) {
+      for (var x = 0; x < width; ++x) {
+        final var nearEdge =
+            ChunkedEngineTest.nearChunkEdge(x) || ChunkedEngineTest.nearChunkEdge(y);
+        // leave some chunk edges empty so chunks are also allocated by their neighbors
+        if (nearEdge && (x / ChunkedBitGrid.CHUNK_SIZE + y) % 3 != 0 && random.nextInt(3) == 0) {
+          current.set(x, y, true);
+          expected[y * width + x] = true;
+        }
+      }
+    }
+
+    final var engine = new ChunkedEngine(ForkJoinPool.commonPool());
+    for (var generation = 1; generation <= generations; ++generation) {
+      final var before = expected;
+      engine.step(current, next);
+      expected = NaiveLife.step(before, width, height);
+      final var swap = current;
+      current = next;
+      next = swap;
+
+      var births = 0L;
+      var deaths = 0L;
+      for (var i = 0; i < expected.length; ++i) {
+        if (expected[i] != current.get(i % width, i / width)) {
+          throw new AssertionError(
+              String.format(
+                  "cell %d,%d differs in generation %d", i % width, i / width, generation));
+        }
+        births += expected[i] && !before[i] ? 1 : 0;
+        deaths += before[i] && !expected[i] ? 1 : 0;
+      }
+      final var message = "generation " + generation;
+      assertEquals(NaiveLife.population(expected), engine.getPopulation(), message);
+      assertEquals(current.population(), engine.getPopulation(), message);
+      assertEquals(births, engine.getBirths(), message);
+      assertEquals(deaths, engine.getDeaths(), message);
+      // empty chunks are released
+      var occupied = 0;
+      for (var i = 0; i < current.getChunkCount(); ++i) {
+        final var chunk = current.getChunk(i);
+        if (chunk != null) {
+          assertFalse(ChunkedBitGrid.isEmpty(chunk), message);
+          ++occupied;
+        }
+      }
+      assertEquals(occupied, current.getAllocatedChunks(), message);
+    }
+  }
+
+  private static boolean nearChunkEdge(final int coordinate) {
+    final var offset = coordinate & (ChunkedBitGrid.CHUNK_SIZE - 1);
+    return offset < ChunkedEngineTest.EDGE
+        || offset >= ChunkedBitGrid.CHUNK_SIZE - ChunkedEngineTest.EDGE;
+  }
+}
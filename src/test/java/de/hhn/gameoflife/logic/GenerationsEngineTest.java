@@ -0,0 +1,90 @@
+package de.hhn.gameoflife.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.hhn.gameoflife.data_structures.StateGrid;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/** The bit-sliced Generations rules must match a cell by cell implementation */
+class GenerationsEngineTest {
+  private static final int HEIGHT = 12;
+
+  @ParameterizedTest
+  @CsvSource({
+    "B3/S23/2, 64",
+    "B2/S/3, 64",
+    "B2/S/3, 192",
+    // 4 and 16 states wrap by overflowing all planes
+    "B3/S23/4, 128",
+    "B36/S23/16, 192",
+    // the other counts have to be wrapped to 0 explicitly
+    "B34/S34/5, 128",
+    "B2/S345/7, 192",
+    "B378/S012345678/9, 64",
+    "B0/S8/3, 128"
+  })
+  void matchesNaiveGenerations(final String notation, final int width) {
+    final var rule = GenerationsRule.parse(notation);
+    final var states = rule.states();
+    final var engine = new GenerationsEngine(rule, ForkJoinPool.commonPool());
+    var current = new StateGrid(width, GenerationsEngineTest.HEIGHT, states);
+    var next = new StateGrid(width, GenerationsEngineTest.HEIGHT, states);
+    final var random = new Random(notation.hashCode() + width);
+    var expected = new int[width * GenerationsEngineTest.HEIGHT];
+    for (var i = 0; i < expected.length; ++i) {
+      // half of the cells dead, the rest spread over all states
+      expected[i] = random.nextBoolean() ? 0 : random.nextInt(states);
+      current.set(i, expected[i]);
+    }
+
+    for (var generation = 1; generation <= 40; ++generation) {
+      final var population = engine.step(current, next);
+      expected = GenerationsEngineTest.step(rule, expected, width, GenerationsEngineTest.HEIGHT);
+      final var swap = current;
+      current = next;
+      next = swap;
+      var living = 0L;
+      for (var i = 0; i < expected.length; ++i) {
+        assertEquals(
+            expected[i],
+            current.get(i),
+            String.format(
+                "cell %d,%d in generation %d", i % width, i / width, generation));
+        living += expected[i] == 1 ? 1 : 0;
+      }
+      assertEquals(living, population, "population of generation " + generation);
+    }
+  }
+
+  /** next states, each cell counts its neighbors in state 1 one by one */
+  private static int[] step(
+      final GenerationsRule rule, final int[] cells, final int width, final int height) {
+    final var next = new int[cells.length];
+    for (var y = 0; y < height; ++y) {
+      for (var x = 0; x < width; ++x) {
+        var neighbors = 0;
+        for (var dy = -1; dy <= 1; ++dy) {
+          for (var dx = -1; dx <= 1; ++dx) {
+            final var index =
+                Math.floorMod(y + dy, height) * width + Math.floorMod(x + dx, width);
+            if ((dx != 0 || dy != 0) && cells[index] == 1) {
+              ++neighbors;
+            }
+          }
+        }
+        final var state = cells[y * width + x];
+        if (state == 0) {
+          next[y * width + x] = (rule.birth() & (1 << neighbors)) != 0 ? 1 : 0;
+        } else if (state == 1 && (rule.survival() & (1 << neighbors)) != 0) {
+          next[y * width + x] = 1;
+        } else {
+          next[y * width + x] = (state + 1) % rule.states();
+        }
+      }
+    }
+    return next;
+  }
+}
@@ -0,0 +1,109 @@
+package de.hhn.gameoflife.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.hhn.gameoflife.data_structures.StateGrid;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/** The constant time neighbor counts must match counting every cell of the neighborhood */
+class LtlEngineTest {
+  @ParameterizedTest
+  @CsvSource({
+    // radius, neighborhood, states, count center, width, height
+    "1, BOX, 2, false, 64, 40",
+    "1, DIAMOND, 2, false, 64, 40",
+    "2, DIAMOND, 3, true, 128, 72",
+    "5, BOX, 2, true, 128, 72",
+    "5, DIAMOND, 2, false, 128, 72",
+    "7, DIAMOND, 5, false, 192, 40",
+    "10, BOX, 4, false, 64, 24",
+    "10, DIAMOND, 2, true, 64, 24",
+    // the border is wider than half the world
+    "31, DIAMOND, 2, false, 64, 64",
+    "31, BOX, 3, true, 64, 64",
+    // enough words to calculate the bands in parallel
+    "3, DIAMOND, 2, false, 512, 128"
+  })
+  void matchesNaiveCount(
+      final int radius,
+      final Neighborhood neighborhood,
+      final int states,
+      final boolean countCenter,
+      final int width,
+      final int height) {
+    // ranges around a third of the neighborhood keep random soups alive for a while
+    final var size = neighborhood.size(radius);
+    final var rule =
+        new LtlRule(
+            radius,
+            states,
+            countCenter,
+            size / 4,
+            size / 2,
+            size * 3 / 10,
+            Math.max(size * 3 / 10, size * 4 / 10),
+            neighborhood);
+    final var engine = new LtlEngine(rule, ForkJoinPool.commonPool());
+    var current = new StateGrid(width, height, states);
+    var next = new StateGrid(width, height, states);
+    final var random = new Random(radius * 31L + width + height);
+    var expected = new int[width * height];
+    for (var i = 0; i < expected.length; ++i) {
+      expected[i] = random.nextInt(3) == 0 ? random.nextInt(states) : random.nextInt(2);
+      current.set(i, expected[i]);
+    }
+
+    for (var generation = 1; generation <= 8; ++generation) {
+      final var population = engine.step(current, next);
+      expected = LtlEngineTest.step(rule, expected, width, height);
+      final var swap = current;
+      current = next;
+      next = swap;
+      var living = 0L;
+      for (var i = 0; i < expected.length; ++i) {
+        assertEquals(
+            expected[i],
+            current.get(i),
+            String.format(
+                "%s cell %d,%d in generation %d", rule, i % width, i / width, generation));
+        living += expected[i] == 1 ? 1 : 0;
+      }
+      assertEquals(living, population, "population of generation " + generation);
+    }
+  }
+
+  /** next states, each cell counts the living cells of its neighborhood one by one */
+  private static int[] step(
+      final LtlRule rule, final int[] cells, final int width, final int height) {
+    final var radius = rule.radius();
+    final var next = new int[cells.length];
+    for (var y = 0; y < height; ++y) {
+      for (var x = 0; x < width; ++x) {
+        var count = 0;
+        for (var dy = -radius; dy <= radius; ++dy) {
+          for (var dx = -radius; dx <= radius; ++dx) {
+            final var inside =
+                rule.neighborhood() == Neighborhood.BOX || Math.abs(dx) + Math.abs(dy) <= radius;
+            final var self = dx == 0 && dy == 0;
+            final var index = Math.floorMod(y + dy, height) * width + Math.floorMod(x + dx, width);
+            if (inside && (!self || rule.countCenter()) && cells[index] == 1) {
+              ++count;
+            }
+          }
+        }
+        final var state = cells[y * width + x];
+        if (state == 0) {
+          next[y * width + x] = count >= rule.birthMin() && count <= rule.birthMax() ? 1 : 0;
+        } else if (state == 1 && count >= rule.survivalMin() && count <= rule.survivalMax()) {
+          next[y * width + x] = 1;
+        } else {
+          next[y * width + x] = (state + 1) % rule.states();
+        }
+      }
+    }
+    return next;
+  }
+}
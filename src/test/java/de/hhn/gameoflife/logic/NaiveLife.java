@@ -0,0 +1,37 @@
+package de.hhn.gameoflife.logic;
+
+/** Conway's rules on a torus, cell by cell, as a reference for the word based engines */
+public final class NaiveLife {
+  private NaiveLife() {}
+
+  /** next generation of the cells, cell (x, y) is at y * width + x */
+  public static boolean[] step(final boolean[] cells, final int width, final int height) {
+    final var next = new boolean[cells.length];
+    for (var y = 0; y < height; ++y) {
+      for (var x = 0; x < width; ++x) {
+        var neighbors = 0;
+        for (var dy = -1; dy <= 1; ++dy) {
+          for (var dx = -1; dx <= 1; ++dx) {
+            if ((dx != 0 || dy != 0)
+                && cells[Math.floorMod(y + dy, height) * width + Math.floorMod(x + dx, width)]) {
+              ++neighbors;
+            }
+          }
+        }
+        final var alive = cells[y * width + x];
+        next[y * width + x] = neighbors == 3 || (alive && neighbors == 2);
+      }
+    }
+    return next;
+  }
+
+  public static int population(final boolean[] cells) {
+    var population = 0;
+    for (final var cell : cells) {
+      if (cell) {
+        ++population;
+      }
+    }
+    return population;
+  }
+}
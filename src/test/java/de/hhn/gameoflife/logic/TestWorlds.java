@@ -0,0 +1,78 @@
+package de.hhn.gameoflife.logic;
+
+import de.hhn.gameoflife.control_iface.Drawable;
+import de.hhn.gameoflife.data_structures.IntSet;
+import de.hhn.gameoflife.ui.FPS;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/** Worlds without a window for tests */
+public final class TestWorlds {
+  /** ui that draws nothing */
+  public static final class NoDrawable implements Drawable<IntSet> {
+    @Override
+    public void set(final IntSet data) {}
+
+    @Override
+    public void set(final int index, final boolean alife) {}
+
+    @Override
+    public void draw() {}
+
+    @Override
+    public void compose() {}
+
+    @Override
+    public void present() {}
+  }
+
+  private TestWorlds() {}
+
+  /** paused world filled with a random soup */
+  public static World create(final int width, final int height, final long seed) {
+    final var settings = new Settings(width, height);
+    return new World(
+        settings,
+        new NoDrawable(),
+        new Soup(seed, 0.4d, FillMode.RANDOM),
+        new FPS(settings),
+        new Semaphore(1));
+  }
+
+  /**
+   * Let the paused world run unthrottled and copy its words at the given generations.
+   *
+   * @return the words of every given generation
+   */
+  public static Map<Long, long[]> run(final World world, final long... generations)
+      throws InterruptedException {
+    final var wanted = new HashMap<Long, long[]>();
+    var last = 0L;
+    for (final var generation : generations) {
+      wanted.put(generation, null);
+      last = Math.max(last, generation);
+    }
+    final var words = new HashMap<Long, long[]>();
+    final var done = new CountDownLatch(1);
+    final var end = last;
+    world.addGenerationListener(
+        (generation, data) -> {
+          if (wanted.containsKey(generation)) {
+            words.put(generation, data.toLongArray());
+          }
+          if (generation == end) {
+            world.setPaused(true);
+            done.countDown();
+          }
+        });
+    world.setTargetTps(0d);
+    world.setPaused(false);
+    if (!done.await(30, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("world did not reach generation " + end);
+    }
+    return words;
+  }
+}
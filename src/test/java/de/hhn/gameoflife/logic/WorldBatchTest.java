@@ -0,0 +1,99 @@
+package de.hhn.gameoflife.logic;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import de.hhn.gameoflife.data_structures.IntSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Every world of a batch must behave like a world of its own */
+class WorldBatchTest {
+  private static final int WIDTH = 16;
+  private static final int HEIGHT = 8;
+
+  @Test
+  void matchesNaiveWorldsAndTheirStabilization() {
+    final var batch = new WorldBatch(new Settings(WorldBatchTest.WIDTH, WorldBatchTest.HEIGHT));
+    batch.randomize(11L, 0.35d);
+    final var histories = new ArrayList<List<boolean[]>>();
+    final var stableGeneration = new long[WorldBatch.WORLDS];
+    Arrays.fill(stableGeneration, -1L);
+    for (var world = 0; world < WorldBatch.WORLDS; ++world) {
+      final var history = new ArrayList<boolean[]>();
+      history.add(WorldBatchTest.cells(batch, world));
+      histories.add(history);
+    }
+
+    for (var generation = 1; generation <= 200; ++generation) {
+      batch.step();
+      for (var world = 0; world < WorldBatch.WORLDS; ++world) {
+        final var history = histories.get(world);
+        final var expected =
+            NaiveLife.step(
+                history.get(history.size() - 1), WorldBatchTest.WIDTH, WorldBatchTest.HEIGHT);
+        history.add(expected);
+        final var message = "world " + world + " generation " + generation;
+        assertEquals(
+            Arrays.toString(expected),
+            Arrays.toString(WorldBatchTest.cells(batch, world)),
+            message);
+        assertEquals(NaiveLife.population(expected), batch.getPopulation(world), message);
+        // stable means a period of one or two, the period two needs two calculated generations
+        if (stableGeneration[world] < 0L
+            && (Arrays.equals(expected, history.get(generation - 1))
+                || (generation >= 2 && Arrays.equals(expected, history.get(generation - 2))))) {
+          stableGeneration[world] = generation;
+        }
+        assertEquals(stableGeneration[world] >= 0L, batch.isStable(world), message);
+        assertEquals(stableGeneration[world], batch.getStableGeneration(world), message);
+      }
+    }
+  }
+
+  @Test
+  void changedWorldsForgetTheirHistory() {
+    final var batch = new WorldBatch(new Settings(WorldBatchTest.WIDTH, WorldBatchTest.HEIGHT));
+    // empty worlds do not change, they are stable from the first generation on
+    batch.step(3);
+    assertEquals(-1L, batch.getStableMask());
+    assertEquals(1L, batch.getStableGeneration(0));
+
+    // a blinker repeats after two generations, which needs a history of its own
+    final var blinker = new IntSet(WorldBatchTest.WIDTH * WorldBatchTest.HEIGHT);
+    blinker.add(3 * WorldBatchTest.WIDTH + 4);
+    blinker.add(3 * WorldBatchTest.WIDTH + 5);
+    blinker.add(3 * WorldBatchTest.WIDTH + 6);
+    batch.load(5, blinker);
+    assertEquals(-1L, batch.getStableGeneration(5));
+    batch.step();
+    assertFalse(batch.isStable(5));
+    batch.step();
+    assertEquals(5L, batch.getStableGeneration(5));
+
+    // a cell set by hand dies, the empty world is stable right after
+    batch.set(9, 15, 7, true);
+    assertFalse(batch.isStable(9));
+    batch.step();
+    assertFalse(batch.isStable(9));
+    batch.step();
+    assertEquals(7L, batch.getStableGeneration(9));
+    assertEquals(1L, batch.getStableGeneration(0));
+    // four generations later the blinker is back in its loaded phase
+    assertArrayEquals(blinker.toLongArray(), batch.extract(5).toLongArray());
+  }
+
+  /** cells of one world of the batch */
+  private static boolean[] cells(final WorldBatch batch, final int world) {
+    final var cells = new boolean[WorldBatchTest.WIDTH * WorldBatchTest.HEIGHT];
+    for (var y = 0; y < WorldBatchTest.HEIGHT; ++y) {
+      for (var x = 0; x < WorldBatchTest.WIDTH; ++x) {
+        cells[y * WorldBatchTest.WIDTH + x] = batch.get(world, x, y);
+      }
+    }
+    return cells;
+  }
+}
@@ -0,0 +1,108 @@
+package de.hhn.gameoflife.remote;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.hhn.gameoflife.logic.Settings;
+import de.hhn.gameoflife.logic.TestWorlds;
+import de.hhn.gameoflife.logic.World;
+import java.awt.Rectangle;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/** A viewer on localhost must always show the cells the world had in the received generation */
+@Timeout(60)
+class SimulationServerTest {
+  private static final int WIDTH = 256;
+  private static final int HEIGHT = 64;
+
+  private final Map<Long, long[]> history = new ConcurrentHashMap<>();
+  private World world;
+  private SimulationServer server;
+  private RemoteViewer viewer;
+
+  @BeforeEach
+  void start() throws Exception {
+    final var settings = new Settings(SimulationServerTest.WIDTH, SimulationServerTest.HEIGHT);
+    this.world = TestWorlds.create(SimulationServerTest.WIDTH, SimulationServerTest.HEIGHT, 7L);
+    this.history.put(0L, this.world.getWorldData().toLongArray());
+    this.world.addGenerationListener(
+        (generation, data) -> this.history.put(generation, data.toLongArray()));
+    this.server = new SimulationServer(this.world, settings, 0);
+    this.viewer =
+        new RemoteViewer("localhost", this.server.getPort(), settings, new TestWorlds.NoDrawable());
+    this.world.setTargetTps(200d);
+    this.world.setPaused(false);
+  }
+
+  @AfterEach
+  void stop() {
+    this.viewer.dispose();
+    this.server.dispose();
+    this.world.dispose();
+  }
+
+  @Test
+  void followsTheWorldAcrossResubscriptions() throws Exception {
+    this.viewer.subscribe(64, 8, 128, 32);
+    this.receiveAndCheck(64, 8, 128, 32, 10, 0);
+
+    // the same viewport again must not start from an empty viewport on one side only
+    this.viewer.subscribe(64, 8, 128, 32);
+    this.receiveAndCheck(64, 8, 128, 32, 10, 0);
+    this.viewer.subscribe(64, 8, 128, 32);
+    this.viewer.subscribe(64, 8, 128, 32);
+    this.receiveAndCheck(64, 8, 128, 32, 10, 0);
+
+    // a different viewport, the left border is rounded down to a multiple of 64
+    this.viewer.subscribe(100, 40, 64, 24);
+    this.receiveAndCheck(64, 40, 64, 24, 10, 0);
+  }
+
+  @Test
+  void slowViewerSkipsGenerations() throws Exception {
+    this.viewer.subscribe(0, 0, SimulationServerTest.WIDTH, SimulationServerTest.HEIGHT);
+    final var first = this.viewer.getGeneration();
+    this.receiveAndCheck(0, 0, SimulationServerTest.WIDTH, SimulationServerTest.HEIGHT, 5, 50);
+    // the viewer needed about 250 ms for 5 frames while the world calculated about 50 generations
+    assertTrue(this.viewer.getGeneration() - first > 5, "frames were not coalesced");
+  }
+
+  /**
+   * receive frames and compare each one with the recorded generation of the world, frames sent
+   * before the subscription arrived still have the previous viewport
+   */
+  private void receiveAndCheck(
+      final int x,
+      final int y,
+      final int width,
+      final int height,
+      final int frames,
+      final long delay)
+      throws Exception {
+    for (var i = 0; i < frames; ++i) {
+      this.viewer.receiveFrame();
+      final var generation = this.viewer.getGeneration();
+      final var worldWords = this.history.get(generation);
+      final var viewport = this.viewer.getViewport();
+      final var wordsPerRow = viewport.width >> 6;
+      final var expected = new long[wordsPerRow * viewport.height];
+      for (var row = 0; row < viewport.height; ++row) {
+        System.arraycopy(
+            worldWords,
+            (viewport.y + row) * (SimulationServerTest.WIDTH >> 6) + (viewport.x >> 6),
+            expected,
+            row * wordsPerRow,
+            wordsPerRow);
+      }
+      assertArrayEquals(expected, this.viewer.getWords(), "generation " + generation);
+      Thread.sleep(delay);
+    }
+    assertEquals(new Rectangle(x, y, width, height), this.viewer.getViewport());
+  }
+}